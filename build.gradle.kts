@@ -13,6 +13,8 @@ repositories {
 
 dependencies {
     compileOnly(files("libs/HytaleServer.jar"))
+    // Tests load server classes (fastutil, codecs) that the plugin only compiles against
+    testImplementation(files("libs/HytaleServer.jar"))
     testImplementation(platform("org.junit:junit-bom:5.10.0"))
     testImplementation("org.junit.jupiter:junit-jupiter")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
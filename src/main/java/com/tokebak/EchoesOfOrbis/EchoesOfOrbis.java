@@ -1,50 +1,72 @@
 package com.tokebak.EchoesOfOrbis;
 
+import com.hypixel.hytale.assetstore.event.LoadedAssetsEvent;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.server.core.Message;
+import com.hypixel.hytale.server.core.asset.type.entityeffect.config.EntityEffect;
+import com.hypixel.hytale.server.core.asset.type.projectile.config.Projectile;
 import com.hypixel.hytale.server.core.entity.LivingEntity;
 import com.hypixel.hytale.server.core.entity.entities.Player;
-import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.Inventory;
 import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 import com.hypixel.hytale.server.core.event.events.entity.LivingEntityInventoryChangeEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerDisconnectEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerInteractEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerMouseButtonEvent;
 import com.hypixel.hytale.server.core.event.events.player.PlayerReadyEvent;
-import com.hypixel.hytale.server.core.inventory.transaction.ListTransaction;
-import com.hypixel.hytale.server.core.inventory.transaction.MoveTransaction;
-import com.hypixel.hytale.server.core.inventory.transaction.SlotTransaction;
-import com.hypixel.hytale.server.core.inventory.transaction.Transaction;
 import com.hypixel.hytale.server.core.plugin.JavaPlugin;
 import com.hypixel.hytale.server.core.plugin.JavaPluginInit;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.events.RemoveWorldEvent;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import com.hypixel.hytale.server.core.util.Config;
+import com.tokebak.EchoesOfOrbis.components.CombatSessionComponent;
+import com.tokebak.EchoesOfOrbis.components.LiveProgressionComponent;
+import com.tokebak.EchoesOfOrbis.components.MultishotArrowComponent;
+import com.tokebak.EchoesOfOrbis.components.WorldClockResource;
 import com.tokebak.EchoesOfOrbis.config.EchoesOfOrbisConfig;
+import com.tokebak.EchoesOfOrbis.config.EooConfig;
 import com.tokebak.EchoesOfOrbis.io.EooPacketHandler;
 import com.tokebak.EchoesOfOrbis.services.BaubleContainerService;
+import com.tokebak.EchoesOfOrbis.services.EquipmentStatSnapshot;
+import com.tokebak.EchoesOfOrbis.services.EquipmentStatService;
 import com.tokebak.EchoesOfOrbis.services.ItemExpService;
+import com.tokebak.EchoesOfOrbis.services.PendingXpJournal;
 import com.tokebak.EchoesOfOrbis.services.PlayerStatModifierService;
 import com.tokebak.EchoesOfOrbis.services.RingHealthRegenEffectApplier;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectDefinitionsFile;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
+import com.tokebak.EchoesOfOrbis.systems.EquipmentXpDamageSystem;
 import com.tokebak.EchoesOfOrbis.systems.HudDisplaySystem;
 import com.tokebak.EchoesOfOrbis.systems.ItemExpDamageSystem;
+import com.tokebak.EchoesOfOrbis.systems.PendingXpFlushSystem;
 import com.tokebak.EchoesOfOrbis.systems.PlayerAttackPowerDamageSystem;
+import com.tokebak.EchoesOfOrbis.systems.PlayerComponentsSystem;
 import com.tokebak.EchoesOfOrbis.systems.ThornsDamageSystem;
 import com.tokebak.EchoesOfOrbis.systems.ToolBreakBlockEventSystem;
 import com.tokebak.EchoesOfOrbis.systems.ToolDamageBlockEventSystem;
 import com.tokebak.EchoesOfOrbis.systems.ToolEntityInteractHandler;
 import com.tokebak.EchoesOfOrbis.systems.ToolUseBlockEventSystem;
+import com.tokebak.EchoesOfOrbis.systems.WeaponEffectProcSystem;
+import com.tokebak.EchoesOfOrbis.systems.WorldClockSystem;
+import com.tokebak.EchoesOfOrbis.utils.EooAssetIndex;
 import com.tokebak.EchoesOfOrbis.utils.EooLogger;
+import com.tokebak.EchoesOfOrbis.utils.EooRandom;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 public class EchoesOfOrbis extends JavaPlugin {
 
@@ -52,7 +74,17 @@ public class EchoesOfOrbis extends JavaPlugin {
     private WeaponEffectsService weaponEffectsService;
     private ItemExpService itemExpService;
     private BaubleContainerService baubleContainerService;
+    private EquipmentStatService equipmentStatService;
     private HudDisplaySystem hudDisplaySystem;
+    private PendingXpFlushSystem pendingXpFlushSystem;
+    private PendingXpJournal pendingXpJournal;
+    /** Polls the config and effect definitions files and applies edits live (recompiled and swapped in). */
+    private ScheduledExecutorService configWatcher;
+    private long configLastModified;
+    private long effectDefinitionsLastModified;
+    private static final String CONFIG_FILE_NAME = "EchoesOfOrbisConfig.json";
+    private static final long CONFIG_POLL_SECONDS = 5;
+
     /** Online player UUID -> PlayerRef for bauble-change callbacks (stamina refresh). */
     private final Map<UUID, PlayerRef> onlinePlayers = new ConcurrentHashMap<>();
 
@@ -68,22 +100,46 @@ public class EchoesOfOrbis extends JavaPlugin {
         super.setup();
         this.config.save();
         final EchoesOfOrbisConfig cfg = this.config.get();
-        EooLogger.init(cfg);
+        EooConfig.publish(cfg);
+        applyRngSeed(cfg);
 
         // Initialize services
         // WeaponEffectsService manages effect definitions, processors, and application
         this.weaponEffectsService = new WeaponEffectsService();
+        // Effect values, caps and display come from EffectDefinitions.json (data directory copy of the bundled file)
+        this.weaponEffectsService.reloadDefinitions(EffectDefinitionsFile.load(this.getDataDirectory()));
+        // EntityEffect/Projectile assets used by effects are resolved on start and on every asset reload
+        this.getEventRegistry().register(LoadedAssetsEvent.class, EntityEffect.class, event -> EooAssetIndex.resolve());
+        this.getEventRegistry().register(LoadedAssetsEvent.class, Projectile.class, event -> EooAssetIndex.resolve());
+        // Marks multishot arrows so their hits can be told apart from the shot that procced them
+        MultishotArrowComponent.setComponentType(this.getEntityStoreRegistry()
+                .registerComponent(MultishotArrowComponent.class, MultishotArrowComponent::new));
+        // Live (not yet written) item XP, one per player entity
+        LiveProgressionComponent.setComponentType(this.getEntityStoreRegistry()
+                .registerComponent(LiveProgressionComponent.class, LiveProgressionComponent::new));
+        // Per-player combat timestamps (hotbar hits, damage taken, ring regen throttle)
+        CombatSessionComponent.setComponentType(this.getEntityStoreRegistry()
+                .registerComponent(CombatSessionComponent.class, CombatSessionComponent::new));
 
         // ItemExpService handles XP/leveling and coordinates with effects service
-        this.itemExpService = new ItemExpService(cfg, this.weaponEffectsService);
+        this.itemExpService = new ItemExpService(this.weaponEffectsService);
         ItemExpService.setInstance(this.itemExpService);
 
+        // Journal pending XP so it survives disconnects and crashes (replayed into items on next login)
+        this.pendingXpJournal = PendingXpJournal.open(this.getDataDirectory());
+        this.itemExpService.setPendingXpJournal(this.pendingXpJournal);
+
+        this.startConfigWatcher();
+
         this.baubleContainerService = new BaubleContainerService();
         this.baubleContainerService.setStorageDir(this.getDataDirectory());
         this.baubleContainerService.setLogger(this.getLogger());
         this.baubleContainerService.setOnBaubleContainerChange(this::onBaubleContainerChanged);
         BaubleContainerService.setInstance(this.baubleContainerService);
 
+        // Per-player ring/armor effect totals, rebuilt when rings or armor change
+        this.equipmentStatService = new EquipmentStatService(this.baubleContainerService, this.weaponEffectsService);
+
         // Register custom interactions
         this.getCodecRegistry(com.hypixel.hytale.server.core.modules.interaction.interaction.config.Interaction.CODEC)
                 .register(com.tokebak.EchoesOfOrbis.interactions.ShowUpgradeSelectionInteraction.ID,
@@ -108,41 +164,65 @@ public class EchoesOfOrbis extends JavaPlugin {
         HudDisplaySystem.setInstance(this.hudDisplaySystem);
         this.getEntityStoreRegistry().registerSystem(this.hudDisplaySystem);
 
-        // Register the damage system that processes combat events
-        // This handles XP gain (weapon + rings), weapon effects, and durability save restoration
+        // Per-world tick clock behind every EOO cooldown and combat window (see EooClock)
+        WorldClockResource.setResourceType(this.getEntityStoreRegistry()
+                .registerResource(WorldClockResource.class, WorldClockResource::new));
+        this.getEntityStoreRegistry().registerSystem(new WorldClockSystem());
+
+        // Attach live progression and combat sessions to players as they enter a world
+        this.getEntityStoreRegistry().registerSystem(new PlayerComponentsSystem());
+
+        // Owns live weapon/tool/armor/ring XP and writes it into items at checkpoints (idle, slot change, ...)
+        this.pendingXpFlushSystem = new PendingXpFlushSystem(
+                this.itemExpService,
+                this.hudDisplaySystem,
+                this.baubleContainerService
+        );
+        PendingXpFlushSystem.setInstance(this.pendingXpFlushSystem);
+        this.getEntityStoreRegistry().registerSystem(this.pendingXpFlushSystem);
+
+        // Attacker side: weapon XP, weapon effects, ring signature energy and durability save restoration
         this.getEntityStoreRegistry().registerSystem(
-                new ItemExpDamageSystem(this.itemExpService, cfg, this.hudDisplaySystem, this.baubleContainerService)
+                new ItemExpDamageSystem(this.itemExpService, this.equipmentStatService, this.pendingXpFlushSystem)
+        );
+
+        // Attacker side, after ApplyDamage: weapon effect procs (burn, poison, slow, leech, multishot)
+        this.getEntityStoreRegistry().registerSystem(new WeaponEffectProcSystem(this.weaponEffectsService));
+
+        // Victim side (players only): armor and ring XP from damage taken
+        this.getEntityStoreRegistry().registerSystem(
+                new EquipmentXpDamageSystem(this.itemExpService, this.baubleContainerService, this.pendingXpFlushSystem)
         );
 
         // Apply attack power from ring effects (RING_ATTACK_POWER) to damage dealt by players
         this.getEntityStoreRegistry().registerSystem(
-                new PlayerAttackPowerDamageSystem(this.baubleContainerService, this.weaponEffectsService)
+                new PlayerAttackPowerDamageSystem(this.equipmentStatService)
         );
 
         // Thorns: reflect damage back at attacker when player is hit (RING_THORNS)
         this.getEntityStoreRegistry().registerSystem(
-                new ThornsDamageSystem(this.baubleContainerService, this.weaponEffectsService)
+                new ThornsDamageSystem(this.equipmentStatService)
         );
 
         // Tool break: durability save, XP, and drop bonus for pickaxe/shovel/axe
         this.getEntityStoreRegistry().registerSystem(
-                new ToolBreakBlockEventSystem(this.itemExpService, this.weaponEffectsService, this.hudDisplaySystem)
+                new ToolBreakBlockEventSystem(this.itemExpService, this.weaponEffectsService, this.pendingXpFlushSystem)
         );
 
         // Tool use-block: XP and drop bonus when pressing F on harvestable blocks (e.g. sickle on berry bush)
         this.getEntityStoreRegistry().registerSystem(
-                new ToolUseBlockEventSystem(this.itemExpService, this.weaponEffectsService, this.hudDisplaySystem)
+                new ToolUseBlockEventSystem(this.itemExpService, this.weaponEffectsService, this.pendingXpFlushSystem)
         );
 
         // Tool damage-block: XP when left-click harvests a block (final hit on harvestable crops)
         this.getEntityStoreRegistry().registerSystem(
-                new ToolDamageBlockEventSystem(this.itemExpService, this.hudDisplaySystem)
+                new ToolDamageBlockEventSystem(this.itemExpService, this.pendingXpFlushSystem)
         );
 
         // Tool on entity (e.g. shears on sheep): try both events to see which fires on left-click entity
         final ToolEntityInteractHandler toolEntityInteractHandler = new ToolEntityInteractHandler(
                 this.itemExpService,
-                this.hudDisplaySystem
+                this.pendingXpFlushSystem
         );
         this.getEventRegistry().registerGlobal(PlayerInteractEvent.class, toolEntityInteractHandler::onPlayerInteract);
         EooLogger.debug("Registered ToolEntityInteractHandler for PlayerInteractEvent");
@@ -171,31 +251,21 @@ public class EchoesOfOrbis extends JavaPlugin {
             Player player = event.getPlayer();
             Ref<EntityStore> ref = event.getPlayerRef();
             Store<EntityStore> store = ref.getStore();
-            ItemContainer bauble = this.baubleContainerService.getOrCreate(player.getPlayerRef());
-            ItemContainer armor = player.getInventory() != null ? player.getInventory().getArmor() : null;
-            double staminaBonus = PlayerStatModifierService.getStaminaBonusFromRings(bauble, this.weaponEffectsService)
-                    + PlayerStatModifierService.getStaminaBonusFromArmor(armor, this.weaponEffectsService);
-            double healthBonus = PlayerStatModifierService.getHealthBonusFromRings(bauble, this.weaponEffectsService)
-                    + PlayerStatModifierService.getHealthBonusFromArmor(armor, this.weaponEffectsService);
-            double healthRegenBonus = PlayerStatModifierService.getHealthRegenBonusFromRings(bauble, this.weaponEffectsService);
-            double resistMagicBonus = PlayerStatModifierService.getResistMagicFromRings(bauble, this.weaponEffectsService)
-                    + PlayerStatModifierService.getResistMagicFromArmor(armor, this.weaponEffectsService);
-            PlayerStatModifierService.updateStaminaFromRings(ref, store, staminaBonus);
-            PlayerStatModifierService.updateHealthFromRings(ref, store, healthBonus);
-            PlayerStatModifierService.updateHealthRegenFromRings(ref, store, healthRegenBonus);
-            PlayerStatModifierService.updateResistMagicFromRings(ref, store, resistMagicBonus);
-            PlayerStatModifierService.updateResistProjectileFromArmor(ref, store, PlayerStatModifierService.getProjectileResistanceFromArmor(armor, this.weaponEffectsService));
-            PlayerStatModifierService.updateResistPhysicalFromArmor(ref, store, PlayerStatModifierService.getPhysicalResistanceFromArmor(armor, this.weaponEffectsService));
-            PlayerStatModifierService.updateResistFireFromArmor(ref, store, PlayerStatModifierService.getFireResistanceFromArmor(armor, this.weaponEffectsService));
-            PlayerStatModifierService.updateResistGeneralFromArmor(ref, store, PlayerStatModifierService.getGeneralResistanceFromArmor(armor, this.weaponEffectsService));
-            RingHealthRegenEffectApplier.applyIfHasRing(ref, store, bauble, this.weaponEffectsService);
+            // Move any items still on the legacy per-field keys into the EOO document
+            this.migrateLegacyItems(player, player.getPlayerRef());
+            // Apply any XP still owed from a previous session (disconnect before flush, or a crash)
+            if (this.itemExpService.restorePendingXpFromJournal(player.getPlayerRef()) && player.getInventory() != null) {
+                this.pendingXpFlushSystem.flushAllPendingXp(ref, store, player.getPlayerRef(), player.getInventory());
+                EooLogger.debug("Restored journaled pending XP for %s", player.getPlayerRef().getUuid());
+            }
+            this.applyEquipmentStats(ref, store, this.equipmentStatService.refresh(player));
             player.getStatModifiersManager().setRecalculate(true);
             onlinePlayers.put(player.getPlayerRef().getUuid(), player.getPlayerRef());
             player.sendMessage(Message.raw("[EOO] Echoes of Orbis Loaded. Press F to open the item experience UI."));
         });
 
-        // When any player inventory changes, refresh ring-effect stats (stamina, health)
-        // and clear pending weapon XP for hotbar slots whose item changed (fixes wrong XP bar when swapping weapons)
+        // When any player inventory changes, refresh ring-effect stats (stamina, health).
+        // Live XP is keyed by item ID, so moves and swaps need no bookkeeping here.
         this.getEventRegistry().registerGlobal(LivingEntityInventoryChangeEvent.class, event -> {
             LivingEntity entity = event.getEntity();
             if (!(entity instanceof Player)) return;
@@ -206,31 +276,17 @@ public class EchoesOfOrbis extends JavaPlugin {
             ItemContainer eventContainer = event.getItemContainer();
             ItemContainer hotbar = player.getInventory() != null ? player.getInventory().getHotbar() : null;
             if (hotbar != null && eventContainer == hotbar) {
-                clearPendingXpForChangedHotbarSlots(this.itemExpService, player.getPlayerRef(), event.getTransaction());
                 // If the currently selected hotbar slot was modified (e.g. craft into slot, move item into slot), refresh the HUD
                 final byte activeSlot = player.getInventory().getActiveHotbarSlot();
                 if (activeSlot >= 0 && event.getTransaction().wasSlotModified((short) activeSlot)) {
                     this.hudDisplaySystem.refreshHudForCurrentSlot(ref, store, player);
                 }
             }
-            ItemContainer bauble = this.baubleContainerService.getOrCreate(player.getPlayerRef());
             ItemContainer armor = player.getInventory() != null ? player.getInventory().getArmor() : null;
-            double staminaBonus = PlayerStatModifierService.getStaminaBonusFromRings(bauble, this.weaponEffectsService)
-                    + PlayerStatModifierService.getStaminaBonusFromArmor(armor, this.weaponEffectsService);
-            double healthBonus = PlayerStatModifierService.getHealthBonusFromRings(bauble, this.weaponEffectsService)
-                    + PlayerStatModifierService.getHealthBonusFromArmor(armor, this.weaponEffectsService);
-            double healthRegenBonus = PlayerStatModifierService.getHealthRegenBonusFromRings(bauble, this.weaponEffectsService);
-            double resistMagicBonus = PlayerStatModifierService.getResistMagicFromRings(bauble, this.weaponEffectsService)
-                    + PlayerStatModifierService.getResistMagicFromArmor(armor, this.weaponEffectsService);
-            PlayerStatModifierService.updateStaminaFromRings(ref, store, staminaBonus);
-            PlayerStatModifierService.updateHealthFromRings(ref, store, healthBonus);
-            PlayerStatModifierService.updateHealthRegenFromRings(ref, store, healthRegenBonus);
-            PlayerStatModifierService.updateResistMagicFromRings(ref, store, resistMagicBonus);
-            PlayerStatModifierService.updateResistProjectileFromArmor(ref, store, PlayerStatModifierService.getProjectileResistanceFromArmor(armor, this.weaponEffectsService));
-            PlayerStatModifierService.updateResistPhysicalFromArmor(ref, store, PlayerStatModifierService.getPhysicalResistanceFromArmor(armor, this.weaponEffectsService));
-            PlayerStatModifierService.updateResistFireFromArmor(ref, store, PlayerStatModifierService.getFireResistanceFromArmor(armor, this.weaponEffectsService));
-            PlayerStatModifierService.updateResistGeneralFromArmor(ref, store, PlayerStatModifierService.getGeneralResistanceFromArmor(armor, this.weaponEffectsService));
-            RingHealthRegenEffectApplier.applyIfHasRing(ref, store, bauble, this.weaponEffectsService);
+            EquipmentStatSnapshot equipment = armor != null && eventContainer == armor
+                    ? this.equipmentStatService.refresh(player)
+                    : this.equipmentStatService.get(player);
+            this.applyEquipmentStats(ref, store, equipment);
             entity.getStatModifiersManager().setRecalculate(true);
         });
 
@@ -239,55 +295,157 @@ public class EchoesOfOrbis extends JavaPlugin {
             PlayerRef playerRef = event.getPlayerRef();
             UUID uuid = playerRef.getUuid();
             onlinePlayers.remove(uuid);
-            this.baubleContainerService.savePlayer(uuid);
-            this.hudDisplaySystem.cleanupPlayer(uuid);
-            this.baubleContainerService.cleanupPlayer(uuid);
+            // Write pending XP into items on the world thread, then save and clean up after it;
+            // if the entity is already gone the journal restores the XP on next login
+            Ref<EntityStore> ref = playerRef.getReference();
+            if (ref != null && ref.isValid()) {
+                World world = ((EntityStore) ref.getStore().getExternalData()).getWorld();
+                world.execute(() -> {
+                    this.flushPendingXpOnDisconnect(playerRef, ref);
+                    this.cleanupDisconnectedPlayer(uuid);
+                });
+            } else {
+                this.cleanupDisconnectedPlayer(uuid);
+            }
+        });
+
+        // Drop per-world state when a world goes away (its Store is never reused)
+        this.getEventRegistry().registerGlobal(RemoveWorldEvent.class, event -> {
+            Store<EntityStore> store = event.getWorld().getEntityStore().getStore();
+            this.pendingXpFlushSystem.onWorldRemoved(store);
+            this.weaponEffectsService.getCooldowns().removeWorld(store);
+            EooRandom.removeStore(store);
         });
     }
 
     /**
-     * When a hotbar slot's item is replaced by a different item, pending XP for that slot
-     * belonged to the previous item. Clear it so the HUD shows the new item's XP correctly.
+     * One-time migration of a joining player's legacy items (inventory and bauble).
      */
-    private static void clearPendingXpForChangedHotbarSlots(
-            ItemExpService itemExpService,
-            PlayerRef playerRef,
-            Transaction transaction
-    ) {
-        for (SlotTransaction slotTx : collectSlotTransactions(transaction)) {
-            if (!slotTx.succeeded()) continue;
-            ItemStack before = slotTx.getSlotBefore();
-            ItemStack after = slotTx.getSlotAfter();
-            if (isDifferentItem(before, after)) {
-                itemExpService.clearPendingXp(playerRef, (byte) slotTx.getSlot());
-            }
+    private void migrateLegacyItems(Player player, PlayerRef playerRef) {
+        int migrated = this.itemExpService.migrateLegacyItems(this.baubleContainerService.getOrCreate(playerRef));
+        Inventory inventory = player.getInventory();
+        if (inventory != null) {
+            migrated += this.itemExpService.migrateLegacyItems(inventory.getHotbar());
+            migrated += this.itemExpService.migrateLegacyItems(inventory.getStorage());
+            migrated += this.itemExpService.migrateLegacyItems(inventory.getBackpack());
+            migrated += this.itemExpService.migrateLegacyItems(inventory.getArmor());
+        }
+        if (migrated > 0) {
+            EooLogger.info("Migrated %d legacy item(s) for %s", migrated, playerRef.getUuid());
+        }
+    }
+
+    @Override
+    protected void start() {
+        super.start();
+        EooAssetIndex.resolve();
+    }
+
+    @Override
+    protected void shutdown() {
+        if (this.configWatcher != null) {
+            this.configWatcher.shutdownNow();
         }
+        // Players still online have their pending XP journaled; force it to disk before exit
+        if (this.pendingXpJournal != null) {
+            this.pendingXpJournal.close();
+        }
+        super.shutdown();
     }
 
-    private static List<SlotTransaction> collectSlotTransactions(Transaction transaction) {
-        List<SlotTransaction> out = new ArrayList<>();
-        collectSlotTransactions(transaction, out);
-        return out;
+    /**
+     * Watch the config and effect definitions files and reload them when they change, so curve, XP
+     * and effect settings can be tuned without a restart. A reloaded config is a new instance that
+     * is never modified; its XP curves are compiled first, then the config itself is published with
+     * a single volatile write (see {@link EooConfig}). The effect definition table is rebuilt
+     * off-thread and swapped the same way.
+     */
+    private void startConfigWatcher() {
+        final Path file = this.getDataDirectory().resolve(CONFIG_FILE_NAME);
+        final Path effectsFile = EffectDefinitionsFile.pathIn(this.getDataDirectory());
+        this.configLastModified = lastModified(file);
+        this.effectDefinitionsLastModified = lastModified(effectsFile);
+        this.configWatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "EOO-Config-Watcher");
+            t.setDaemon(true);
+            return t;
+        });
+        this.configWatcher.scheduleWithFixedDelay(() -> {
+            final long effectsModified = lastModified(effectsFile);
+            if (effectsModified != this.effectDefinitionsLastModified) {
+                this.effectDefinitionsLastModified = effectsModified;
+                this.weaponEffectsService.reloadDefinitions(EffectDefinitionsFile.load(this.getDataDirectory()));
+                // Ring/armor totals use the new values on next use; stat modifiers on the next equipment change
+                if (this.equipmentStatService != null) {
+                    this.equipmentStatService.invalidateAll();
+                }
+                EooLogger.info("Effect definitions reloaded");
+            }
+            final long modified = lastModified(file);
+            if (modified == this.configLastModified) {
+                return;
+            }
+            this.configLastModified = modified;
+            this.config.load().whenComplete((loaded, error) -> {
+                if (error != null || loaded == null) {
+                    EooLogger.warn("Config reload failed, keeping current settings: %s", error);
+                    return;
+                }
+                this.itemExpService.reloadXpCurves(loaded);
+                EooConfig.publish(loaded);
+                applyRngSeed(loaded);
+                EooLogger.info("Config reloaded: %s", loaded);
+            });
+        }, CONFIG_POLL_SECONDS, CONFIG_POLL_SECONDS, TimeUnit.SECONDS);
     }
 
-    private static void collectSlotTransactions(Transaction transaction, List<SlotTransaction> out) {
-        if (transaction instanceof SlotTransaction) {
-            out.add((SlotTransaction) transaction);
-        } else if (transaction instanceof ListTransaction) {
-            for (Transaction t : ((ListTransaction<?>) transaction).getList()) {
-                collectSlotTransactions(t, out);
+    /**
+     * Switch proc rolls to seed mode when RngSeed is set, or back to random streams when it is removed.
+     */
+    private static void applyRngSeed(EchoesOfOrbisConfig cfg) {
+        final Long seed = cfg.getRngSeed();
+        if (seed == null) {
+            if (EooRandom.getSeed() != null) {
+                EooRandom.clearSeed();
             }
-        } else if (transaction instanceof MoveTransaction) {
-            MoveTransaction<?> move = (MoveTransaction<?>) transaction;
-            collectSlotTransactions(move.getRemoveTransaction(), out);
-            collectSlotTransactions(move.getAddTransaction(), out);
+        } else if (!seed.equals(EooRandom.getSeed())) {
+            EooRandom.setSeed(seed);
         }
     }
 
-    private static boolean isDifferentItem(ItemStack a, ItemStack b) {
-        if (ItemStack.isEmpty(a) && ItemStack.isEmpty(b)) return false;
-        if (ItemStack.isEmpty(a) || ItemStack.isEmpty(b)) return true;
-        return !java.util.Objects.equals(a.getItemId(), b.getItemId());
+    private static long lastModified(Path file) {
+        try {
+            return Files.exists(file) ? Files.getLastModifiedTime(file).toMillis() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    /**
+     * Flush all of a leaving player's pending XP into their items. Must run on the player's world thread.
+     */
+    private void flushPendingXpOnDisconnect(PlayerRef playerRef, Ref<EntityStore> ref) {
+        // Live XP lives on the player entity; if it was removed meanwhile the journal restores it next login
+        if (!ref.isValid()) return;
+        Store<EntityStore> store = ref.getStore();
+        Player player = store.getComponent(ref, Player.getComponentType());
+        if (player != null && player.getInventory() != null) {
+            this.pendingXpFlushSystem.flushAllPendingXp(ref, store, playerRef, player.getInventory());
+        }
+    }
+
+    /**
+     * Save the leaving player's bauble container and drop their per-player state
+     * (after the pending XP flush, which may still write rings and refresh the HUD).
+     */
+    private void cleanupDisconnectedPlayer(UUID uuid) {
+        this.baubleContainerService.savePlayer(uuid);
+        this.hudDisplaySystem.cleanupPlayer(uuid);
+        this.equipmentStatService.cleanupPlayer(uuid);
+        this.baubleContainerService.cleanupPlayer(uuid);
+        if (EooLogger.isDebug()) {
+            EooLogger.debug(this.weaponEffectsService.getProgressionViews().getStatsSummary());
+        }
     }
 
     private void onBaubleContainerChanged(UUID playerUuid) {
@@ -298,24 +456,23 @@ public class EchoesOfOrbis extends JavaPlugin {
         Store<EntityStore> store = ref.getStore();
         Player player = store.getComponent(ref, Player.getComponentType());
         if (player == null) return;
-        ItemContainer bauble = this.baubleContainerService.getOrCreate(playerRef);
-        ItemContainer armor = player.getInventory() != null ? player.getInventory().getArmor() : null;
-        double staminaBonus = PlayerStatModifierService.getStaminaBonusFromRings(bauble, this.weaponEffectsService)
-                + PlayerStatModifierService.getStaminaBonusFromArmor(armor, this.weaponEffectsService);
-        double healthBonus = PlayerStatModifierService.getHealthBonusFromRings(bauble, this.weaponEffectsService)
-                + PlayerStatModifierService.getHealthBonusFromArmor(armor, this.weaponEffectsService);
-        double healthRegenBonus = PlayerStatModifierService.getHealthRegenBonusFromRings(bauble, this.weaponEffectsService);
-        double resistMagicBonus = PlayerStatModifierService.getResistMagicFromRings(bauble, this.weaponEffectsService)
-                + PlayerStatModifierService.getResistMagicFromArmor(armor, this.weaponEffectsService);
-        PlayerStatModifierService.updateStaminaFromRings(ref, store, staminaBonus);
-        PlayerStatModifierService.updateHealthFromRings(ref, store, healthBonus);
-        PlayerStatModifierService.updateHealthRegenFromRings(ref, store, healthRegenBonus);
-        PlayerStatModifierService.updateResistMagicFromRings(ref, store, resistMagicBonus);
-        PlayerStatModifierService.updateResistProjectileFromArmor(ref, store, PlayerStatModifierService.getProjectileResistanceFromArmor(armor, this.weaponEffectsService));
-        PlayerStatModifierService.updateResistPhysicalFromArmor(ref, store, PlayerStatModifierService.getPhysicalResistanceFromArmor(armor, this.weaponEffectsService));
-        PlayerStatModifierService.updateResistFireFromArmor(ref, store, PlayerStatModifierService.getFireResistanceFromArmor(armor, this.weaponEffectsService));
-        PlayerStatModifierService.updateResistGeneralFromArmor(ref, store, PlayerStatModifierService.getGeneralResistanceFromArmor(armor, this.weaponEffectsService));
-        RingHealthRegenEffectApplier.applyIfHasRing(ref, store, bauble, this.weaponEffectsService);
+        this.applyEquipmentStats(ref, store, this.equipmentStatService.refresh(player));
         player.getStatModifiersManager().setRecalculate(true);
     }
+
+    /**
+     * Apply ring and armor effect totals to the player's stat modifiers (stamina, health, regen,
+     * resistances) and the ring health regen effect. Caller sets StatModifiersManager.setRecalculate(true).
+     */
+    private void applyEquipmentStats(Ref<EntityStore> ref, Store<EntityStore> store, EquipmentStatSnapshot equipment) {
+        PlayerStatModifierService.updateStaminaFromRings(ref, store, equipment.total(WeaponEffectType.RING_STAMINA));
+        PlayerStatModifierService.updateHealthFromRings(ref, store, equipment.total(WeaponEffectType.RING_HEALTH));
+        PlayerStatModifierService.updateHealthRegenFromRings(ref, store, equipment.fromRings(WeaponEffectType.RING_HEALTH_REGEN));
+        PlayerStatModifierService.updateResistMagicFromRings(ref, store, equipment.total(WeaponEffectType.RING_RESIST_MAGIC));
+        PlayerStatModifierService.updateResistProjectileFromArmor(ref, store, equipment.fromArmor(WeaponEffectType.ARMOR_PROJECTILE_RESISTANCE));
+        PlayerStatModifierService.updateResistPhysicalFromArmor(ref, store, equipment.fromArmor(WeaponEffectType.ARMOR_PHYSICAL_RESISTANCE));
+        PlayerStatModifierService.updateResistFireFromArmor(ref, store, equipment.fromArmor(WeaponEffectType.ARMOR_FIRE_RESISTANCE));
+        PlayerStatModifierService.updateResistGeneralFromArmor(ref, store, equipment.fromArmor(WeaponEffectType.ARMOR_GENERAL_RESISTANCE));
+        RingHealthRegenEffectApplier.applyForBonus(ref, store, equipment.fromRings(WeaponEffectType.RING_HEALTH_REGEN));
+    }
 }
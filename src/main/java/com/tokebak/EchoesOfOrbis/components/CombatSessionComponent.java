@@ -0,0 +1,53 @@
+package com.tokebak.EchoesOfOrbis.components;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import javax.annotation.Nonnull;
+
+/**
+ * Per-player combat state read and written on the damage path: the last ring health regen
+ * application, held as a primitive long so the throttle check builds no keys and boxes nothing.
+ *
+ * Times are {@link com.tokebak.EchoesOfOrbis.utils.EooClock} milliseconds, only comparable with
+ * each other (0 = never). Attached to every player entity when it is added to a world and removed
+ * with it, so nothing accumulates over a long-running server. Only touched from the player's world
+ * thread.
+ */
+public final class CombatSessionComponent implements Component<EntityStore> {
+
+    private static ComponentType<EntityStore, CombatSessionComponent> componentType;
+
+    private long healthRegenAppliedAt;
+
+    /**
+     * Set once at plugin setup, from the entity store registry.
+     */
+    public static void setComponentType(@Nonnull final ComponentType<EntityStore, CombatSessionComponent> type) {
+        componentType = type;
+    }
+
+    @Nonnull
+    public static ComponentType<EntityStore, CombatSessionComponent> getComponentType() {
+        return componentType;
+    }
+
+    /**
+     * Last time the ring health regen effect was (re)applied on dealing damage (0 if never).
+     */
+    public long getHealthRegenAppliedAt() {
+        return this.healthRegenAppliedAt;
+    }
+
+    public void setHealthRegenAppliedAt(final long time) {
+        this.healthRegenAppliedAt = time;
+    }
+
+    @Nonnull
+    @Override
+    public CombatSessionComponent clone() {
+        final CombatSessionComponent copy = new CombatSessionComponent();
+        copy.healthRegenAppliedAt = this.healthRegenAppliedAt;
+        return copy;
+    }
+}
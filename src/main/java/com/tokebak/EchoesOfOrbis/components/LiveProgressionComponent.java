@@ -0,0 +1,81 @@
+package com.tokebak.EchoesOfOrbis.components;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.tokebak.EchoesOfOrbis.services.PendingXpLedger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Authoritative live progression of a player's items: XP earned since the items were last
+ * written, keyed by EOO item ID. Levels and embues are derived from it on the fly and written
+ * into ItemStack metadata at checkpoints (idle, slot change, disconnect, autosave), so sustained
+ * combat or gathering rewrites no items.
+ *
+ * Attached to every player entity when it is added to a world and removed with it. The component
+ * is not saved with the entity; the pending XP journal is what carries it across restarts.
+ */
+public final class LiveProgressionComponent implements Component<EntityStore> {
+
+    private static ComponentType<EntityStore, LiveProgressionComponent> componentType;
+
+    @Nonnull
+    private PendingXpLedger ledger;
+
+    public LiveProgressionComponent() {
+        this(new PendingXpLedger());
+    }
+
+    private LiveProgressionComponent(@Nonnull final PendingXpLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    /**
+     * Set once at plugin setup, from the entity store registry.
+     */
+    public static void setComponentType(@Nonnull final ComponentType<EntityStore, LiveProgressionComponent> type) {
+        componentType = type;
+    }
+
+    @Nonnull
+    public static ComponentType<EntityStore, LiveProgressionComponent> getComponentType() {
+        return componentType;
+    }
+
+    /**
+     * The component of a player's entity, or null if they are not in a world right now.
+     * Must be called from that world's thread.
+     */
+    @Nullable
+    public static LiveProgressionComponent get(@Nonnull final PlayerRef playerRef) {
+        final Ref<EntityStore> ref = playerRef.getReference();
+        if (componentType == null || ref == null || !ref.isValid()) {
+            return null;
+        }
+        return ref.getStore().getComponent(ref, componentType);
+    }
+
+    /**
+     * Pending XP per item, only touched from the owning world's thread.
+     */
+    @Nonnull
+    public PendingXpLedger getLedger() {
+        return this.ledger;
+    }
+
+    /**
+     * Replace the pending XP (used when restoring it from the journal on login).
+     */
+    public void setLedger(@Nonnull final PendingXpLedger ledger) {
+        this.ledger = ledger;
+    }
+
+    @Nonnull
+    @Override
+    public LiveProgressionComponent clone() {
+        return new LiveProgressionComponent(this.ledger.copy());
+    }
+}
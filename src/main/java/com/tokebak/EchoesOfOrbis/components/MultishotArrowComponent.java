@@ -0,0 +1,51 @@
+package com.tokebak.EchoesOfOrbis.components;
+
+import com.hypixel.hytale.component.Component;
+import com.hypixel.hytale.component.ComponentType;
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import javax.annotation.Nonnull;
+
+/**
+ * Marker on projectiles spawned by the MULTISHOT effect.
+ *
+ * Hits from a marked projectile are recognized exactly through the damage source, so they don't
+ * trigger DAMAGE_PERCENT again. The marker lives on the projectile entity and goes away with it;
+ * nothing is tracked per attacker.
+ */
+public final class MultishotArrowComponent implements Component<EntityStore> {
+
+    private static ComponentType<EntityStore, MultishotArrowComponent> componentType;
+
+    /**
+     * Set once at plugin setup, from the entity store registry.
+     */
+    public static void setComponentType(@Nonnull final ComponentType<EntityStore, MultishotArrowComponent> type) {
+        componentType = type;
+    }
+
+    @Nonnull
+    public static ComponentType<EntityStore, MultishotArrowComponent> getComponentType() {
+        return componentType;
+    }
+
+    /**
+     * True if the damage was dealt by a projectile carrying this marker.
+     */
+    public static boolean isFrom(@Nonnull final Damage damage, @Nonnull final Store<EntityStore> store) {
+        if (componentType == null || !(damage.getSource() instanceof final Damage.ProjectileSource source)) {
+            return false;
+        }
+        final Ref<EntityStore> projectileRef = source.getProjectile();
+        return projectileRef != null && projectileRef.isValid()
+                && store.getComponent(projectileRef, componentType) != null;
+    }
+
+    @Nonnull
+    @Override
+    public MultishotArrowComponent clone() {
+        return new MultishotArrowComponent();
+    }
+}
@@ -0,0 +1,61 @@
+package com.tokebak.EchoesOfOrbis.components;
+
+import com.hypixel.hytale.component.Resource;
+import com.hypixel.hytale.component.ResourceType;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.tokebak.EchoesOfOrbis.utils.EooClock;
+import javax.annotation.Nonnull;
+
+/**
+ * A world's EOO clock: the sum of that world's tick deltas, advanced once per tick by
+ * {@link com.tokebak.EchoesOfOrbis.systems.WorldClockSystem}. It only moves forward, ignores
+ * wall-clock adjustments and time-of-day changes, and stands still while the world isn't ticking.
+ *
+ * It starts at the process-wide monotonic reading, so clocks of different worlds stay close to each
+ * other (a player carrying timestamps to another world sees at most the lag between the two).
+ * Read through {@link EooClock#millis(com.hypixel.hytale.component.Store)}.
+ */
+public final class WorldClockResource implements Resource<EntityStore> {
+
+    private static ResourceType<EntityStore, WorldClockResource> resourceType;
+
+    private long nanos;
+
+    public WorldClockResource() {
+        this(EooClock.monotonicMillis() * 1_000_000L);
+    }
+
+    private WorldClockResource(final long nanos) {
+        this.nanos = nanos;
+    }
+
+    /**
+     * Set once at plugin setup, from the entity store registry.
+     */
+    public static void setResourceType(@Nonnull final ResourceType<EntityStore, WorldClockResource> type) {
+        resourceType = type;
+    }
+
+    public static ResourceType<EntityStore, WorldClockResource> getResourceType() {
+        return resourceType;
+    }
+
+    public long nowMillis() {
+        return this.nanos / 1_000_000L;
+    }
+
+    /**
+     * Add one tick's delta (seconds). Negative deltas are ignored to keep the clock monotonic.
+     */
+    public void advance(final float dt) {
+        if (dt > 0) {
+            this.nanos += (long) (dt * 1_000_000_000.0);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public WorldClockResource clone() {
+        return new WorldClockResource(this.nanos);
+    }
+}
@@ -5,6 +5,10 @@ import com.hypixel.hytale.codec.KeyedCodec;
 import com.hypixel.hytale.codec.builder.BuilderCodec;
 import java.util.function.Supplier;
 
+/**
+ * Settings from EchoesOfOrbisConfig.json. An instance is filled in by {@link #CODEC} and not changed
+ * after that; a live reload builds a new one and swaps it in through {@link EooConfig}.
+ */
 public class EchoesOfOrbisConfig {
     public static final BuilderCodec<EchoesOfOrbisConfig> CODEC;
     private double xpPerDamage = 1.0;
@@ -21,11 +25,20 @@ public class EchoesOfOrbisConfig {
     // Max level cap; 0 or negative = no cap.
     private int maxLevel = 0;
 
+    // Optional per-category curves (see XpCurveConfig); unset = the LevelBaseXP/LevelScaling curve
+    private XpCurveConfig weaponXpCurve;
+    private XpCurveConfig toolXpCurve;
+    private XpCurveConfig armorXpCurve;
+    private XpCurveConfig ringXpCurve;
+
     private boolean showXpNotifications = false;
     private double minXpForNotification = 1.0;
 
     private boolean debug = true;
 
+    // Fixed seed for proc rolls (reproducible tests and load runs); unset = random per server start
+    private Long rngSeed;
+
     public double getXpPerDamage() {
         return this.xpPerDamage;
     }
@@ -46,50 +59,36 @@ public class EchoesOfOrbisConfig {
         return this.maxLevel;
     }
 
-    public boolean isShowXpNotifications() {
-        return this.showXpNotifications;
-    }
-
-    public double getMinXpForNotification() {
-        return this.minXpForNotification;
-    }
-
-    public boolean isDebug() {
-        return this.debug;
-    }
-
-    // -- Setters (for config file merging) --
-
-    public void setXpPerDamage(double value) {
-        this.xpPerDamage = value;
+    public XpCurveConfig getWeaponXpCurve() {
+        return this.weaponXpCurve;
     }
 
-    public void setXpMultiplier(double value) {
-        this.xpMultiplier = value;
+    public XpCurveConfig getToolXpCurve() {
+        return this.toolXpCurve;
     }
 
-    public void setLevelBaseXP(double value) {
-        this.levelBaseXP = value;
+    public XpCurveConfig getArmorXpCurve() {
+        return this.armorXpCurve;
     }
 
-    public void setLevelScaling(double value) {
-        this.levelScaling = value;
+    public XpCurveConfig getRingXpCurve() {
+        return this.ringXpCurve;
     }
 
-    public void setMaxLevel(int value) {
-        this.maxLevel = value;
+    public boolean isShowXpNotifications() {
+        return this.showXpNotifications;
     }
 
-    public void setShowXpNotifications(boolean value) {
-        this.showXpNotifications = value;
+    public double getMinXpForNotification() {
+        return this.minXpForNotification;
     }
 
-    public void setMinXpForNotification(double value) {
-        this.minXpForNotification = value;
+    public boolean isDebug() {
+        return this.debug;
     }
 
-    public void setDebug(boolean value) {
-        this.debug = value;
+    public Long getRngSeed() {
+        return this.rngSeed;
     }
 
     @Override
@@ -100,9 +99,14 @@ public class EchoesOfOrbisConfig {
                 ", levelBaseXP=" + levelBaseXP +
                 ", levelScaling=" + levelScaling +
                 ", maxLevel=" + maxLevel +
+                ", weaponXpCurve=" + weaponXpCurve +
+                ", toolXpCurve=" + toolXpCurve +
+                ", armorXpCurve=" + armorXpCurve +
+                ", ringXpCurve=" + ringXpCurve +
                 ", showXpNotifications=" + showXpNotifications +
                 ", minXpForNotification=" + minXpForNotification +
                 ", debug=" + debug +
+                ", rngSeed=" + rngSeed +
                 '}';
     }
 
@@ -134,6 +138,26 @@ public class EchoesOfOrbisConfig {
                         (cfg, val) -> cfg.maxLevel = val,
                         cfg -> cfg.maxLevel
                 ).add()
+                .append(
+                        new KeyedCodec<>("WeaponXpCurve", XpCurveConfig.CODEC),
+                        (cfg, val) -> cfg.weaponXpCurve = val,
+                        cfg -> cfg.weaponXpCurve
+                ).add()
+                .append(
+                        new KeyedCodec<>("ToolXpCurve", XpCurveConfig.CODEC),
+                        (cfg, val) -> cfg.toolXpCurve = val,
+                        cfg -> cfg.toolXpCurve
+                ).add()
+                .append(
+                        new KeyedCodec<>("ArmorXpCurve", XpCurveConfig.CODEC),
+                        (cfg, val) -> cfg.armorXpCurve = val,
+                        cfg -> cfg.armorXpCurve
+                ).add()
+                .append(
+                        new KeyedCodec<>("RingXpCurve", XpCurveConfig.CODEC),
+                        (cfg, val) -> cfg.ringXpCurve = val,
+                        cfg -> cfg.ringXpCurve
+                ).add()
                 .append(
                         new KeyedCodec<>("ShowXpNotifications", Codec.BOOLEAN),
                         (cfg, val) -> cfg.showXpNotifications = val,
@@ -149,6 +173,11 @@ public class EchoesOfOrbisConfig {
                         (cfg, val) -> cfg.debug = val,
                         cfg -> cfg.debug
                 ).add()
+                .append(
+                        new KeyedCodec<>("RngSeed", Codec.LONG),
+                        (cfg, val) -> cfg.rngSeed = val,
+                        cfg -> cfg.rngSeed
+                ).add()
                 .build();
     }
 
@@ -0,0 +1,48 @@
+package com.tokebak.EchoesOfOrbis.config;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * The config currently in effect.
+ *
+ * A loaded {@link EchoesOfOrbisConfig} is never modified: a live reload decodes a complete new
+ * instance and publishes it here with a single volatile write. Readers take {@link #get()} once
+ * per operation and read every value from that snapshot, so they see either the old settings or
+ * the new ones, never a mix.
+ */
+public final class EooConfig {
+
+    @Nullable
+    private static volatile EchoesOfOrbisConfig current;
+
+    private EooConfig() {
+    }
+
+    /**
+     * The current config. Published during plugin setup, before any service is created.
+     */
+    @Nonnull
+    public static EchoesOfOrbisConfig get() {
+        final EchoesOfOrbisConfig config = current;
+        if (config == null) {
+            throw new IllegalStateException("Echoes of Orbis config has not been loaded yet");
+        }
+        return config;
+    }
+
+    /**
+     * True if a config has been published and it enables debug logging.
+     */
+    public static boolean isDebug() {
+        final EchoesOfOrbisConfig config = current;
+        return config != null && config.isDebug();
+    }
+
+    /**
+     * Make a freshly loaded config the current one. The instance must not be changed afterwards.
+     */
+    public static void publish(@Nonnull final EchoesOfOrbisConfig config) {
+        current = config;
+    }
+}
@@ -0,0 +1,104 @@
+package com.tokebak.EchoesOfOrbis.config;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * XP curve settings for one item category (weapons, tools, armor or rings).
+ *
+ * Type is one of:
+ * - Power: XP for level N = BaseXP * (N-1)^Exponent (the original curve)
+ * - Polynomial: XP for level N = sum of Coefficients[i] * (N-1)^i
+ * - Exponential: level N-1 to N costs BaseXP * Growth^(N-2)
+ * - Piecewise: Thresholds[i] = total XP for level i + 2; past the table the last gap repeats
+ *
+ * Unset values fall back to the global LevelBaseXP / LevelScaling.
+ */
+public class XpCurveConfig {
+    public static final BuilderCodec<XpCurveConfig> CODEC;
+
+    private static final Codec<Double[]> DOUBLE_ARRAY_CODEC = new ArrayCodec<>(Codec.DOUBLE, Double[]::new);
+
+    private String type = "Power";
+    private Double baseXP;
+    private Double exponent;
+    private Double growth;
+    private Double[] coefficients;
+    private Double[] thresholds;
+
+    public String getType() {
+        return this.type;
+    }
+
+    public Double getBaseXP() {
+        return this.baseXP;
+    }
+
+    public Double getExponent() {
+        return this.exponent;
+    }
+
+    public Double getGrowth() {
+        return this.growth;
+    }
+
+    public Double[] getCoefficients() {
+        return this.coefficients;
+    }
+
+    public Double[] getThresholds() {
+        return this.thresholds;
+    }
+
+    @Override
+    public String toString() {
+        return "XpCurveConfig{" +
+                "type=" + type +
+                ", baseXP=" + baseXP +
+                ", exponent=" + exponent +
+                ", growth=" + growth +
+                ", coefficients=" + Arrays.toString(coefficients) +
+                ", thresholds=" + Arrays.toString(thresholds) +
+                '}';
+    }
+
+    // Static initializer for the codec
+    static {
+        CODEC = BuilderCodec.builder(XpCurveConfig.class, (Supplier<XpCurveConfig>) XpCurveConfig::new)
+                .append(
+                        new KeyedCodec<>("Type", Codec.STRING),
+                        (cfg, val) -> cfg.type = val,
+                        cfg -> cfg.type
+                ).add()
+                .append(
+                        new KeyedCodec<>("BaseXP", Codec.DOUBLE),
+                        (cfg, val) -> cfg.baseXP = val,
+                        cfg -> cfg.baseXP
+                ).add()
+                .append(
+                        new KeyedCodec<>("Exponent", Codec.DOUBLE),
+                        (cfg, val) -> cfg.exponent = val,
+                        cfg -> cfg.exponent
+                ).add()
+                .append(
+                        new KeyedCodec<>("Growth", Codec.DOUBLE),
+                        (cfg, val) -> cfg.growth = val,
+                        cfg -> cfg.growth
+                ).add()
+                .append(
+                        new KeyedCodec<>("Coefficients", DOUBLE_ARRAY_CODEC),
+                        (cfg, val) -> cfg.coefficients = val,
+                        cfg -> cfg.coefficients
+                ).add()
+                .append(
+                        new KeyedCodec<>("Thresholds", DOUBLE_ARRAY_CODEC),
+                        (cfg, val) -> cfg.thresholds = val,
+                        cfg -> cfg.thresholds
+                ).add()
+                .build();
+    }
+}
@@ -24,13 +24,11 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.tokebak.EchoesOfOrbis.services.ItemExpService;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
-import com.tokebak.EchoesOfOrbis.systems.HudDisplaySystem;
-import com.tokebak.EchoesOfOrbis.utils.ItemExpNotifications;
-import com.tokebak.EchoesOfOrbis.utils.WeaponSwapUtil;
+import com.tokebak.EchoesOfOrbis.systems.PendingXpFlushSystem;
+import com.tokebak.EchoesOfOrbis.utils.EooRandom;
 
 import javax.annotation.Nonnull;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Awards tool XP and rolls for bonus drops when a sickle successfully harvests a crop.
@@ -44,8 +42,6 @@ public final class EOO_SickleCropXpInteraction extends SimpleInstantInteraction
     public static final String ID = "EOO_SickleCropXp";
 
     private static final double TOOL_XP_PER_CROP_HARVEST = 2.0;
-    private static final double DROP_BONUS_CAP = 0.50;
-    private static final Random RANDOM = new Random();
 
     public static final BuilderCodec<EOO_SickleCropXpInteraction> CODEC =
             BuilderCodec.builder(EOO_SickleCropXpInteraction.class, EOO_SickleCropXpInteraction::new, SimpleInstantInteraction.CODEC).build();
@@ -98,34 +94,13 @@ public final class EOO_SickleCropXpInteraction extends SimpleInstantInteraction
             return;
         }
 
-        final HudDisplaySystem hudDisplaySystem = HudDisplaySystem.getInstance();
-        final int currentToolLevel = itemExpService.getItemLevel(tool);
+        final PendingXpFlushSystem pendingXpFlushSystem = PendingXpFlushSystem.getInstance();
 
         // ---- Tool XP ----
-        itemExpService.addPendingXp(playerRef, activeSlot, TOOL_XP_PER_CROP_HARVEST);
-
-        ItemStack currentTool = inventory.getActiveHotbarItem();
-        if (currentTool != null && !currentTool.isEmpty() && currentTool.getItem() != null) {
-            final double totalXpAfter = itemExpService.getTotalXpWithPending(currentTool, playerRef, activeSlot);
-            final int levelAfter = itemExpService.calculateLevelFromXp(totalXpAfter);
-            if (levelAfter > currentToolLevel) {
-                ItemStack flushedTool = itemExpService.flushPendingXp(currentTool, playerRef, activeSlot);
-                flushedTool = itemExpService.updateWeaponEffects(flushedTool, levelAfter);
-                flushedTool = itemExpService.addPendingEmbues(flushedTool, levelAfter - currentToolLevel);
-                WeaponSwapUtil.swapWeaponAndMaximizeSignature(entityRef, store, inventory, activeSlot, flushedTool);
-                if (hudDisplaySystem != null) {
-                    hudDisplaySystem.updateHudForPlayer(playerRef, flushedTool, activeSlot);
-                }
-                ItemExpNotifications.sendLevelUpNotificationWithIcon(playerRef, flushedTool, levelAfter, itemExpService);
-                currentTool = flushedTool;
-            } else {
-                ItemStack flushedTool = itemExpService.flushPendingXp(currentTool, playerRef, activeSlot);
-                inventory.getHotbar().setItemStackForSlot((short) activeSlot, flushedTool);
-                if (hudDisplaySystem != null) {
-                    hudDisplaySystem.updateHudForPlayer(playerRef, flushedTool, activeSlot);
-                }
-                currentTool = flushedTool;
-            }
+        final ItemStack currentTool = inventory.getActiveHotbarItem();
+        if (pendingXpFlushSystem != null && currentTool != null && !currentTool.isEmpty() && currentTool.getItem() != null) {
+            // Live XP, coalesced per tick; the tool is rewritten at the next checkpoint (idle, slot change, ...)
+            pendingXpFlushSystem.awardHotbarXp(store, playerRef, activeSlot, currentTool, TOOL_XP_PER_CROP_HARVEST, false);
         }
 
         // ---- Bonus drops (TOOL_DROP_BONUS) ----
@@ -134,16 +109,16 @@ public final class EOO_SickleCropXpInteraction extends SimpleInstantInteraction
             if (dropToolLevel > 1) {
                 final WeaponEffectsService effectsService = itemExpService.getEffectsService();
                 double bonusPercent = 0;
-                for (var inst : effectsService.getEffects(currentTool)) {
+                for (var inst : effectsService.getEffectsView(currentTool)) {
                     if (inst.getType() == WeaponEffectType.TOOL_DROP_BONUS) {
                         var def = effectsService.getDefinition(inst.getType());
                         if (def != null) {
-                            bonusPercent = Math.min(DROP_BONUS_CAP, def.calculateValue(inst.getLevel()));
+                            bonusPercent = def.calculateValue(inst.getLevel()); // capped by the definition's MaxValue
                             break;
                         }
                     }
                 }
-                if (bonusPercent > 0 && RANDOM.nextDouble() < bonusPercent) {
+                if (bonusPercent > 0 && EooRandom.forStore(store).nextDouble() < bonusPercent) {
                     spawnBonusDrops(harvestInfo, context, store);
                 }
             }
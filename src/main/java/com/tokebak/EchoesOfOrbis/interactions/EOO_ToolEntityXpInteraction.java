@@ -15,9 +15,7 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.tokebak.EchoesOfOrbis.services.ItemExpService;
 import com.tokebak.EchoesOfOrbis.utils.EntityHarvestDropUtils;
-import com.tokebak.EchoesOfOrbis.utils.ItemExpNotifications;
-import com.tokebak.EchoesOfOrbis.utils.WeaponSwapUtil;
-import com.tokebak.EchoesOfOrbis.systems.HudDisplaySystem;
+import com.tokebak.EchoesOfOrbis.systems.PendingXpFlushSystem;
 
 import javax.annotation.Nonnull;
 
@@ -88,28 +86,18 @@ public final class EOO_ToolEntityXpInteraction extends SimpleInstantInteraction
             context.getState().state = InteractionState.Finished;
             return;
         }
-        final HudDisplaySystem hudDisplaySystem = HudDisplaySystem.getInstance();
-        final int currentToolLevel = itemExpService.getItemLevel(tool);
+        final PendingXpFlushSystem pendingXpFlushSystem = PendingXpFlushSystem.getInstance();
+        if (pendingXpFlushSystem == null) {
+            context.getState().state = InteractionState.Finished;
+            return;
+        }
         // Scale XP by vanilla drop count (sheep harvest list; no per-entity resolution here)
         final int vanillaDropCount = EntityHarvestDropUtils.getHarvestDropItemCount(EntityHarvestDropUtils.DROP_LIST_SHEEP_HARVEST);
         final double xpToAdd = TOOL_XP_PER_ENTITY_DROP * Math.max(1, vanillaDropCount);
-        itemExpService.addPendingXp(playerRef, activeSlot, xpToAdd);
-        ItemStack currentTool = inventory.getActiveHotbarItem();
+        final ItemStack currentTool = inventory.getActiveHotbarItem();
         if (currentTool != null && !currentTool.isEmpty() && currentTool.getItem() != null && currentTool.getItem().getTool() != null) {
-            final double totalXpAfter = itemExpService.getTotalXpWithPending(currentTool, playerRef, activeSlot);
-            final int levelAfter = itemExpService.calculateLevelFromXp(totalXpAfter);
-            if (levelAfter > currentToolLevel) {
-                ItemStack flushedTool = itemExpService.flushPendingXp(currentTool, playerRef, activeSlot);
-                flushedTool = itemExpService.updateWeaponEffects(flushedTool, levelAfter);
-                flushedTool = itemExpService.addPendingEmbues(flushedTool, levelAfter - currentToolLevel);
-                WeaponSwapUtil.swapWeaponAndMaximizeSignature(entityRef, store, inventory, activeSlot, flushedTool);
-                if (hudDisplaySystem != null) {
-                    hudDisplaySystem.updateHudForPlayer(playerRef, flushedTool, activeSlot);
-                }
-                ItemExpNotifications.sendLevelUpNotificationWithIcon(playerRef, flushedTool, levelAfter, itemExpService);
-            } else if (hudDisplaySystem != null) {
-                hudDisplaySystem.updateHudForPlayer(playerRef, currentTool, activeSlot);
-            }
+            // Live XP, coalesced per tick; the tool is rewritten at the next checkpoint (idle, slot change, ...)
+            pendingXpFlushSystem.awardHotbarXp(store, playerRef, activeSlot, currentTool, xpToAdd, false);
         }
         context.getState().state = InteractionState.Finished;
     }
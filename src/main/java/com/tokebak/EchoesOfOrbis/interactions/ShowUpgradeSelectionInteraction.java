@@ -20,6 +20,7 @@ import com.hypixel.hytale.server.core.universe.world.storage.ChunkStore;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.tokebak.EchoesOfOrbis.services.BaubleContainerService;
 import com.tokebak.EchoesOfOrbis.services.ItemExpService;
+import com.tokebak.EchoesOfOrbis.systems.PendingXpFlushSystem;
 import com.tokebak.EchoesOfOrbis.utils.EooLogger;
 import com.tokebak.EchoesOfOrbis.ui.EOO_Main_Page;
 
@@ -117,6 +118,12 @@ public final class ShowUpgradeSelectionInteraction extends SimpleInstantInteract
             return;
         }
 
+        // The UI reads levels and embues from item metadata, so materialize live XP first
+        final PendingXpFlushSystem pendingXpFlushSystem = PendingXpFlushSystem.getInstance();
+        if (pendingXpFlushSystem != null && player.getInventory() != null) {
+            pendingXpFlushSystem.flushAllPendingXp(playerRef, store, playerRefComponent, player.getInventory());
+        }
+
         final EOO_Main_Page mainPage = new EOO_Main_Page(
                 playerRefComponent,
                 CustomPageLifetime.CanDismiss,
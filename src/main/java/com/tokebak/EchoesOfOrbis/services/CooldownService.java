@@ -0,0 +1,158 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
+import com.tokebak.EchoesOfOrbis.utils.EooClock;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+
+/**
+ * Per-entity, per-effect cooldowns for effect processors (burn, poison, slow, freeze, multishot).
+ *
+ * Each world gets its own table, only touched from that world's thread (damage events run
+ * there), so worlds ticking on different threads never share state and no locking is needed.
+ * A table is an open-addressing long -> long map from (effect ordinal, entity index) to the time
+ * the cooldown ends, plus a coarse timing wheel of primitive keys: starting a cooldown queues its
+ * key in the bucket of its deadline, and each call first sweeps the buckets whose time has passed.
+ * Every queued key is visited about once, so expiry is amortized O(1) instead of a periodic scan
+ * of the whole map.
+ *
+ * Keys use the entity's store index, which the engine reuses after an entity is removed; a new
+ * entity can at worst inherit the last few seconds of a removed one's cooldown.
+ */
+public final class CooldownService {
+
+    /** Wheel buckets (power of two); one rotation covers WHEEL_BUCKETS * WHEEL_TICK_MS. */
+    private static final int WHEEL_BUCKETS = 64;
+    private static final long WHEEL_TICK_MS = 250;
+
+    private static final long NONE = Long.MIN_VALUE;
+
+    private final Map<Store<EntityStore>, WorldCooldowns> worlds = new ConcurrentHashMap<>();
+
+    /**
+     * True if the effect is still on cooldown for this entity.
+     */
+    public boolean isOnCooldown(@Nonnull final Ref<EntityStore> ref, @Nonnull final WeaponEffectType type) {
+        final Store<EntityStore> store = ref.getStore();
+        final WorldCooldowns world = this.worlds.get(store);
+        return world != null && world.isActive(key(ref, type), EooClock.millis(store));
+    }
+
+    /**
+     * Start (or restart) the effect's cooldown for this entity.
+     */
+    public void start(
+            @Nonnull final Ref<EntityStore> ref,
+            @Nonnull final WeaponEffectType type,
+            final long durationMillis
+    ) {
+        final Store<EntityStore> store = ref.getStore();
+        final long now = EooClock.millis(store);
+        this.worlds.computeIfAbsent(store, s -> new WorldCooldowns(now))
+                .start(key(ref, type), now, durationMillis);
+    }
+
+    /**
+     * Drop a removed world's table (its entities, and their cooldowns, are gone with it).
+     */
+    public void removeWorld(@Nonnull final Store<EntityStore> store) {
+        this.worlds.remove(store);
+    }
+
+    /**
+     * Number of live cooldowns across all worlds (approximate while worlds are ticking).
+     */
+    public int size() {
+        int total = 0;
+        for (final WorldCooldowns world : this.worlds.values()) {
+            total += world.size();
+        }
+        return total;
+    }
+
+    private static long key(@Nonnull final Ref<EntityStore> ref, @Nonnull final WeaponEffectType type) {
+        return ((long) type.ordinal() << 32) | (ref.getIndex() & 0xFFFFFFFFL);
+    }
+
+    // ==================== PER-WORLD TABLE ====================
+
+    /**
+     * One world's cooldowns, keyed by plain longs and driven by explicit times (no Store or clock).
+     */
+    static final class WorldCooldowns {
+        private final Long2LongOpenHashMap readyAt = new Long2LongOpenHashMap();
+        private final LongArrayList[] buckets = new LongArrayList[WHEEL_BUCKETS];
+        /** Next wheel tick whose bucket has not been swept yet. */
+        private long nextTick;
+
+        WorldCooldowns(final long now) {
+            this.readyAt.defaultReturnValue(NONE);
+            for (int i = 0; i < WHEEL_BUCKETS; i++) {
+                this.buckets[i] = new LongArrayList();
+            }
+            this.nextTick = now / WHEEL_TICK_MS;
+        }
+
+        boolean isActive(final long key, final long now) {
+            this.expire(now);
+            final long end = this.readyAt.get(key);
+            return end != NONE && end > now;
+        }
+
+        void start(final long key, final long now, final long durationMillis) {
+            this.expire(now);
+            final long end = now + Math.max(0L, durationMillis);
+            this.readyAt.put(key, end);
+            // Never queue behind the sweep cursor; it is picked up on the next sweep at the earliest
+            final long tick = Math.max(this.nextTick, deadlineTick(end));
+            this.buckets[(int) (tick & (WHEEL_BUCKETS - 1))].add(key);
+        }
+
+        /**
+         * Number of cooldowns in the map, including ended ones not swept yet.
+         */
+        int size() {
+            return this.readyAt.size();
+        }
+
+        /**
+         * Sweep every bucket whose slice of time has passed. A queued key is dropped from the map
+         * if its cooldown ended; otherwise the entry is stale (the cooldown was restarted and queued
+         * again) unless its deadline is more than a rotation away and still maps to this bucket.
+         */
+        private void expire(final long now) {
+            final long currentTick = now / WHEEL_TICK_MS;
+            // After a long idle one full rotation visits every bucket; skip the redundant laps
+            long tick = Math.max(this.nextTick, currentTick - (WHEEL_BUCKETS - 1));
+            for (; tick <= currentTick; tick++) {
+                final int index = (int) (tick & (WHEEL_BUCKETS - 1));
+                final LongArrayList bucket = this.buckets[index];
+                int kept = 0;
+                for (int i = 0, n = bucket.size(); i < n; i++) {
+                    final long key = bucket.getLong(i);
+                    final long end = this.readyAt.get(key);
+                    if (end == NONE) {
+                        continue;
+                    }
+                    if (end <= now) {
+                        this.readyAt.remove(key);
+                    } else if ((deadlineTick(end) & (WHEEL_BUCKETS - 1)) == index && deadlineTick(end) > currentTick) {
+                        bucket.set(kept++, key);
+                    }
+                }
+                bucket.size(kept);
+            }
+            this.nextTick = Math.max(this.nextTick, currentTick + 1);
+        }
+
+        private static long deadlineTick(final long end) {
+            return (end + WHEEL_TICK_MS - 1) / WHEEL_TICK_MS;
+        }
+    }
+}
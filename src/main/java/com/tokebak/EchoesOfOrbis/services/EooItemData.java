@@ -0,0 +1,441 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.tokebak.EchoesOfOrbis.services.effects.UpgradeOption;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectInstance;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
+import com.tokebak.EchoesOfOrbis.utils.EooLogger;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * All EOO progression data for one item, stored as a single versioned metadata document
+ * under {@link #META_KEY}.
+ *
+ * Compact layout (version 2):
+ * - Id: stable 64-bit EOO item ID, stamped the first time the item gains XP (0 = none yet)
+ * - Xp: total XP
+ * - Embues: pending embue count
+ * - UnlockMask: unlocked effect types, one bit per ordinal
+ * - EffectLevels: flat (ordinal, level) pairs as a comma-separated string
+ * - UpgradeOptions: pending upgrade options packed as (ordinal << 16) | level (level 0 = new
+ *   effect), comma-separated
+ *
+ * Lists are packed into a long and plain strings so decoding never boxes an element. Version 1
+ * documents stored them as boxed int arrays under Unlocked, Effects and Options; those keys are
+ * still read (never written), and the item is rewritten in the new layout on its next write.
+ *
+ * Items that still carry the legacy per-field keys (ItemExp_XP, ItemExp_Effects, ...) are read
+ * through {@link #readLegacy(ItemStack)} and migrated to this document when their owner joins
+ * (see ItemExpService#migrateLegacyItems) or on their first write, whichever comes first.
+ * Documents with a version newer than {@link #CURRENT_VERSION} are read-only.
+ *
+ * Instances are mutable working copies; read through ProgressionView, modify a copy, then write once.
+ */
+public final class EooItemData {
+
+    /** Metadata key for the consolidated document. */
+    public static final String META_KEY = "EOO";
+
+    public static final int CURRENT_VERSION = 2;
+
+    /** Version 1 list fields, decode only. */
+    private static final Codec<Integer[]> V1_INT_ARRAY_CODEC = new ArrayCodec<>(Codec.INTEGER, Integer[]::new);
+
+    private static final int OPTION_LEVEL_BITS = 16;
+    private static final int OPTION_LEVEL_MASK = (1 << OPTION_LEVEL_BITS) - 1;
+
+    public static final BuilderCodec<EooItemData> CODEC = BuilderCodec
+            .builder(EooItemData.class, EooItemData::new)
+            .append(
+                    new KeyedCodec<>("V", Codec.INTEGER),
+                    (data, version) -> data.version = version,
+                    data -> data.version
+            ).add()
+            .append(
+                    new KeyedCodec<>("Id", Codec.LONG),
+                    (data, id) -> data.uid = id != null ? id : 0L,
+                    data -> data.uid != 0L ? data.uid : null
+            ).add()
+            .append(
+                    new KeyedCodec<>("Xp", Codec.DOUBLE),
+                    (data, xp) -> data.xp = xp,
+                    data -> data.xp
+            ).add()
+            .append(
+                    new KeyedCodec<>("Embues", Codec.INTEGER),
+                    (data, embues) -> data.pendingEmbues = embues,
+                    data -> data.pendingEmbues
+            ).add()
+            .append(
+                    new KeyedCodec<>("UnlockMask", Codec.LONG),
+                    (data, mask) -> data.unlockedMask = mask != null ? mask : 0L,
+                    data -> data.unlockedMask != 0L ? data.unlockedMask : null
+            ).add()
+            .append(
+                    new KeyedCodec<>("EffectLevels", Codec.STRING),
+                    (data, packed) -> data.effects = decodeInts(packed),
+                    data -> encodeInts(data.effects)
+            ).add()
+            .append(
+                    new KeyedCodec<>("UpgradeOptions", Codec.STRING),
+                    (data, packed) -> data.upgradeOptions = decodeInts(packed),
+                    data -> encodeInts(data.upgradeOptions)
+            ).add()
+            .append(
+                    new KeyedCodec<>("Unlocked", V1_INT_ARRAY_CODEC),
+                    (data, values) -> {
+                        for (final int ordinal : unbox(values)) {
+                            data.unlockedMask |= maskBit(ordinal);
+                        }
+                    },
+                    data -> null
+            ).add()
+            .append(
+                    new KeyedCodec<>("Effects", V1_INT_ARRAY_CODEC),
+                    (data, values) -> data.effects = unbox(values),
+                    data -> null
+            ).add()
+            .append(
+                    new KeyedCodec<>("Options", V1_INT_ARRAY_CODEC),
+                    (data, values) -> data.upgradeOptions = unbox(values),
+                    data -> null
+            ).add()
+            .build();
+
+    private int version = CURRENT_VERSION;
+    private long uid;
+    private double xp;
+    private int pendingEmbues;
+    /** Unlocked effect types, one bit per ordinal. */
+    private long unlockedMask;
+    /** Effect (ordinal, level) pairs. */
+    private int[] effects = new int[0];
+    /** Packed upgrade options (empty = none pending). */
+    private int[] upgradeOptions = new int[0];
+
+    /**
+     * Default constructor for codec deserialization.
+     */
+    public EooItemData() {
+    }
+
+    @Nonnull
+    public EooItemData copy() {
+        final EooItemData copy = new EooItemData();
+        copy.version = CURRENT_VERSION;
+        copy.uid = this.uid;
+        copy.xp = this.xp;
+        copy.pendingEmbues = this.pendingEmbues;
+        copy.unlockedMask = this.unlockedMask;
+        copy.effects = this.effects.clone();
+        copy.upgradeOptions = this.upgradeOptions.clone();
+        return copy;
+    }
+
+    // ==================== Read ====================
+
+    public int getVersion() {
+        return this.version;
+    }
+
+    /** Stable EOO item ID, or 0 if none has been assigned yet. */
+    public long getUid() {
+        return this.uid;
+    }
+
+    public double getXp() {
+        return this.xp;
+    }
+
+    public int getPendingEmbues() {
+        return this.pendingEmbues;
+    }
+
+    /** Unlocked effect types, one bit per ordinal. */
+    long getUnlockedMask() {
+        return this.unlockedMask;
+    }
+
+    /** Effect (ordinal, level) pairs (do not modify). */
+    @Nonnull
+    int[] getEffectPairs() {
+        return this.effects;
+    }
+
+    /** Packed upgrade options (do not modify). */
+    @Nonnull
+    int[] getPackedUpgradeOptions() {
+        return this.upgradeOptions;
+    }
+
+    // ==================== Modify ====================
+
+    public void setUid(final long uid) {
+        this.uid = uid;
+    }
+
+    public void setXp(final double xp) {
+        this.xp = xp;
+    }
+
+    public void setPendingEmbues(final int pendingEmbues) {
+        this.pendingEmbues = Math.max(0, pendingEmbues);
+    }
+
+    /**
+     * Add an effect type to the unlocked list (no duplicates).
+     * @return true if it was added
+     */
+    public boolean unlock(@Nonnull final WeaponEffectType type) {
+        final long bit = maskBit(type.ordinal());
+        if ((this.unlockedMask & bit) != 0L) {
+            return false;
+        }
+        this.unlockedMask |= bit;
+        return true;
+    }
+
+    /**
+     * Add or update an effect's level.
+     */
+    public void setEffect(@Nonnull final WeaponEffectType type, final int level) {
+        final int ordinal = type.ordinal();
+        for (int i = 0; i < this.effects.length; i += 2) {
+            if (this.effects[i] == ordinal) {
+                this.effects[i + 1] = Math.max(1, level);
+                return;
+            }
+        }
+        this.effects = Arrays.copyOf(this.effects, this.effects.length + 2);
+        this.effects[this.effects.length - 2] = ordinal;
+        this.effects[this.effects.length - 1] = Math.max(1, level);
+    }
+
+    /**
+     * Remove an effect if present.
+     */
+    public void removeEffect(@Nonnull final WeaponEffectType type) {
+        final int ordinal = type.ordinal();
+        for (int i = 0; i < this.effects.length; i += 2) {
+            if (this.effects[i] == ordinal) {
+                final int[] out = new int[this.effects.length - 2];
+                System.arraycopy(this.effects, 0, out, 0, i);
+                System.arraycopy(this.effects, i + 2, out, i, this.effects.length - i - 2);
+                this.effects = out;
+                return;
+            }
+        }
+    }
+
+    public void setUpgradeOptions(@Nullable final List<UpgradeOption> options) {
+        if (options == null || options.isEmpty()) {
+            this.upgradeOptions = new int[0];
+            return;
+        }
+        final int[] packed = new int[options.size()];
+        for (int i = 0; i < packed.length; i++) {
+            final UpgradeOption opt = options.get(i);
+            final int level = opt instanceof UpgradeOption.BoostOption b ? b.getCurrentLevel() : 0;
+            packed[i] = packOption(opt.getEffectType(), level);
+        }
+        this.upgradeOptions = packed;
+    }
+
+    // ==================== Packing ====================
+
+    static int packOption(@Nonnull final WeaponEffectType type, final int level) {
+        return (type.ordinal() << OPTION_LEVEL_BITS) | (Math.min(level, OPTION_LEVEL_MASK) & OPTION_LEVEL_MASK);
+    }
+
+    static int optionOrdinal(final int packed) {
+        return packed >>> OPTION_LEVEL_BITS;
+    }
+
+    static int optionLevel(final int packed) {
+        return packed & OPTION_LEVEL_MASK;
+    }
+
+    @Nullable
+    static WeaponEffectType typeForOrdinal(final int ordinal) {
+        final WeaponEffectType[] types = WeaponEffectType.values();
+        return ordinal >= 0 && ordinal < types.length ? types[ordinal] : null;
+    }
+
+    /** Bit for an effect ordinal (WeaponEffectsService guarantees there are at most 64). */
+    private static long maskBit(final int ordinal) {
+        return ordinal >= 0 && ordinal < Long.SIZE ? 1L << ordinal : 0L;
+    }
+
+    /**
+     * Ints as a comma-separated decimal string, or null for none (the key is then omitted).
+     */
+    @Nullable
+    private static String encodeInts(@Nonnull final int[] values) {
+        if (values.length == 0) {
+            return null;
+        }
+        final StringBuilder sb = new StringBuilder(values.length * 4);
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(values[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Parse {@link #encodeInts} output straight into an int array. A malformed string reads as empty.
+     */
+    @Nonnull
+    private static int[] decodeInts(@Nullable final String packed) {
+        if (packed == null || packed.isEmpty()) {
+            return new int[0];
+        }
+        int count = 1;
+        for (int i = 0; i < packed.length(); i++) {
+            if (packed.charAt(i) == ',') {
+                count++;
+            }
+        }
+        final int[] out = new int[count];
+        int start = 0;
+        try {
+            for (int i = 0; i < count; i++) {
+                int end = packed.indexOf(',', start);
+                if (end < 0) {
+                    end = packed.length();
+                }
+                out[i] = Integer.parseInt(packed, start, end, 10);
+                start = end + 1;
+            }
+        } catch (final NumberFormatException e) {
+            return new int[0];
+        }
+        return out;
+    }
+
+    /** Version 1 boxed arrays, read once when such a document is decoded. */
+    @Nonnull
+    private static int[] unbox(@Nullable final Integer[] values) {
+        if (values == null) {
+            return new int[0];
+        }
+        final int[] out = new int[values.length];
+        for (int i = 0; i < values.length; i++) {
+            out[i] = values[i] != null ? values[i] : 0;
+        }
+        return out;
+    }
+
+    // ==================== Metadata I/O ====================
+
+    /** Newest unsupported document version already warned about (warn once per version). */
+    private static volatile int warnedNewerVersion;
+
+    /**
+     * Read the consolidated document, or null if the item doesn't have one.
+     */
+    @Nullable
+    static EooItemData read(@Nonnull final ItemStack item) {
+        final EooItemData data = (EooItemData) item.getFromMetadataOrNull(META_KEY, CODEC);
+        if (data != null && data.isNewerVersion() && data.version > warnedNewerVersion) {
+            warnedNewerVersion = data.version;
+            EooLogger.warn("Item %s has EOO data version %d, newer than supported (%d); it is read-only here",
+                    item.getItemId(), data.version, CURRENT_VERSION);
+        }
+        return data;
+    }
+
+    /**
+     * True if the document was written by a newer version of the mod. Such items are read
+     * best-effort and never written back, so fields this version doesn't know are not lost.
+     */
+    boolean isNewerVersion() {
+        return this.version > CURRENT_VERSION;
+    }
+
+    /**
+     * Read the legacy per-field keys into a document, or null if the item has none of them.
+     */
+    @Nullable
+    static EooItemData readLegacy(@Nonnull final ItemStack item) {
+        final Double xp = (Double) item.getFromMetadataOrNull(ItemExpService.META_KEY_XP, Codec.DOUBLE);
+        final Integer pending = (Integer) item.getFromMetadataOrNull(ItemExpService.META_KEY_PENDING_EMBUES, Codec.INTEGER);
+        final String[] unlockedIds = (String[]) item.getFromMetadataOrNull(
+                ItemExpService.META_KEY_UNLOCKED_EFFECTS, ItemExpService.LEGACY_STRING_ARRAY_CODEC);
+        final String[] optionIds = (String[]) item.getFromMetadataOrNull(
+                ItemExpService.META_KEY_PENDING_UPGRADE_OPTIONS, ItemExpService.LEGACY_STRING_ARRAY_CODEC);
+        final WeaponEffectInstance[] legacyEffects = (WeaponEffectInstance[]) item.getFromMetadataOrNull(
+                WeaponEffectsService.META_KEY_EFFECTS, WeaponEffectsService.LEGACY_EFFECTS_CODEC);
+
+        if (xp == null && pending == null && unlockedIds == null && optionIds == null && legacyEffects == null) {
+            return null;
+        }
+
+        final EooItemData data = new EooItemData();
+        data.xp = xp != null ? xp : 0.0;
+        data.pendingEmbues = pending != null ? pending : 0;
+        if (unlockedIds != null) {
+            for (final String id : unlockedIds) {
+                final WeaponEffectType type = WeaponEffectType.fromId(id);
+                if (type != null) {
+                    data.unlock(type);
+                }
+            }
+        }
+        if (legacyEffects != null) {
+            for (final WeaponEffectInstance effect : legacyEffects) {
+                if (effect != null && effect.getType() != null) {
+                    data.setEffect(effect.getType(), effect.getLevel());
+                }
+            }
+        }
+        if (optionIds != null) {
+            // Legacy format: "effectTypeId:level" per option
+            final int[] packed = new int[optionIds.length];
+            int count = 0;
+            for (final String s : optionIds) {
+                final int colon = s.indexOf(':');
+                if (colon < 0) continue;
+                final WeaponEffectType type = WeaponEffectType.fromId(s.substring(0, colon));
+                if (type == null) continue;
+                try {
+                    final int level = Integer.parseInt(s.substring(colon + 1));
+                    packed[count++] = packOption(type, level);
+                } catch (NumberFormatException e) {
+                    // skip malformed entry
+                }
+            }
+            data.upgradeOptions = Arrays.copyOf(packed, count);
+        }
+        return data;
+    }
+
+    /**
+     * Write this document to an item in one metadata write.
+     * If the source item still carried legacy keys, they are removed (one-time migration).
+     */
+    @Nonnull
+    public ItemStack writeTo(@Nonnull final ItemStack item, final boolean stripLegacy) {
+        this.version = CURRENT_VERSION;
+        ItemStack out = item.withMetadata(META_KEY, CODEC, this);
+        if (stripLegacy) {
+            out = out.withMetadata(ItemExpService.META_KEY_XP, Codec.DOUBLE, null);
+            out = out.withMetadata(ItemExpService.META_KEY_LEVEL, Codec.INTEGER, null);
+            out = out.withMetadata(ItemExpService.META_KEY_PENDING_EMBUES, Codec.INTEGER, null);
+            out = out.withMetadata(ItemExpService.META_KEY_UNLOCKED_EFFECTS, ItemExpService.LEGACY_STRING_ARRAY_CODEC, null);
+            out = out.withMetadata(ItemExpService.META_KEY_PENDING_UPGRADE_OPTIONS, ItemExpService.LEGACY_STRING_ARRAY_CODEC, null);
+            out = out.withMetadata(WeaponEffectsService.META_KEY_EFFECTS, WeaponEffectsService.LEGACY_EFFECTS_CODEC, null);
+        }
+        return out;
+    }
+}
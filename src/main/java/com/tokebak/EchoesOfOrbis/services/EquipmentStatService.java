@@ -0,0 +1,66 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+
+/**
+ * Holds one {@link EquipmentStatSnapshot} per online player, keyed by UUID.
+ *
+ * Snapshots are rebuilt by {@link #refresh(Player)} when the player's bauble or armor container
+ * changes (and on join); damage systems only call {@link #get(Player)}, which computes a snapshot
+ * on first use and is a map lookup afterwards. Removed on disconnect.
+ */
+public final class EquipmentStatService {
+
+    private final BaubleContainerService baubleContainerService;
+    private final WeaponEffectsService effectsService;
+    private final Map<UUID, EquipmentStatSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public EquipmentStatService(
+            @Nonnull final BaubleContainerService baubleContainerService,
+            @Nonnull final WeaponEffectsService effectsService
+    ) {
+        this.baubleContainerService = baubleContainerService;
+        this.effectsService = effectsService;
+    }
+
+    /**
+     * Current snapshot for a player (computed if the player has none yet).
+     */
+    @Nonnull
+    public EquipmentStatSnapshot get(@Nonnull final Player player) {
+        final EquipmentStatSnapshot snapshot = this.snapshots.get(player.getPlayerRef().getUuid());
+        return snapshot != null ? snapshot : this.refresh(player);
+    }
+
+    /**
+     * Rescan the player's rings and armor and replace their snapshot.
+     */
+    @Nonnull
+    public EquipmentStatSnapshot refresh(@Nonnull final Player player) {
+        final ItemContainer bauble = this.baubleContainerService.getOrCreate(player.getPlayerRef());
+        final ItemContainer armor = player.getInventory() != null ? player.getInventory().getArmor() : null;
+        final EquipmentStatSnapshot snapshot = EquipmentStatSnapshot.compute(bauble, armor, this.effectsService);
+        this.snapshots.put(player.getPlayerRef().getUuid(), snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Drop every snapshot so they are recomputed on next use (effect definitions reloaded).
+     */
+    public void invalidateAll() {
+        this.snapshots.clear();
+    }
+
+    /**
+     * Drop a player's snapshot (called on disconnect).
+     */
+    public void cleanupPlayer(@Nonnull final UUID playerUuid) {
+        this.snapshots.remove(playerUuid);
+    }
+}
@@ -0,0 +1,120 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.tokebak.EchoesOfOrbis.inventory.ItemTagUtil;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectInstance;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Summed effect values of a player's equipped rings and armor, indexed by
+ * {@link WeaponEffectType} ordinal.
+ *
+ * Computed in one pass over both containers by {@link EquipmentStatService} when the bauble or
+ * armor container changes, so damage systems read ring/armor stats in O(1) instead of rescanning
+ * the equipment on every hit. Immutable; a change builds a new snapshot.
+ *
+ * Same rules as {@link PlayerStatModifierService}: only Bauble_Ring items count in the bauble
+ * container, only armor items in the armor container.
+ */
+public final class EquipmentStatSnapshot {
+
+    private static final int TYPE_COUNT = WeaponEffectType.values().length;
+
+    /** Snapshot for a player with nothing equipped. */
+    public static final EquipmentStatSnapshot EMPTY =
+            new EquipmentStatSnapshot(new double[TYPE_COUNT], new double[TYPE_COUNT]);
+
+    private static final String TAG_BAUBLE_RING = "Bauble_Ring";
+
+    private final double[] rings;
+    private final double[] armor;
+
+    private EquipmentStatSnapshot(@Nonnull final double[] rings, @Nonnull final double[] armor) {
+        this.rings = rings;
+        this.armor = armor;
+    }
+
+    /**
+     * Sum every effect on the player's rings and armor.
+     */
+    @Nonnull
+    public static EquipmentStatSnapshot compute(
+            @Nullable final ItemContainer baubleContainer,
+            @Nullable final ItemContainer armorContainer,
+            @Nonnull final WeaponEffectsService effectsService
+    ) {
+        final double[] rings = new double[TYPE_COUNT];
+        final double[] armor = new double[TYPE_COUNT];
+
+        if (baubleContainer != null) {
+            final short capacity = baubleContainer.getCapacity();
+            for (short i = 0; i < capacity; i++) {
+                final ItemStack stack = baubleContainer.getItemStack(i);
+                if (stack == null || ItemStack.isEmpty(stack) || !ItemTagUtil.hasTag(stack, TAG_BAUBLE_RING)) continue;
+                addEffects(rings, effectsService.getEffectsView(stack), effectsService);
+            }
+        }
+
+        if (armorContainer != null) {
+            final short capacity = armorContainer.getCapacity();
+            for (short i = 0; i < capacity; i++) {
+                final ItemStack stack = armorContainer.getItemStack(i);
+                if (stack == null || ItemStack.isEmpty(stack) || stack.getItem() == null || stack.getItem().getArmor() == null) continue;
+                addEffects(armor, effectsService.getEffectsView(stack), effectsService);
+            }
+        }
+
+        return new EquipmentStatSnapshot(rings, armor);
+    }
+
+    private static void addEffects(
+            @Nonnull final double[] totals,
+            @Nonnull final List<WeaponEffectInstance> effects,
+            @Nonnull final WeaponEffectsService effectsService
+    ) {
+        for (int i = 0; i < effects.size(); i++) {
+            final WeaponEffectInstance inst = effects.get(i);
+            final WeaponEffectType type = inst.getType();
+            if (type == null) continue;
+            final WeaponEffectDefinition def = effectsService.getDefinition(type);
+            if (def == null) continue;
+            // Level caps (health regen T3) are applied by the definition
+            totals[type.ordinal()] += def.calculateValue(inst.getLevel());
+        }
+    }
+
+    /**
+     * Sum of an effect across equipped rings.
+     */
+    public double fromRings(@Nonnull final WeaponEffectType type) {
+        return this.rings[type.ordinal()];
+    }
+
+    /**
+     * Sum of an effect across equipped armor.
+     */
+    public double fromArmor(@Nonnull final WeaponEffectType type) {
+        return this.armor[type.ordinal()];
+    }
+
+    /**
+     * Sum of an effect across rings and armor.
+     */
+    public double total(@Nonnull final WeaponEffectType type) {
+        final int ordinal = type.ordinal();
+        return this.rings[ordinal] + this.armor[ordinal];
+    }
+
+    /**
+     * Damage multiplier from ring attack power effects (1.0 + sum of RING_ATTACK_POWER values).
+     */
+    public float getAttackPowerMultiplier() {
+        return (float) (1.0 + this.fromRings(WeaponEffectType.RING_ATTACK_POWER));
+    }
+}
@@ -4,18 +4,23 @@ package com.tokebak.EchoesOfOrbis.services;
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.tokebak.EchoesOfOrbis.components.LiveProgressionComponent;
 import com.tokebak.EchoesOfOrbis.inventory.ItemTagUtil;
 import com.tokebak.EchoesOfOrbis.config.EchoesOfOrbisConfig;
+import com.tokebak.EchoesOfOrbis.config.EooConfig;
 import com.tokebak.EchoesOfOrbis.services.effects.UpgradeOption;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponCategory;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponCategoryUtil;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -31,7 +36,8 @@ import javax.annotation.Nullable;
  */
 public class ItemExpService {
 
-    // Metadata keys stored on items
+    // Legacy per-field metadata keys. Progression now lives in the single EooItemData document;
+    // these are only read (and removed) when migrating older items.
     public static final String META_KEY_XP = "ItemExp_XP";
     public static final String META_KEY_LEVEL = "ItemExp_Level";
     public static final String META_KEY_PENDING_EMBUES = "ItemExp_PendingEmbues";
@@ -39,14 +45,13 @@ public class ItemExpService {
     public static final String META_KEY_PENDING_UPGRADE_OPTIONS = "ItemExp_PendingUpgradeOptions";
 
     /**
-     * Codec for storing unlocked effect IDs as string array.
+     * Codec for the legacy string-array keys (unlocked effect IDs, "id:level" upgrade options).
      */
-    private static final Codec<String[]> UNLOCKED_EFFECTS_CODEC = 
+    static final Codec<String[]> LEGACY_STRING_ARRAY_CODEC = 
             new ArrayCodec<>(Codec.STRING, String[]::new);
     
     private static volatile ItemExpService instance;
 
-    private final EchoesOfOrbisConfig config;
     private final WeaponEffectsService effectsService;
 
     /**
@@ -62,217 +67,233 @@ public class ItemExpService {
         return instance;
     }
 
-    /**
-     * Cache of pending XP that hasn't been persisted to weapon metadata yet.
-     * XP is cached during combat to avoid interrupting abilities (like ultimates).
-     * It gets flushed after a period of combat inactivity or on level up.
-     * 
-     * Key: playerUUID + ":" + hotbarSlot
-     * Value: accumulated XP
-     */
-    private final Map<String, Double> pendingXpCache = new ConcurrentHashMap<>();
+    /** Write-ahead journal of ledger changes, so pending XP survives disconnects and crashes. */
+    @Nullable
+    private volatile PendingXpJournal pendingXpJournal;
     
     public ItemExpService(
-            @Nonnull final EchoesOfOrbisConfig config,
             @Nonnull final WeaponEffectsService effectsService
     ) {
-        this.config = config;
         this.effectsService = effectsService;
+        this.reloadXpCurves(EooConfig.get());
     }
     
-    /**
-     * Get the cache key for pending XP (weapon hotbar slot).
-     */
-    public String getPendingXpKey(@Nonnull final PlayerRef playerRef, final byte slot) {
-        return playerRef.getUuid().toString() + ":" + slot;
-    }
+    // ==================== ITEM IDENTITY ====================
 
     /**
-     * Get the cache key for pending XP on a bauble ring (bauble container slot).
+     * Stable EOO item ID of an item, or 0 if it hasn't been stamped yet.
      */
-    public String getPendingXpKeyForRing(@Nonnull final PlayerRef playerRef, final short baubleSlot) {
-        return playerRef.getUuid().toString() + ":bauble:" + baubleSlot;
+    public long getItemUid(@Nullable final ItemStack item) {
+        return item == null || ItemStack.isEmpty(item) ? 0L : this.getProgressionView(item).getUid();
     }
 
     /**
-     * Get the cache key for pending XP on an armor slot (0 = Head, 1 = Chest, 2 = Hands, 3 = Legs).
-     */
-    public String getPendingXpKeyForArmor(@Nonnull final PlayerRef playerRef, final short armorSlot) {
-        return playerRef.getUuid().toString() + ":armor:" + armorSlot;
-    }
-    
-    /**
-     * Get the total XP for a weapon including any pending (not yet persisted) XP.
+     * Return the item stamped with a stable EOO item ID, or the same stack if it already has one.
+     * Stamping is a one-time metadata write, done the first time the item gains XP; from then on
+     * pending XP is keyed by this ID wherever the item goes.
      */
-    public double getTotalXpWithPending(@Nonnull final ItemStack weapon, @Nonnull final PlayerRef playerRef, final byte slot) {
-        final double storedXp = this.getItemXp(weapon);
-        final String key = getPendingXpKey(playerRef, slot);
-        final Double pendingXp = this.pendingXpCache.get(key);
-        return storedXp + (pendingXp != null ? pendingXp : 0.0);
-    }
-    
-    /**
-     * Add XP to the pending cache (not persisted yet).
-     */
-    public void addPendingXp(@Nonnull final PlayerRef playerRef, final byte slot, final double xp) {
-        final String key = getPendingXpKey(playerRef, slot);
-        this.pendingXpCache.merge(key, xp, Double::sum);
+    @Nonnull
+    public ItemStack ensureItemUid(@Nonnull final ItemStack item) {
+        final ProgressionView view = this.getProgressionView(item);
+        if (view.getUid() != 0L) {
+            return item;
+        }
+        final EooItemData data = view.toItemData();
+        data.setUid(newItemUid());
+        return view.write(item, data);
     }
-    
+
     /**
-     * Get the amount of pending XP for a player/slot.
+     * Random 64-bit ID, never 0 (0 means "not stamped").
      */
-    public double getPendingXp(@Nonnull final PlayerRef playerRef, final byte slot) {
-        final String key = getPendingXpKey(playerRef, slot);
-        final Double pending = this.pendingXpCache.get(key);
-        return pending != null ? pending : 0.0;
+    private static long newItemUid() {
+        long uid;
+        do {
+            uid = ThreadLocalRandom.current().nextLong();
+        } while (uid == 0L);
+        return uid;
     }
-    
+
+    // ==================== PENDING XP (keyed by item ID) ====================
+
     /**
-     * Flush pending XP for a player's hotbar slot to the weapon and return the updated weapon.
-     * 
-     * @param weapon The current weapon
-     * @param playerRef The player
-     * @param slot The hotbar slot
-     * @return Updated weapon with flushed XP, or original if no pending XP
+     * Get the pending XP ledger of a player's {@link LiveProgressionComponent}, or null if they are
+     * not in a world. Callers that touch several items should look this up once and reuse it.
      */
-    @Nonnull
-    public ItemStack flushPendingXp(
-            @Nonnull final ItemStack weapon,
-            @Nonnull final PlayerRef playerRef,
-            final byte slot
-    ) {
-        final String key = getPendingXpKey(playerRef, slot);
-        final Double pendingXp = this.pendingXpCache.remove(key);
-        
-        if (pendingXp == null || pendingXp <= 0) {
-            return weapon; // No pending XP to flush
-        }
-        
-        // Add the pending XP to the weapon
-        return this.addXpToItem(weapon, pendingXp);
+    @Nullable
+    public PendingXpLedger getPendingXpLedger(@Nonnull final PlayerRef playerRef) {
+        final LiveProgressionComponent progression = LiveProgressionComponent.get(playerRef);
+        return progression != null ? progression.getLedger() : null;
     }
-    
+
     /**
-     * Clear pending XP for a player's hotbar slot without applying it.
+     * Set the journal that records every pending XP change (null disables journaling).
      */
-    public void clearPendingXp(@Nonnull final PlayerRef playerRef, final byte slot) {
-        final String key = getPendingXpKey(playerRef, slot);
-        this.pendingXpCache.remove(key);
+    public void setPendingXpJournal(@Nullable final PendingXpJournal journal) {
+        this.pendingXpJournal = journal;
     }
 
-    // ==================== RING XP (bauble container) ====================
+    @Nullable
+    public PendingXpJournal getPendingXpJournal() {
+        return this.pendingXpJournal;
+    }
 
     /**
-     * Add XP to the pending cache for a bauble ring slot.
+     * Load the pending XP the journal still owes this player into their ledger, replacing its contents.
+     * XP of items that gained none in {@link PendingXpJournal#MAX_PENDING_AGE_MS} is dropped first.
+     * Nothing else is journaled here (the journal already holds these amounts); flush afterwards to apply them.
+     *
+     * @return true if any pending XP was restored
      */
-    public void addPendingXpForRing(@Nonnull final PlayerRef playerRef, final short baubleSlot, final double xp) {
-        final String key = getPendingXpKeyForRing(playerRef, baubleSlot);
-        this.pendingXpCache.merge(key, xp, Double::sum);
+    public boolean restorePendingXpFromJournal(@Nonnull final PlayerRef playerRef) {
+        final PendingXpJournal journal = this.pendingXpJournal;
+        if (journal == null) {
+            return false;
+        }
+        final LiveProgressionComponent progression = LiveProgressionComponent.get(playerRef);
+        // Items that earned nothing for a long time are gone for good (destroyed, traded)
+        journal.expireStale(playerRef.getUuid());
+        final Map<Long, Double> owed = journal.getOwed(playerRef.getUuid());
+        if (progression == null || owed == null) {
+            return false;
+        }
+        final PendingXpLedger ledger = new PendingXpLedger();
+        for (final Map.Entry<Long, Double> entry : owed.entrySet()) {
+            ledger.add(entry.getKey(), PendingXpLedger.NO_HINT, PendingXpLedger.NO_HINT, entry.getValue());
+        }
+        progression.setLedger(ledger);
+        return !ledger.isEmpty();
     }
 
     /**
-     * Get pending XP for a bauble ring slot.
+     * Get the total XP for an item including any pending (not yet persisted) XP.
      */
-    public double getPendingXpForRing(@Nonnull final PlayerRef playerRef, final short baubleSlot) {
-        final String key = getPendingXpKeyForRing(playerRef, baubleSlot);
-        final Double pending = this.pendingXpCache.get(key);
-        return pending != null ? pending : 0.0;
+    public double getTotalXpWithPending(@Nonnull final ItemStack item, @Nonnull final PlayerRef playerRef) {
+        return this.getItemXp(item) + this.getPendingXp(playerRef, this.getItemUid(item));
     }
 
     /**
-     * Get total XP for a ring (stored + pending).
+     * Get the amount of pending XP for one of a player's items (0 for unstamped items).
      */
-    public double getTotalXpWithPendingForRing(
-            @Nonnull final ItemStack ring,
-            @Nonnull final PlayerRef playerRef,
-            final short baubleSlot
-    ) {
-        final double storedXp = this.getItemXp(ring);
-        final double pendingXp = this.getPendingXpForRing(playerRef, baubleSlot);
-        return storedXp + pendingXp;
+    public double getPendingXp(@Nonnull final PlayerRef playerRef, final long itemUid) {
+        if (itemUid == 0L) {
+            return 0.0;
+        }
+        final PendingXpLedger ledger = this.getPendingXpLedger(playerRef);
+        return ledger != null ? ledger.get(itemUid) : 0.0;
     }
 
     /**
-     * Flush pending XP for a bauble ring slot into the ring and return the updated stack.
+     * Add XP to the pending cache (not persisted yet) for a stamped item. If the player is between
+     * worlds it only goes into the journal, which restores it on their next login.
+     *
+     * @param container Where the item is now ({@link PendingXpLedger} container constant), used as a lookup hint
+     * @param slot Slot in that container
      */
-    @Nonnull
-    public ItemStack flushPendingXpForRing(
-            @Nonnull final ItemStack ring,
+    public void addPendingXp(
             @Nonnull final PlayerRef playerRef,
-            final short baubleSlot
+            final long itemUid,
+            final int container,
+            final int slot,
+            final double xp
     ) {
-        final String key = getPendingXpKeyForRing(playerRef, baubleSlot);
-        final Double pendingXp = this.pendingXpCache.remove(key);
-        if (pendingXp == null || pendingXp <= 0) {
-            return ring;
+        if (itemUid == 0L) {
+            return;
+        }
+        final PendingXpLedger ledger = this.getPendingXpLedger(playerRef);
+        if (ledger != null) {
+            ledger.add(itemUid, container, slot, xp);
+        }
+        final PendingXpJournal journal = this.pendingXpJournal;
+        if (journal != null) {
+            journal.append(playerRef.getUuid(), itemUid, xp);
         }
-        return this.addXpToItem(ring, pendingXp);
-    }
-
-    /**
-     * Clear pending XP for a bauble ring slot without applying it.
-     */
-    public void clearPendingXpForRing(@Nonnull final PlayerRef playerRef, final short baubleSlot) {
-        final String key = getPendingXpKeyForRing(playerRef, baubleSlot);
-        this.pendingXpCache.remove(key);
     }
 
-    // ==================== ARMOR XP (inventory armor container) ====================
-
     /**
-     * Add XP to the pending cache for an armor slot (0 = Head, 1 = Chest, 2 = Hands, 3 = Legs).
+     * Record pending XP for a player who is no longer online (a hit that was still being summed when
+     * they left). It only goes into the journal, which restores it into their ledger on the next login;
+     * without a journal there is nowhere to keep it.
+     *
+     * @return true if the XP was recorded
      */
-    public void addPendingXpForArmor(@Nonnull final PlayerRef playerRef, final short armorSlot, final double xp) {
-        final String key = getPendingXpKeyForArmor(playerRef, armorSlot);
-        this.pendingXpCache.merge(key, xp, Double::sum);
+    public boolean addPendingXpOffline(@Nonnull final UUID playerUuid, final long itemUid, final double xp) {
+        final PendingXpJournal journal = this.pendingXpJournal;
+        if (itemUid == 0L || journal == null) {
+            return false;
+        }
+        journal.append(playerUuid, itemUid, xp);
+        return true;
     }
 
     /**
-     * Get pending XP for an armor slot.
+     * Remove and return an item's pending XP.
      */
-    public double getPendingXpForArmor(@Nonnull final PlayerRef playerRef, final short armorSlot) {
-        final String key = getPendingXpKeyForArmor(playerRef, armorSlot);
-        final Double pending = this.pendingXpCache.get(key);
-        return pending != null ? pending : 0.0;
+    public double takePendingXp(@Nonnull final PlayerRef playerRef, final long itemUid) {
+        final PendingXpLedger ledger = this.getPendingXpLedger(playerRef);
+        if (ledger == null || itemUid == 0L) {
+            return 0.0;
+        }
+        final double value = ledger.take(itemUid);
+        final PendingXpJournal journal = this.pendingXpJournal;
+        if (journal != null) {
+            journal.append(playerRef.getUuid(), itemUid, -value);
+        }
+        return value;
     }
 
     /**
-     * Get total XP for an armor piece (stored + pending).
+     * Flush an item's pending XP into it and add pending embues (levels gained) in one metadata write.
+     *
+     * @return Updated item, or the original if there was nothing to write
      */
-    public double getTotalXpWithPendingForArmor(
-            @Nonnull final ItemStack armorPiece,
+    @Nonnull
+    public ItemStack flushPendingXp(
+            @Nonnull final ItemStack item,
             @Nonnull final PlayerRef playerRef,
-            final short armorSlot
+            final int embuesToAdd
     ) {
-        final double storedXp = this.getItemXp(armorPiece);
-        final double pendingXp = this.getPendingXpForArmor(playerRef, armorSlot);
-        return storedXp + pendingXp;
+        final double pendingXp = this.takePendingXp(playerRef, this.getItemUid(item));
+        if (pendingXp <= 0 && embuesToAdd <= 0) {
+            return item; // No pending XP to flush
+        }
+        return this.addXpAndEmbues(item, Math.max(0.0, pendingXp), embuesToAdd);
     }
 
     /**
-     * Flush pending XP for an armor slot into the item and return the updated stack.
+     * Get the decoded progression view for an item (XP, embues, unlocked effects, effects).
+     * Served from the shared identity cache, so repeated reads of the same stack decode once.
      */
     @Nonnull
-    public ItemStack flushPendingXpForArmor(
-            @Nonnull final ItemStack armorPiece,
-            @Nonnull final PlayerRef playerRef,
-            final short armorSlot
-    ) {
-        final String key = getPendingXpKeyForArmor(playerRef, armorSlot);
-        final Double pendingXp = this.pendingXpCache.remove(key);
-        if (pendingXp == null || pendingXp <= 0) {
-            return armorPiece;
-        }
-        return this.addXpToItem(armorPiece, pendingXp);
+    public ProgressionView getProgressionView(@Nullable final ItemStack item) {
+        return this.effectsService.getProgressionViews().get(item);
     }
 
     /**
-     * Clear pending XP for an armor slot without applying it.
+     * Rewrite every unmigrated item in a container into the EOO document, removing the legacy
+     * per-field keys. Called when a player joins, so their items stop decoding legacy keys on
+     * every cache miss; items elsewhere still migrate on their first write.
+     *
+     * @return number of items migrated
      */
-    public void clearPendingXpForArmor(@Nonnull final PlayerRef playerRef, final short armorSlot) {
-        final String key = getPendingXpKeyForArmor(playerRef, armorSlot);
-        this.pendingXpCache.remove(key);
+    public int migrateLegacyItems(@Nullable final ItemContainer container) {
+        if (container == null) {
+            return 0;
+        }
+        int migrated = 0;
+        final short capacity = container.getCapacity();
+        for (short slot = 0; slot < capacity; slot++) {
+            final ItemStack item = container.getItemStack(slot);
+            if (item == null || ItemStack.isEmpty(item)) {
+                continue;
+            }
+            final ProgressionView view = this.getProgressionView(item);
+            if (view.isLegacy()) {
+                container.setItemStackForSlot(slot, view.write(item, view.toItemData()));
+                migrated++;
+            }
+        }
+        return migrated;
     }
 
     /**
@@ -292,8 +313,7 @@ public class ItemExpService {
         if (item == null) {
             return 0;
         }
-        final Integer pending = (Integer) item.getFromMetadataOrNull(META_KEY_PENDING_EMBUES, Codec.INTEGER);
-        return pending != null ? pending : 0;
+        return this.getProgressionView(item).getPendingEmbues();
     }
     
     /**
@@ -302,8 +322,10 @@ public class ItemExpService {
     @Nonnull
     public ItemStack addPendingEmbues(@Nonnull final ItemStack item, final int count) {
         if (count <= 0) return item;
-        final int current = this.getPendingEmbues(item);
-        return item.withMetadata(META_KEY_PENDING_EMBUES, Codec.INTEGER, current + count);
+        final ProgressionView view = this.getProgressionView(item);
+        final EooItemData data = view.toItemData();
+        data.setPendingEmbues(data.getPendingEmbues() + count);
+        return view.write(item, data);
     }
     
     /**
@@ -312,9 +334,10 @@ public class ItemExpService {
      */
     @Nonnull
     public ItemStack consumePendingEmbue(@Nonnull final ItemStack item) {
-        final int current = this.getPendingEmbues(item);
-        final int newCount = Math.max(0, current - 1);
-        return item.withMetadata(META_KEY_PENDING_EMBUES, Codec.INTEGER, newCount);
+        final ProgressionView view = this.getProgressionView(item);
+        final EooItemData data = view.toItemData();
+        data.setPendingEmbues(data.getPendingEmbues() - 1);
+        return view.write(item, data);
     }
     
     /**
@@ -325,11 +348,7 @@ public class ItemExpService {
         if (item == null) {
             return new ArrayList<>();
         }
-        final String[] effects = (String[]) item.getFromMetadataOrNull(META_KEY_UNLOCKED_EFFECTS, UNLOCKED_EFFECTS_CODEC);
-        if (effects == null) {
-            return new ArrayList<>();
-        }
-        return new ArrayList<>(Arrays.asList(effects));
+        return this.getProgressionView(item).copyUnlockedEffectIds();
     }
     
     /**
@@ -337,13 +356,7 @@ public class ItemExpService {
      */
     public boolean isEffectUnlocked(@Nullable final ItemStack item, @Nonnull final WeaponEffectType type) {
         if (item == null) return false;
-        final String[] effects = (String[]) item.getFromMetadataOrNull(META_KEY_UNLOCKED_EFFECTS, UNLOCKED_EFFECTS_CODEC);
-        if (effects == null) return false;
-        final String targetId = type.getId();
-        for (final String id : effects) {
-            if (targetId.equals(id)) return true;
-        }
-        return false;
+        return this.getProgressionView(item).isEffectUnlocked(type);
     }
     
     /**
@@ -352,60 +365,16 @@ public class ItemExpService {
      */
     @Nonnull
     public ItemStack unlockEffect(@Nonnull final ItemStack item, @Nonnull final WeaponEffectType type) {
-        final List<String> ids = this.getUnlockedEffectIds(item);
+        final ProgressionView view = this.getProgressionView(item);
         
         // Don't add duplicates
-        if (ids.contains(type.getId())) {
+        if (view.isEffectUnlocked(type)) {
             return item;
         }
         
-        ids.add(type.getId());
-        return item.withMetadata(
-                META_KEY_UNLOCKED_EFFECTS, 
-                UNLOCKED_EFFECTS_CODEC, 
-                ids.toArray(new String[0])
-        );
-    }
-
-    /**
-     * Persisted upgrade options format: "effectTypeId:level" per option.
-     * level 0 = NewEffectOption, level > 0 = BoostOption with that current level.
-     */
-    private static String[] serializeUpgradeOptions(@Nonnull final List<UpgradeOption> options) {
-        final String[] out = new String[options.size()];
-        for (int i = 0; i < options.size(); i++) {
-            final UpgradeOption opt = options.get(i);
-            final int level = opt instanceof UpgradeOption.BoostOption b ? b.getCurrentLevel() : 0;
-            out[i] = opt.getEffectType().getId() + ":" + level;
-        }
-        return out;
-    }
-
-    @Nullable
-    private static List<UpgradeOption> deserializeUpgradeOptions(@Nullable final String[] raw) {
-        if (raw == null || raw.length == 0) {
-            return null;
-        }
-        final List<UpgradeOption> options = new ArrayList<>();
-        for (final String s : raw) {
-            final int colon = s.indexOf(':');
-            if (colon < 0) continue;
-            final String effectId = s.substring(0, colon);
-            final int level;
-            try {
-                level = Integer.parseInt(s.substring(colon + 1));
-            } catch (NumberFormatException e) {
-                continue;
-            }
-            final WeaponEffectType type = WeaponEffectType.fromId(effectId);
-            if (type == null) continue;
-            if (level == 0) {
-                options.add(new UpgradeOption.NewEffectOption(type));
-            } else {
-                options.add(new UpgradeOption.BoostOption(type, level));
-            }
-        }
-        return options.isEmpty() ? null : options;
+        final EooItemData data = view.toItemData();
+        data.unlock(type);
+        return view.write(item, data);
     }
 
     /**
@@ -414,16 +383,18 @@ public class ItemExpService {
     @Nullable
     public List<UpgradeOption> getPendingUpgradeOptions(@Nullable final ItemStack weapon) {
         if (weapon == null) return null;
-        final String[] raw = (String[]) weapon.getFromMetadataOrNull(META_KEY_PENDING_UPGRADE_OPTIONS, UNLOCKED_EFFECTS_CODEC);
-        return deserializeUpgradeOptions(raw);
+        return this.getProgressionView(weapon).getPendingUpgradeOptions();
     }
 
     /**
-     * Store upgrade options in weapon metadata.
+     * Store upgrade options in weapon metadata (packed as ordinal/level ints).
      */
     @Nonnull
     public ItemStack setPendingUpgradeOptions(@Nonnull final ItemStack weapon, @Nonnull final List<UpgradeOption> options) {
-        return weapon.withMetadata(META_KEY_PENDING_UPGRADE_OPTIONS, UNLOCKED_EFFECTS_CODEC, serializeUpgradeOptions(options));
+        final ProgressionView view = this.getProgressionView(weapon);
+        final EooItemData data = view.toItemData();
+        data.setUpgradeOptions(options);
+        return view.write(weapon, data);
     }
 
     /**
@@ -431,7 +402,7 @@ public class ItemExpService {
      */
     @Nonnull
     public ItemStack clearPendingUpgradeOptions(@Nonnull final ItemStack weapon) {
-        return weapon.withMetadata(META_KEY_PENDING_UPGRADE_OPTIONS, UNLOCKED_EFFECTS_CODEC, null);
+        return this.setPendingUpgradeOptions(weapon, List.of());
     }
 
     /**
@@ -475,7 +446,8 @@ public class ItemExpService {
         if (damageDealt <= 0) {
             return 0.0;
         }
-        return damageDealt * this.config.getXpPerDamage() * this.config.getXpMultiplier();
+        final EchoesOfOrbisConfig config = EooConfig.get();
+        return damageDealt * config.getXpPerDamage() * config.getXpMultiplier();
     }
 
     /**
@@ -487,9 +459,7 @@ public class ItemExpService {
             return 0.0;
         }
 
-        // getFromMetadataOrNull returns null if key doesn't exist
-        final Double xp = (Double) item.getFromMetadataOrNull(META_KEY_XP, Codec.DOUBLE);
-        return xp != null ? xp : 0.0;
+        return this.getProgressionView(item).getXp();
     }
 
     /**
@@ -502,39 +472,74 @@ public class ItemExpService {
             return 1;
         }
 
-        final double xp = this.getItemXp(item);
-        return this.calculateLevelFromXp(xp);
+        return this.getProgressionView(item).getLevel(this.getXpCurve(item));
     }
 
-    /** Upper bound for level when there is no config cap (used in binary search). */
+    /** Upper bound for level when there is no config cap (size of the precomputed XP table). */
     private static final int NO_CAP_LEVEL_BOUND = 9999;
 
     /**
-     * Calculate what level corresponds to a given amount of XP.
-     * Inverse of getXpRequiredForLevel.
+     * Compiled per-category XP curves. Replaced as a whole on config reload; readers only
+     * dereference this field.
      */
-    public int calculateLevelFromXp(final double totalXp) {
-        if (totalXp <= 0) return 1;
-        final int cap = this.getEffectiveMaxLevel();
-        if (totalXp >= this.getXpRequiredForLevel(cap)) return cap;
-
-        // Binary search: find lowest level L where getXpRequiredForLevel(L+1) > totalXp
-        int lo = 1;
-        int hi = cap;
-        while (lo < hi) {
-            final int mid = (lo + hi + 1) >>> 1;
-            if (this.getXpRequiredForLevel(mid) <= totalXp) {
-                lo = mid;
-            } else {
-                hi = mid - 1;
-            }
+    private volatile XpCurveSet xpCurves;
+
+    /** XP curve category per item id (item configs and tags don't change at runtime). */
+    private final Map<String, WeaponCategory> curveCategoryByItemId = new ConcurrentHashMap<>();
+
+    /**
+     * Current compiled curves for all categories.
+     */
+    @Nonnull
+    public XpCurveSet getXpCurves() {
+        return this.xpCurves;
+    }
+
+    /**
+     * XP curve for an item's category (weapons, tools, armor or rings).
+     * Shared by level lookups here, the status HUD, and progress notifications.
+     */
+    @Nonnull
+    public XpCurveTable getXpCurve(@Nullable final ItemStack item) {
+        final XpCurveSet curves = this.xpCurves;
+        if (item == null || item.isEmpty()) {
+            return curves.getWeapons();
         }
-        return lo;
+        final String itemId = item.getItemId();
+        if (itemId == null) {
+            return curves.forCategory(WeaponCategoryUtil.determineCategory(null, item));
+        }
+        WeaponCategory category = this.curveCategoryByItemId.get(itemId);
+        if (category == null) {
+            category = WeaponCategoryUtil.determineCategory(null, item);
+            this.curveCategoryByItemId.put(itemId, category);
+        }
+        return curves.forCategory(category);
     }
 
     /**
-     * Get the total XP required to reach a specific level.
-     * Formula: levelBaseXP * (level - 1)^levelScaling
+     * Compile the XP curves from a config and publish them in one swap.
+     * Called at startup and, with the newly loaded config, whenever the config file is reloaded.
+     */
+    @Nonnull
+    public XpCurveSet reloadXpCurves(@Nonnull final EchoesOfOrbisConfig config) {
+        final XpCurveSet curves = XpCurveSet.compile(config, effectiveMaxLevel(config));
+        this.xpCurves = curves;
+        return curves;
+    }
+
+    /**
+     * Calculate what level corresponds to a given amount of XP on the item's curve.
+     * Inverse of getXpRequiredForLevel, served from the precomputed XP curve table.
+     */
+    public int calculateLevelFromXp(@Nonnull final ItemStack item, final double totalXp) {
+        if (totalXp <= 0) return 1;
+        return this.getXpCurve(item).levelForXp(totalXp);
+    }
+
+    /**
+     * Get the total XP required to reach a specific level on the item's curve.
+     * Default (power) curve: levelBaseXP * (level - 1)^levelScaling
      * 
      * This formula ensures:
      * - Level 2 requires exactly baseXP (quick first level up!)
@@ -550,13 +555,12 @@ public class ItemExpService {
      * 
      * XP to advance (gaps):
      * 1→2: 100 | 2→3: 466 | 3→4: 992 | 4→5: 1,642
+     *
+     * Categories can use other curve types (see XpCurveConfig). Values are read from the
+     * precomputed XP curve table.
      */
-    public double getXpRequiredForLevel(final int level) {
-        if (level <= 1) {
-            return 0.0;
-        }
-        // Use (level - 1) so level 2 = baseXP * 1^scaling = baseXP
-        return this.config.getLevelBaseXP() * Math.pow(level - 1, this.config.getLevelScaling());
+    public double getXpRequiredForLevel(@Nonnull final ItemStack item, final int level) {
+        return this.getXpCurve(item).getXpForLevel(level);
     }
 
     /**
@@ -567,17 +571,28 @@ public class ItemExpService {
     }
 
     private int getEffectiveMaxLevel() {
-        final int cfg = this.config.getMaxLevel();
-        return cfg > 0 ? cfg : NO_CAP_LEVEL_BOUND;
+        return effectiveMaxLevel(EooConfig.get());
+    }
+
+    private static int effectiveMaxLevel(@Nonnull final EchoesOfOrbisConfig config) {
+        final int cap = config.getMaxLevel();
+        return cap > 0 ? cap : NO_CAP_LEVEL_BOUND;
     }
 
     /**
      * Check if a weapon is at max level. Always false when there is no level cap.
      */
     public boolean isAtMaxLevel(@Nonnull final ItemStack item) {
-        final int cap = this.config.getMaxLevel();
+        return this.isAtMaxLevel(this.getItemLevel(item));
+    }
+
+    /**
+     * Check if a level (e.g. the live level including pending XP) is at the cap.
+     */
+    public boolean isAtMaxLevel(final int level) {
+        final int cap = EooConfig.get().getMaxLevel();
         if (cap <= 0) return false;
-        return this.getItemLevel(item) >= cap;
+        return level >= cap;
     }
 
     /**
@@ -586,11 +601,33 @@ public class ItemExpService {
      */
     @Nonnull
     public ItemStack addXpToItem(@Nonnull final ItemStack item, final double xpToAdd) {
-        final double currentXp = this.getItemXp(item);
-        final double newXp = currentXp + xpToAdd;
+        return this.addXpAndEmbues(item, xpToAdd, 0);
+    }
 
-        // withMetadata creates a new ItemStack with the updated metadata
-        return item.withMetadata(META_KEY_XP, Codec.DOUBLE, newXp);
+    /**
+     * Add XP and pending embues in a single metadata write (one decode, one write per level-up).
+     */
+    @Nonnull
+    public ItemStack addXpAndEmbues(@Nonnull final ItemStack item, final double xpToAdd, final int embuesToAdd) {
+        final ProgressionView view = this.getProgressionView(item);
+        final EooItemData data = view.toItemData();
+        data.setXp(data.getXp() + xpToAdd);
+        if (embuesToAdd > 0) {
+            data.setPendingEmbues(data.getPendingEmbues() + embuesToAdd);
+        }
+        // Writing creates a new ItemStack with the updated metadata
+        return view.write(item, data);
+    }
+
+    /**
+     * Set an item's total XP (debug tools).
+     */
+    @Nonnull
+    public ItemStack setItemXp(@Nonnull final ItemStack item, final double xp) {
+        final ProgressionView view = this.getProgressionView(item);
+        final EooItemData data = view.toItemData();
+        data.setXp(xp);
+        return view.write(item, data);
     }
     
     /**
@@ -611,6 +648,11 @@ public class ItemExpService {
             return false;
         }
 
+        // Items carrying a newer mod version's data are never written back, so they can't progress
+        if (this.getProgressionView(item).isReadOnly()) {
+            return false;
+        }
+
         final var itemConfig = item.getItem();
 
         // Exclude stackable items
@@ -638,15 +680,17 @@ public class ItemExpService {
      */
     @Nonnull
     public String getProgressString(@Nonnull final ItemStack item) {
+        final XpCurveTable curve = this.getXpCurve(item);
         final double xp = this.getItemXp(item);
-        final int level = this.calculateLevelFromXp(xp);
+        final int level = xp <= 0 ? 1 : curve.levelForXp(xp);
 
-        if (this.isAtMaxLevel(item)) {
+        final int cap = EooConfig.get().getMaxLevel();
+        if (cap > 0 && level >= cap) {
             return String.format("Level %d (MAX)", level);
         }
 
-        final double xpForCurrentLevel = this.getXpRequiredForLevel(level);
-        final double xpForNextLevel = this.getXpRequiredForLevel(level + 1);
+        final double xpForCurrentLevel = curve.getXpForLevel(level);
+        final double xpForNextLevel = curve.getXpForLevel(level + 1);
         final double xpIntoLevel = xp - xpForCurrentLevel;
         final double xpNeeded = xpForNextLevel - xpForCurrentLevel;
         final int percent = (int) ((xpIntoLevel / xpNeeded) * 100);
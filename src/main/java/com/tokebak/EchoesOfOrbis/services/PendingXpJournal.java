@@ -0,0 +1,552 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import com.tokebak.EchoesOfOrbis.utils.EooLogger;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Write-ahead journal of pending XP deltas, so XP that was earned but not yet written to an item
+ * survives disconnects and crashes.
+ *
+ * World threads append fixed-size records (player, item ID, delta, sequence) to an
+ * in-memory staging buffer; no syscall per hit. A single background thread drains the staging
+ * buffer into a memory-mapped file every {@link #FLUSH_INTERVAL_MS} and forces it once per batch.
+ * Taking or clearing pending XP appends the negated amount, so the per-item sum of all records
+ * is the XP still owed to that item.
+ *
+ * Records carry the wall-clock time the writer took them, so each item also has the time it last
+ * gained XP. An item that is lost for good (destroyed, traded) never comes back to be checkpointed;
+ * {@link #expireStale} drops its XP once it has gained nothing for {@link #MAX_PENDING_AGE_MS}.
+ *
+ * Staged records are added to the in-memory sums as soon as the writer takes them, and stay in an
+ * unwritten buffer until they are in the file (or covered by a snapshot); a failed write is
+ * retried on the next batch instead of dropping records. {@link #getOwed} only takes short locks
+ * on the sums and the staging buffer, never the writer's monitor, so it does not wait on a force.
+ *
+ * The writer keeps that sum in memory. When enough of the journal is dead (flushed items), it
+ * writes the live sums as a fresh snapshot into the other of two journal files and bumps the
+ * generation in that file's header; on startup the file with the highest generation wins.
+ *
+ * A file is reused two compactions later without being zeroed, so records from its previous
+ * generation are still sitting past the new snapshot. Every record's checksum includes the
+ * generation of the file it was written for, which makes those leftovers fail the check on replay,
+ * and the header keeps the first sequence number so sequences never restart after an empty snapshot.
+ */
+public final class PendingXpJournal {
+
+    private static final int MAGIC = 0x454F4F4A; // "EOOJ"
+    /** Version 4 adds the record time; older journals are ignored. */
+    private static final int VERSION = 4;
+    private static final int HEADER_BYTES = 32;
+    private static final int RECORD_BYTES = 56;
+    /** Staged record: uuid (16), item ID (8), delta (8). Sequence is assigned by the writer. */
+    private static final int STAGED_BYTES = 32;
+    /** Unwritten record: a staged record plus the time the writer took it. */
+    private static final int UNWRITTEN_BYTES = STAGED_BYTES + 8;
+    private static final byte RECORD_DELTA = 1;
+
+    private static final String JOURNAL_SUBDIR = "pending_xp";
+    private static final String FILE_PREFIX = "pending-xp.";
+    private static final String FILE_EXT = ".journal";
+
+    /** Initial mapping size per journal file (about 75k records). */
+    private static final int DEFAULT_MAP_BYTES = 4 << 20;
+    /** How often the writer drains staged records and forces the mapping. */
+    private static final long FLUSH_INTERVAL_MS = 250;
+    /** Compact once the journal holds this many records and most of them are dead. */
+    private static final int COMPACT_MIN_RECORDS = 16_384;
+    private static final int COMPACT_DEAD_RATIO = 4;
+
+    /** Pending XP of an item that gained nothing for this long is dropped (see {@link #expireStale}). */
+    public static final long MAX_PENDING_AGE_MS = 30L * 24 * 60 * 60 * 1000;
+
+    // ==================== STAGING (world threads) ====================
+
+    private final Object stagingLock = new Object();
+    private ByteBuffer staging = ByteBuffer.allocate(256 * STAGED_BYTES);
+    private ByteBuffer spare = ByteBuffer.allocate(256 * STAGED_BYTES);
+
+    // ==================== WRITER (guarded by this) ====================
+
+    /** Records already in the live sums but not yet written to the active file. */
+    private ByteBuffer unwritten = ByteBuffer.allocate(256 * UNWRITTEN_BYTES);
+
+    private final Path dir;
+    private final FileChannel[] channels = new FileChannel[2];
+    private final MappedByteBuffer[] maps = new MappedByteBuffer[2];
+    private int active;
+    private long generation;
+    /** Write offset in the active file. */
+    private int position = HEADER_BYTES;
+    private int recordCount;
+    /** Next record sequence number; strictly increasing across snapshots and restarts. */
+    private long nextSeq = 1;
+    private boolean dirty;
+
+    /**
+     * Live per-item sums: a replay of the active file plus {@link #unwritten}. Only the writer
+     * changes them, under liveLock; readers on other threads take liveLock too.
+     */
+    private final Object liveLock = new Object();
+    private final Map<UUID, Map<Long, Owed>> live = new HashMap<>();
+    private int liveEntries;
+
+    private ScheduledExecutorService writer;
+
+    private PendingXpJournal(@Nonnull final Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Open (or create) the journal under {dataDir}/pending_xp and replay it.
+     * Returns null if the files cannot be opened; pending XP then simply isn't journaled.
+     */
+    @Nullable
+    public static PendingXpJournal open(@Nonnull final Path dataDir) {
+        final PendingXpJournal journal = new PendingXpJournal(dataDir.resolve(JOURNAL_SUBDIR));
+        try {
+            journal.openFiles();
+        } catch (final IOException e) {
+            EooLogger.warn("Pending XP journal disabled, could not open %s: %s", journal.dir, e.getMessage());
+            journal.closeChannels();
+            return null;
+        }
+        if (journal.liveEntries > 0) {
+            EooLogger.info("Recovered pending XP for %d item(s) from journal", journal.liveEntries);
+        }
+        journal.writer = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "EOO-PendingXp-Journal");
+            t.setDaemon(true);
+            return t;
+        });
+        journal.writer.scheduleWithFixedDelay(journal::flushBatch, FLUSH_INTERVAL_MS, FLUSH_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        return journal;
+    }
+
+    /**
+     * Record a pending XP change for a player's item. Cheap enough for the damage path:
+     * one short lock and a few buffer writes, no I/O.
+     */
+    public void append(@Nonnull final UUID playerUuid, final long itemUid, final double delta) {
+        if (delta == 0.0 || itemUid == 0L) {
+            return;
+        }
+        synchronized (this.stagingLock) {
+            if (this.staging.remaining() < STAGED_BYTES) {
+                final ByteBuffer grown = ByteBuffer.allocate(this.staging.capacity() * 2);
+                this.staging.flip();
+                grown.put(this.staging);
+                this.staging = grown;
+            }
+            final ByteBuffer buf = this.staging;
+            buf.putLong(playerUuid.getMostSignificantBits());
+            buf.putLong(playerUuid.getLeastSignificantBits());
+            buf.putLong(itemUid);
+            buf.putDouble(delta);
+        }
+    }
+
+    /**
+     * Pending XP the journal still holds for a player, as item ID to sum. Null if nothing is owed.
+     * Includes records staged but not yet written.
+     */
+    @Nullable
+    public Map<Long, Double> getOwed(@Nonnull final UUID playerUuid) {
+        final Map<Long, Double> owed = new HashMap<>();
+        // Same lock order as drainStaging, so no batch is between staging and the sums while we read
+        synchronized (this.liveLock) {
+            final Map<Long, Owed> sums = this.live.get(playerUuid);
+            if (sums != null) {
+                for (final Map.Entry<Long, Owed> entry : sums.entrySet()) {
+                    owed.put(entry.getKey(), entry.getValue().sum);
+                }
+            }
+            synchronized (this.stagingLock) {
+                final ByteBuffer buf = this.staging;
+                final long msb = playerUuid.getMostSignificantBits();
+                final long lsb = playerUuid.getLeastSignificantBits();
+                for (int pos = 0; pos + STAGED_BYTES <= buf.position(); pos += STAGED_BYTES) {
+                    if (buf.getLong(pos) == msb && buf.getLong(pos + 8) == lsb) {
+                        owed.merge(buf.getLong(pos + 16), buf.getDouble(pos + 24), Double::sum);
+                    }
+                }
+            }
+        }
+        owed.values().removeIf(sum -> Math.abs(sum) < 1e-9);
+        return owed.isEmpty() ? null : owed;
+    }
+
+    /**
+     * Drop a player's pending XP for items that gained none in {@link #MAX_PENDING_AGE_MS}
+     * (by appending the negated sums). Call before restoring the player's ledger from {@link #getOwed}.
+     *
+     * @return Number of items whose pending XP was dropped
+     */
+    public int expireStale(@Nonnull final UUID playerUuid) {
+        return this.expireStale(playerUuid, System.currentTimeMillis());
+    }
+
+    int expireStale(@Nonnull final UUID playerUuid, final long nowMillis) {
+        final long cutoff = nowMillis - MAX_PENDING_AGE_MS;
+        int expired = 0;
+        synchronized (this.liveLock) {
+            final Map<Long, Owed> sums = this.live.get(playerUuid);
+            if (sums == null) {
+                return 0;
+            }
+            for (final Map.Entry<Long, Owed> entry : sums.entrySet()) {
+                final Owed owed = entry.getValue();
+                if (owed.lastGainAt < cutoff && !this.isStaged(playerUuid, entry.getKey())) {
+                    EooLogger.debug("Dropped %.2f pending XP for item %d: no XP gained since %d", owed.sum, entry.getKey(), owed.lastGainAt);
+                    this.append(playerUuid, entry.getKey(), -owed.sum);
+                    expired++;
+                }
+            }
+        }
+        return expired;
+    }
+
+    private boolean isStaged(@Nonnull final UUID playerUuid, final long itemUid) {
+        synchronized (this.stagingLock) {
+            final ByteBuffer buf = this.staging;
+            for (int pos = 0; pos + STAGED_BYTES <= buf.position(); pos += STAGED_BYTES) {
+                if (buf.getLong(pos + 16) == itemUid && buf.getLong(pos) == playerUuid.getMostSignificantBits()
+                        && buf.getLong(pos + 8) == playerUuid.getLeastSignificantBits()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Write out everything staged, force it to disk and stop the writer thread.
+     */
+    public void close() {
+        if (this.writer != null) {
+            this.writer.shutdown();
+        }
+        synchronized (this) {
+            this.flushBatch();
+            if (this.unwritten.position() > 0) {
+                EooLogger.warn("Pending XP journal closed with %d unwritten record(s)", this.unwritten.position() / UNWRITTEN_BYTES);
+            }
+            this.closeChannels();
+        }
+    }
+
+    // ==================== WRITER ====================
+
+    private synchronized void flushBatch() {
+        try {
+            this.drainStaging();
+            this.writeUnwritten();
+            if ((this.recordCount >= COMPACT_MIN_RECORDS && this.recordCount > this.liveEntries * COMPACT_DEAD_RATIO)
+                    || (this.liveEntries == 0 && this.recordCount > 0)) {
+                this.compact();
+                // The snapshot holds anything a failed write left behind
+                this.unwritten.clear();
+            }
+            if (this.dirty) {
+                this.maps[this.active].force();
+                this.dirty = false;
+            }
+        } catch (final IOException | RuntimeException e) {
+            EooLogger.warn("Pending XP journal write failed: %s", e.toString());
+        }
+    }
+
+    /**
+     * Move staged records into the live sums and the unwritten buffer. No I/O.
+     */
+    private void drainStaging() {
+        synchronized (this.liveLock) {
+            final ByteBuffer batch;
+            synchronized (this.stagingLock) {
+                if (this.staging.position() == 0) {
+                    return;
+                }
+                batch = this.staging;
+                this.staging = this.spare;
+                this.spare = batch;
+            }
+            batch.flip();
+            final long now = System.currentTimeMillis();
+            final int needed = batch.remaining() / STAGED_BYTES * UNWRITTEN_BYTES;
+            if (this.unwritten.remaining() < needed) {
+                final ByteBuffer grown = ByteBuffer.allocate(Math.max(this.unwritten.capacity() * 2, this.unwritten.position() + needed));
+                this.unwritten.flip();
+                grown.put(this.unwritten);
+                this.unwritten = grown;
+            }
+            while (batch.remaining() >= STAGED_BYTES) {
+                final long msb = batch.getLong();
+                final long lsb = batch.getLong();
+                final long uid = batch.getLong();
+                final double delta = batch.getDouble();
+                this.applyToLive(new UUID(msb, lsb), uid, delta, now);
+                this.unwritten.putLong(msb).putLong(lsb).putLong(uid).putDouble(delta).putLong(now);
+            }
+            batch.clear();
+        }
+    }
+
+    /**
+     * Write the unwritten records to the active file. When the file is full it is compacted (the
+     * snapshot already holds every unwritten record), or grown if compaction fails. Whatever still
+     * cannot be written stays buffered for the next batch.
+     */
+    private void writeUnwritten() throws IOException {
+        final ByteBuffer buf = this.unwritten;
+        buf.flip();
+        try {
+            while (buf.remaining() >= UNWRITTEN_BYTES) {
+                if (this.position + RECORD_BYTES > this.maps[this.active].capacity()) {
+                    try {
+                        this.compact();
+                        buf.position(buf.limit());
+                        return;
+                    } catch (final IOException e) {
+                        EooLogger.warn("Pending XP journal compaction failed, growing the active file: %s", e.getMessage());
+                        final int size = this.maps[this.active].capacity() * 2;
+                        this.maps[this.active] = this.channels[this.active].map(FileChannel.MapMode.READ_WRITE, 0, size);
+                    }
+                }
+                final int pos = buf.position();
+                this.writeRecord(this.maps[this.active], this.position, this.generation, this.nextSeq++,
+                        buf.getLong(pos), buf.getLong(pos + 8), buf.getLong(pos + 16), buf.getDouble(pos + 24), buf.getLong(pos + 32));
+                buf.position(pos + UNWRITTEN_BYTES);
+                this.position += RECORD_BYTES;
+                this.recordCount++;
+                this.dirty = true;
+            }
+        } finally {
+            // Keep what was not written (if anything) at the front for the next batch
+            buf.compact();
+        }
+    }
+
+    /**
+     * Write the live sums as a snapshot into the other journal file and make it the active one.
+     * The header (with the new generation) is written last, so a crash midway keeps the old file.
+     */
+    private void compact() throws IOException {
+        final int target = 1 - this.active;
+        final int needed = HEADER_BYTES + this.liveEntries * RECORD_BYTES;
+        if (this.maps[target].capacity() < needed * 2) {
+            this.maps[target] = this.channels[target].map(FileChannel.MapMode.READ_WRITE, 0, Math.max(DEFAULT_MAP_BYTES, needed * 2));
+        }
+        final MappedByteBuffer map = this.maps[target];
+        final long generation = this.generation + 1;
+        final long firstSeq = this.nextSeq;
+        long seq = firstSeq;
+        int pos = HEADER_BYTES;
+        int count = 0;
+        for (final Map.Entry<UUID, Map<Long, Owed>> entry : this.live.entrySet()) {
+            final UUID uuid = entry.getKey();
+            for (final Map.Entry<Long, Owed> item : entry.getValue().entrySet()) {
+                final Owed owed = item.getValue();
+                this.writeRecord(map, pos, generation, seq++, uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(),
+                        item.getKey(), owed.sum, owed.lastGainAt);
+                pos += RECORD_BYTES;
+                count++;
+            }
+        }
+        // Terminate the snapshot in case the file still holds older records past it
+        if (pos < map.capacity()) {
+            map.put(pos, (byte) 0);
+        }
+        map.force();
+        writeHeader(map, generation, firstSeq);
+        map.force();
+
+        this.generation = generation;
+        this.nextSeq = seq;
+        this.active = target;
+        this.position = pos;
+        this.recordCount = count;
+        this.dirty = false;
+        EooLogger.debug("Compacted pending XP journal: %d live record(s), generation %d", count, this.generation);
+    }
+
+    /**
+     * @param time Wall-clock time of the record; a gain (positive delta) makes it the item's last gain
+     */
+    private void applyToLive(@Nonnull final UUID uuid, final long uid, final double delta, final long time) {
+        if (uid == 0L) {
+            return;
+        }
+        final Map<Long, Owed> sums = this.live.computeIfAbsent(uuid, u -> new HashMap<>());
+        Owed owed = sums.get(uid);
+        if (owed == null) {
+            owed = new Owed(time);
+            sums.put(uid, owed);
+            this.liveEntries++;
+        }
+        owed.sum += delta;
+        if (delta > 0 && time > owed.lastGainAt) {
+            owed.lastGainAt = time;
+        }
+        // Take/clear records carry the exact negated sum, but guard against drift anyway
+        if (Math.abs(owed.sum) < 1e-9) {
+            sums.remove(uid);
+            this.liveEntries--;
+            if (sums.isEmpty()) {
+                this.live.remove(uuid);
+            }
+        }
+    }
+
+    /**
+     * XP still owed to one item and when it last gained some.
+     */
+    private static final class Owed {
+        private double sum;
+        private long lastGainAt;
+
+        private Owed(final long lastGainAt) {
+            this.lastGainAt = lastGainAt;
+        }
+    }
+
+    // ==================== FILE FORMAT ====================
+
+    private void writeRecord(
+            @Nonnull final MappedByteBuffer map,
+            final int pos,
+            final long generation,
+            final long seq,
+            final long msb,
+            final long lsb,
+            final long uid,
+            final double delta,
+            final long time
+    ) {
+        // Payload first, type byte last, so a torn record is never read as complete
+        map.putInt(pos + 4, checksum(generation, seq, msb, lsb, uid, delta, time));
+        map.putLong(pos + 8, seq);
+        map.putLong(pos + 16, msb);
+        map.putLong(pos + 24, lsb);
+        map.putLong(pos + 32, uid);
+        map.putDouble(pos + 40, delta);
+        map.putLong(pos + 48, time);
+        map.put(pos, RECORD_DELTA);
+    }
+
+    private static int checksum(
+            final long generation,
+            final long seq,
+            final long msb,
+            final long lsb,
+            final long uid,
+            final double delta,
+            final long time
+    ) {
+        long h = (generation ^ (seq * 0x9E3779B97F4A7C15L)) * 0xD6E8FEB86659FD93L;
+        h = (h ^ msb) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ lsb) * 0x94D049BB133111EBL;
+        h = (h ^ uid) * 0x9E3779B97F4A7C15L;
+        h = (h ^ Double.doubleToRawLongBits(delta)) * 0xBF58476D1CE4E5B9L;
+        h ^= time;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * @param firstSeq Sequence number of the file's first record (the next one, if the file is empty)
+     */
+    private static void writeHeader(@Nonnull final MappedByteBuffer map, final long generation, final long firstSeq) {
+        map.putInt(0, MAGIC);
+        map.putInt(4, VERSION);
+        map.putLong(8, generation);
+        map.putLong(16, firstSeq);
+    }
+
+    private static long readGeneration(@Nonnull final MappedByteBuffer map) {
+        if (map.getInt(0) != MAGIC || map.getInt(4) != VERSION) {
+            return -1L;
+        }
+        return map.getLong(8);
+    }
+
+    private void openFiles() throws IOException {
+        Files.createDirectories(this.dir);
+        for (int i = 0; i < 2; i++) {
+            final Path file = this.dir.resolve(FILE_PREFIX + i + FILE_EXT);
+            this.channels[i] = FileChannel.open(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            final long size = Math.max(DEFAULT_MAP_BYTES, this.channels[i].size());
+            this.maps[i] = this.channels[i].map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+        final long gen0 = readGeneration(this.maps[0]);
+        final long gen1 = readGeneration(this.maps[1]);
+        if (gen0 < 0 && gen1 < 0) {
+            writeHeader(this.maps[0], 1L, 1L);
+            this.maps[0].put(HEADER_BYTES, (byte) 0);
+            this.maps[0].force();
+            this.active = 0;
+            this.generation = 1L;
+            return;
+        }
+        this.active = gen1 > gen0 ? 1 : 0;
+        this.generation = Math.max(gen0, gen1);
+        this.replay(this.maps[this.active]);
+    }
+
+    /**
+     * Rebuild the live sums from the active file. Stops at the first record that is missing,
+     * torn, written for another generation of the file (bad checksum) or not newer than its predecessor.
+     */
+    private void replay(@Nonnull final MappedByteBuffer map) {
+        int pos = HEADER_BYTES;
+        long lastSeq = map.getLong(16) - 1;
+        int count = 0;
+        while (pos + RECORD_BYTES <= map.capacity() && map.get(pos) == RECORD_DELTA) {
+            final int check = map.getInt(pos + 4);
+            final long seq = map.getLong(pos + 8);
+            final long msb = map.getLong(pos + 16);
+            final long lsb = map.getLong(pos + 24);
+            final long uid = map.getLong(pos + 32);
+            final double delta = map.getDouble(pos + 40);
+            final long time = map.getLong(pos + 48);
+            if (seq <= lastSeq || check != checksum(this.generation, seq, msb, lsb, uid, delta, time)) {
+                break;
+            }
+            this.applyToLive(new UUID(msb, lsb), uid, delta, time);
+            lastSeq = seq;
+            pos += RECORD_BYTES;
+            count++;
+        }
+        this.position = pos;
+        this.recordCount = count;
+        this.nextSeq = lastSeq + 1;
+        // Overwrite whatever follows so new appends are not mistaken for part of an old tail
+        if (pos < map.capacity()) {
+            map.put(pos, (byte) 0);
+        }
+    }
+
+    private void closeChannels() {
+        for (int i = 0; i < 2; i++) {
+            if (this.channels[i] != null) {
+                try {
+                    this.channels[i].close();
+                } catch (final IOException ignored) {
+                }
+                this.channels[i] = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import java.util.Arrays;
+
+/**
+ * Per-player pending XP that hasn't been persisted to item metadata yet, keyed by the item's
+ * stable EOO item ID (see {@link EooItemData#getUid()}), so live XP follows the item through
+ * moves, swaps and crafts instead of staying with the slot it was earned in.
+ *
+ * Entries are parallel primitive arrays scanned linearly: a player only has a handful of items
+ * earning XP at once, so this beats hashing and never boxes on the damage path.
+ * Each entry also remembers where the item was when it last gained XP (container and slot),
+ * so a checkpoint usually finds it without searching the inventory.
+ *
+ * A ledger belongs to one player, lives in their
+ * {@link com.tokebak.EchoesOfOrbis.components.LiveProgressionComponent} and is only touched
+ * from that player's world thread.
+ */
+public final class PendingXpLedger {
+
+    public static final int CONTAINER_HOTBAR = 0;
+    public static final int CONTAINER_ARMOR = 1;
+    public static final int CONTAINER_BAUBLE = 2;
+
+    /** Location hint for entries restored from the journal (item position unknown). */
+    public static final int NO_HINT = -1;
+
+    private static final int SLOT_BITS = 16;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+
+    private long[] ids = new long[8];
+    private double[] xp = new double[8];
+    private int[] hints = new int[8];
+    private int size;
+
+    public PendingXpLedger() {
+    }
+
+    /**
+     * Independent copy with the same entries and location hints.
+     */
+    public PendingXpLedger copy() {
+        final PendingXpLedger copy = new PendingXpLedger();
+        copy.ids = Arrays.copyOf(this.ids, this.ids.length);
+        copy.xp = Arrays.copyOf(this.xp, this.xp.length);
+        copy.hints = Arrays.copyOf(this.hints, this.hints.length);
+        copy.size = this.size;
+        return copy;
+    }
+
+    /**
+     * Get pending XP for an item (0 if none).
+     */
+    public double get(final long itemUid) {
+        final int index = this.indexOf(itemUid);
+        return index >= 0 ? this.xp[index] : 0.0;
+    }
+
+    /**
+     * Add XP to an item and remember where it was earned.
+     */
+    public void add(final long itemUid, final int container, final int slot, final double amount) {
+        if (itemUid == 0L) {
+            return;
+        }
+        int index = this.indexOf(itemUid);
+        if (index < 0) {
+            index = this.append(itemUid);
+        }
+        this.xp[index] += amount;
+        if (container >= 0 && slot >= 0) {
+            this.hints[index] = packHint(container, slot);
+        }
+    }
+
+    /**
+     * Remove and return an item's pending XP.
+     */
+    public double take(final long itemUid) {
+        final int index = this.indexOf(itemUid);
+        if (index < 0) {
+            return 0.0;
+        }
+        final double value = this.xp[index];
+        final int last = --this.size;
+        this.ids[index] = this.ids[last];
+        this.xp[index] = this.xp[last];
+        this.hints[index] = this.hints[last];
+        return value;
+    }
+
+    /**
+     * True if no item holds pending XP.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Number of items with pending XP.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Item ID of the entry at an index (below {@link #size()}).
+     */
+    public long uidAt(final int index) {
+        return this.ids[index];
+    }
+
+    /**
+     * Container the entry at an index was last seen in, or {@link #NO_HINT}.
+     */
+    public int containerAt(final int index) {
+        final int hint = this.hints[index];
+        return hint == NO_HINT ? NO_HINT : hint >>> SLOT_BITS;
+    }
+
+    /**
+     * Slot the entry at an index was last seen in, or {@link #NO_HINT}.
+     */
+    public int slotAt(final int index) {
+        final int hint = this.hints[index];
+        return hint == NO_HINT ? NO_HINT : hint & SLOT_MASK;
+    }
+
+    /**
+     * Index of an item's entry, or -1.
+     */
+    public int indexOf(final long itemUid) {
+        final long[] ids = this.ids;
+        for (int i = 0, n = this.size; i < n; i++) {
+            if (ids[i] == itemUid) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Snapshot of the item IDs with pending XP (taking entries while iterating reorders them).
+     */
+    public long[] uids() {
+        return Arrays.copyOf(this.ids, this.size);
+    }
+
+    private int append(final long itemUid) {
+        if (this.size == this.ids.length) {
+            final int capacity = this.size * 2;
+            this.ids = Arrays.copyOf(this.ids, capacity);
+            this.xp = Arrays.copyOf(this.xp, capacity);
+            this.hints = Arrays.copyOf(this.hints, capacity);
+        }
+        final int index = this.size++;
+        this.ids[index] = itemUid;
+        this.xp[index] = 0.0;
+        this.hints[index] = NO_HINT;
+        return index;
+    }
+
+    private static int packHint(final int container, final int slot) {
+        return (container << SLOT_BITS) | (slot & SLOT_MASK);
+    }
+}
@@ -54,15 +54,11 @@ public final class PlayerStatModifierService {
         for (short i = 0; i < capacity; i++) {
             ItemStack stack = baubleContainer.getItemStack(i);
             if (stack == null || ItemStack.isEmpty(stack) || !ItemTagUtil.hasTag(stack, "Bauble_Ring")) continue;
-            List<WeaponEffectInstance> effects = effectsService.getEffects(stack);
+            List<WeaponEffectInstance> effects = effectsService.getEffectsView(stack);
             for (WeaponEffectInstance inst : effects) {
                 if (inst != null && inst.getType() == effectType) {
-                    // Health regen is the only effect with a cap (T3); clamp level for value
-                    int level = inst.getLevel();
-                    if (effectType == WeaponEffectType.RING_HEALTH_REGEN) {
-                        level = Math.min(3, level);
-                    }
-                    total += def.calculateValue(level);
+                    // Level caps (health regen T3) are applied by the definition
+                    total += def.calculateValue(inst.getLevel());
                 }
             }
         }
@@ -86,7 +82,7 @@ public final class PlayerStatModifierService {
         for (short i = 0; i < capacity; i++) {
             ItemStack stack = armorContainer.getItemStack(i);
             if (stack == null || ItemStack.isEmpty(stack) || stack.getItem() == null || stack.getItem().getArmor() == null) continue;
-            List<WeaponEffectInstance> effects = effectsService.getEffects(stack);
+            List<WeaponEffectInstance> effects = effectsService.getEffectsView(stack);
             for (WeaponEffectInstance inst : effects) {
                 if (inst != null && inst.getType() == effectType) {
                     total += def.calculateValue(inst.getLevel());
@@ -0,0 +1,233 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectPlan;
+import com.tokebak.EchoesOfOrbis.services.effects.UpgradeOption;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectInstance;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Decoded, read-only view of an item's progression metadata (XP, pending embues,
+ * unlocked effects, effect instances, pending upgrade options).
+ *
+ * Built once per ItemStack by {@link ProgressionViewCache} so services don't decode the
+ * same metadata several times per damage event. Reads the consolidated {@link EooItemData}
+ * document (one decode), falling back to the legacy per-field keys for unmigrated items.
+ * Never mutate anything returned here; writes go through ItemExpService / WeaponEffectsService
+ * via {@link #toItemData()} and produce a new ItemStack.
+ */
+public final class ProgressionView {
+
+    /** View for items with no progression metadata. */
+    public static final ProgressionView EMPTY = new ProgressionView(new EooItemData(), false);
+
+    private final EooItemData data;
+    private final boolean legacy;
+    /** Document from a newer mod version: never written back. */
+    private final boolean readOnly;
+    private final Set<WeaponEffectType> unlockedEffects;
+    private final List<WeaponEffectInstance> effects;
+
+    /** Level computed for a specific XP curve; recomputed if the curve is rebuilt. */
+    private volatile CachedLevel cachedLevel;
+
+    /** Compiled on-damage effects; owned by WeaponEffectsService, which checks it is still valid. */
+    private volatile EffectPlan effectPlan;
+
+    private ProgressionView(@Nonnull final EooItemData data, final boolean legacy) {
+        this.data = data;
+        this.legacy = legacy;
+        this.readOnly = data.isNewerVersion();
+
+        final Set<WeaponEffectType> unlocked = EnumSet.noneOf(WeaponEffectType.class);
+        for (long mask = data.getUnlockedMask(); mask != 0L; mask &= mask - 1) {
+            final WeaponEffectType type = EooItemData.typeForOrdinal(Long.numberOfTrailingZeros(mask));
+            if (type != null) {
+                unlocked.add(type);
+            }
+        }
+        this.unlockedEffects = unlocked;
+
+        final int[] pairs = data.getEffectPairs();
+        if (pairs.length == 0) {
+            this.effects = Collections.emptyList();
+        } else {
+            final List<WeaponEffectInstance> list = new ArrayList<>(pairs.length / 2);
+            for (int i = 0; i + 1 < pairs.length; i += 2) {
+                final WeaponEffectType type = EooItemData.typeForOrdinal(pairs[i]);
+                if (type != null) {
+                    list.add(new WeaponEffectInstance(type, pairs[i + 1]));
+                }
+            }
+            this.effects = Collections.unmodifiableList(list);
+        }
+    }
+
+    /**
+     * Decode an item's progression metadata. Counts one decode per metadata key read.
+     */
+    @Nonnull
+    static ProgressionView decode(@Nonnull final ItemStack item, @Nonnull final ProgressionViewCache stats) {
+        stats.recordDecodes(1);
+        final EooItemData data = EooItemData.read(item);
+        if (data != null) {
+            return new ProgressionView(data, false);
+        }
+        // Unmigrated item: read the legacy per-field keys (migrated on join or first write)
+        stats.recordDecodes(5);
+        final EooItemData legacyData = EooItemData.readLegacy(item);
+        return legacyData != null ? new ProgressionView(legacyData, true) : EMPTY;
+    }
+
+    /**
+     * A mutable copy of the underlying document, for building the next write.
+     */
+    @Nonnull
+    public EooItemData toItemData() {
+        return this.data.copy();
+    }
+
+    /**
+     * True if this view was read from legacy per-field keys (the next write migrates them).
+     */
+    public boolean isLegacy() {
+        return this.legacy;
+    }
+
+    /**
+     * True if the item's document comes from a newer mod version and is never written back.
+     */
+    public boolean isReadOnly() {
+        return this.readOnly;
+    }
+
+    /**
+     * Write a modified document to the item this view was read from, in one metadata write
+     * (plus a one-time removal of legacy keys if the item was unmigrated). Read-only views
+     * return the item unchanged.
+     */
+    @Nonnull
+    public ItemStack write(@Nonnull final ItemStack item, @Nonnull final EooItemData updated) {
+        if (this.readOnly) {
+            return item;
+        }
+        return updated.writeTo(item, this.legacy);
+    }
+
+    /**
+     * Stable EOO item ID (0 if the item hasn't gained XP yet).
+     */
+    public long getUid() {
+        return this.data.getUid();
+    }
+
+    public double getXp() {
+        return this.data.getXp();
+    }
+
+    /**
+     * Level for this view's XP on the given curve, memoized until the curve changes.
+     */
+    public int getLevel(@Nonnull final XpCurveTable curve) {
+        final CachedLevel cached = this.cachedLevel;
+        if (cached != null && cached.curve == curve) {
+            return cached.level;
+        }
+        final double xp = this.data.getXp();
+        final int level = xp <= 0 ? 1 : curve.levelForXp(xp);
+        this.cachedLevel = new CachedLevel(curve, level);
+        return level;
+    }
+
+    /**
+     * Last effect plan compiled for this view (null until the item first deals damage).
+     */
+    @Nullable
+    public EffectPlan getEffectPlan() {
+        return this.effectPlan;
+    }
+
+    public void setEffectPlan(@Nonnull final EffectPlan plan) {
+        this.effectPlan = plan;
+    }
+
+    public int getPendingEmbues() {
+        return this.data.getPendingEmbues();
+    }
+
+    /**
+     * Unlocked effect IDs as a new mutable list.
+     */
+    @Nonnull
+    public List<String> copyUnlockedEffectIds() {
+        final List<String> ids = new ArrayList<>(this.unlockedEffects.size());
+        for (final WeaponEffectType type : this.unlockedEffects) {
+            ids.add(type.getId());
+        }
+        return ids;
+    }
+
+    public boolean isEffectUnlocked(@Nonnull final WeaponEffectType type) {
+        return this.unlockedEffects.contains(type);
+    }
+
+    /**
+     * Effect instances (read-only, only entries with a known type).
+     */
+    @Nonnull
+    public List<WeaponEffectInstance> getEffects() {
+        return this.effects;
+    }
+
+    @Nullable
+    public WeaponEffectInstance getEffect(@Nonnull final WeaponEffectType type) {
+        for (int i = 0; i < this.effects.size(); i++) {
+            final WeaponEffectInstance effect = this.effects.get(i);
+            if (effect.getType() == type) {
+                return effect;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Pending upgrade options as a new list, or null if none are stored.
+     * Level 0 = NewEffectOption, level > 0 = BoostOption with that current level.
+     */
+    @Nullable
+    public List<UpgradeOption> getPendingUpgradeOptions() {
+        final int[] packed = this.data.getPackedUpgradeOptions();
+        if (packed.length == 0) {
+            return null;
+        }
+        final List<UpgradeOption> options = new ArrayList<>(packed.length);
+        for (final int value : packed) {
+            final WeaponEffectType type = EooItemData.typeForOrdinal(EooItemData.optionOrdinal(value));
+            if (type == null) continue;
+            final int level = EooItemData.optionLevel(value);
+            if (level == 0) {
+                options.add(new UpgradeOption.NewEffectOption(type));
+            } else {
+                options.add(new UpgradeOption.BoostOption(type, level));
+            }
+        }
+        return options.isEmpty() ? null : options;
+    }
+
+    private static final class CachedLevel {
+        private final XpCurveTable curve;
+        private final int level;
+
+        private CachedLevel(@Nonnull final XpCurveTable curve, final int level) {
+            this.curve = curve;
+            this.level = level;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Bounded cache of decoded {@link ProgressionView}s keyed weakly on ItemStack identity.
+ *
+ * ItemStack is immutable (every metadata write returns a new stack), so identity is a safe key:
+ * a cached view can never go stale, it just stops being hit once the stack is replaced.
+ *
+ * Direct-mapped: each stack hashes (by identity) to one slot and a miss overwrites that slot.
+ * Keys are weak references, so the cache never keeps an ItemStack alive. Entries are immutable,
+ * so concurrent readers from different world threads see either the old or the new entry.
+ */
+public final class ProgressionViewCache {
+
+    /** Number of slots (power of two). */
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private final Entry[] entries;
+    private final int mask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder decodes = new LongAdder();
+
+    public ProgressionViewCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public ProgressionViewCache(final int capacity) {
+        final int size = Integer.highestOneBit(Math.max(16, capacity) - 1) << 1;
+        this.entries = new Entry[size];
+        this.mask = size - 1;
+    }
+
+    /**
+     * Get the decoded view for an item (EMPTY for null/empty stacks).
+     */
+    @Nonnull
+    public ProgressionView get(@Nullable final ItemStack item) {
+        if (item == null || item.isEmpty()) {
+            return ProgressionView.EMPTY;
+        }
+        final int slot = spread(System.identityHashCode(item)) & this.mask;
+        final Entry entry = this.entries[slot];
+        if (entry != null && entry.key.get() == item) {
+            this.hits.increment();
+            return entry.view;
+        }
+        this.misses.increment();
+        final ProgressionView view = ProgressionView.decode(item, this);
+        this.entries[slot] = new Entry(item, view);
+        return view;
+    }
+
+    private static int spread(final int h) {
+        return h ^ (h >>> 16);
+    }
+
+    void recordDecodes(final int count) {
+        this.decodes.add(count);
+    }
+
+    public long getHits() {
+        return this.hits.sum();
+    }
+
+    public long getMisses() {
+        return this.misses.sum();
+    }
+
+    /**
+     * Number of metadata key decodes performed (each miss decodes every progression key).
+     */
+    public long getDecodes() {
+        return this.decodes.sum();
+    }
+
+    @Nonnull
+    public String getStatsSummary() {
+        final long h = this.getHits();
+        final long m = this.getMisses();
+        final long total = h + m;
+        final double hitRate = total > 0 ? (h * 100.0 / total) : 0.0;
+        return String.format("ProgressionViewCache: hits=%d misses=%d decodes=%d hitRate=%.1f%%",
+                h, m, this.getDecodes(), hitRate);
+    }
+
+    private static final class Entry {
+        private final WeakReference<ItemStack> key;
+        private final ProgressionView view;
+
+        private Entry(@Nonnull final ItemStack key, @Nonnull final ProgressionView view) {
+            this.key = new WeakReference<>(key);
+            this.view = view;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import com.hypixel.hytale.server.core.entity.effect.EffectControllerComponent;
 import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
+import com.tokebak.EchoesOfOrbis.utils.EooAssetIndex;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -17,19 +18,6 @@ import javax.annotation.Nullable;
  */
 public final class RingHealthRegenEffectApplier {
 
-    private static final String[] EOO_HEALING_EFFECT_TIER_IDS = {
-            "EOO_Healing_Effect_T1",
-            "EOO_Healing_Effect_T2",
-            "EOO_Healing_Effect_T3",
-    };
-
-    /** Fallback: single effect that worked before tiered rename (Server/.../EOO_Healing_Effect.json). */
-    private static final String EOO_HEALING_EFFECT_ID = "EOO_Healing_Effect";
-
-    private static final EntityEffect[] cachedTierEffects = new EntityEffect[3];
-    private static EntityEffect cachedSingleEffect;
-    private static boolean singleEffectLookupAttempted;
-
     private RingHealthRegenEffectApplier() {}
 
     /**
@@ -42,7 +30,18 @@ public final class RingHealthRegenEffectApplier {
             @Nonnull final WeaponEffectsService effectsService
     ) {
         if (bauble == null) return;
-        double bonus = PlayerStatModifierService.getHealthRegenBonusFromRings(bauble, effectsService);
+        applyForBonus(ref, store, PlayerStatModifierService.getHealthRegenBonusFromRings(bauble, effectsService));
+    }
+
+    /**
+     * Same as {@link #applyIfHasRing} for an already summed ring regen bonus (e.g. from an
+     * {@link EquipmentStatSnapshot}).
+     */
+    public static void applyForBonus(
+            @Nonnull final Ref<EntityStore> ref,
+            @Nonnull final Store<EntityStore> store,
+            final double bonus
+    ) {
         if (bonus <= 0) return;
 
         int tierIndex = tierFromBonus(bonus);
@@ -69,27 +68,11 @@ public final class RingHealthRegenEffectApplier {
     }
 
     /**
-     * Get the EntityEffect for tier (0=T1, 1=T2, 2=T3). Tries several ID variants; cached per tier.
+     * Get the EntityEffect for tier (0=T1, 1=T2, 2=T3), as resolved by {@link EooAssetIndex}.
      */
     @Nullable
     public static EntityEffect getEffectForTier(final int tierIndex) {
-        if (tierIndex < 0 || tierIndex > 2) return null;
-        EntityEffect cached = cachedTierEffects[tierIndex];
-        if (cached != null) return cached;
-        String baseId = EOO_HEALING_EFFECT_TIER_IDS[tierIndex];
-        for (String variant : new String[] {
-                baseId,
-                "Deployables/" + baseId,
-                "Entity/Effects/Deployables/" + baseId,
-        }) {
-            int index = EntityEffect.getAssetMap().getIndex(variant);
-            if (index != Integer.MIN_VALUE) {
-                cached = EntityEffect.getAssetMap().getAsset(index);
-                cachedTierEffects[tierIndex] = cached;
-                return cached;
-            }
-        }
-        return null;
+        return EooAssetIndex.get().healingTier(tierIndex);
     }
 
     /**
@@ -97,16 +80,6 @@ public final class RingHealthRegenEffectApplier {
      */
     @Nullable
     public static EntityEffect getEooHealingEffectFallback() {
-        if (cachedSingleEffect != null) return cachedSingleEffect;
-        if (singleEffectLookupAttempted) return null;
-        singleEffectLookupAttempted = true;
-        for (String variant : new String[] { EOO_HEALING_EFFECT_ID, "Deployables/" + EOO_HEALING_EFFECT_ID }) {
-            int index = EntityEffect.getAssetMap().getIndex(variant);
-            if (index != Integer.MIN_VALUE) {
-                cachedSingleEffect = EntityEffect.getAssetMap().getAsset(index);
-                return cachedSingleEffect;
-            }
-        }
-        return null;
+        return EooAssetIndex.get().healingFallback;
     }
 }
@@ -0,0 +1,130 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import com.tokebak.EchoesOfOrbis.config.XpCurveConfig;
+import com.tokebak.EchoesOfOrbis.utils.EooLogger;
+import java.util.Locale;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Total XP required to reach a level (level 1 = 0 XP). Only evaluated when an
+ * {@link XpCurveTable} is compiled, and for levels past the end of that table.
+ */
+@FunctionalInterface
+public interface XpCurve {
+
+    double xpForLevel(int level);
+
+    /**
+     * levelBaseXP * (level - 1)^levelScaling.
+     */
+    @Nonnull
+    static XpCurve power(final double levelBaseXp, final double levelScaling) {
+        return level -> level <= 1 ? 0.0 : levelBaseXp * Math.pow(level - 1, levelScaling);
+    }
+
+    /**
+     * sum of coefficients[i] * (level - 1)^i, shifted so level 1 is 0 XP.
+     */
+    @Nonnull
+    static XpCurve polynomial(@Nonnull final double[] coefficients) {
+        final double[] c = coefficients.clone();
+        return level -> {
+            if (level <= 1) {
+                return 0.0;
+            }
+            final double n = level - 1;
+            double sum = 0.0;
+            for (int i = c.length - 1; i >= 1; i--) {
+                sum = (sum + c[i]) * n;
+            }
+            return sum;
+        };
+    }
+
+    /**
+     * Level N-1 to N costs levelBaseXp * growth^(N-2); total is the geometric sum.
+     */
+    @Nonnull
+    static XpCurve exponential(final double levelBaseXp, final double growth) {
+        if (growth == 1.0) {
+            return level -> level <= 1 ? 0.0 : levelBaseXp * (level - 1);
+        }
+        return level -> level <= 1 ? 0.0 : levelBaseXp * (Math.pow(growth, level - 1) - 1.0) / (growth - 1.0);
+    }
+
+    /**
+     * thresholds[i] is the total XP for level i + 2. Past the table the last gap repeats.
+     */
+    @Nonnull
+    static XpCurve piecewise(@Nonnull final double[] thresholds) {
+        final double[] t = thresholds.clone();
+        final double lastGap = t.length >= 2 ? t[t.length - 1] - t[t.length - 2] : (t.length == 1 ? t[0] : 0.0);
+        return level -> {
+            if (level <= 1) {
+                return 0.0;
+            }
+            final int index = level - 2;
+            if (index < t.length) {
+                return t[index];
+            }
+            final double last = t.length > 0 ? t[t.length - 1] : 0.0;
+            return last + lastGap * (index - t.length + 1);
+        };
+    }
+
+    /**
+     * Build a curve from category settings. Missing parameters use the global base XP and scaling;
+     * a null or invalid config gives the global power curve.
+     */
+    @Nonnull
+    static XpCurve fromConfig(
+            @Nullable final XpCurveConfig config,
+            final double defaultBaseXp,
+            final double defaultScaling
+    ) {
+        if (config == null) {
+            return power(defaultBaseXp, defaultScaling);
+        }
+        final double baseXp = config.getBaseXP() != null ? config.getBaseXP() : defaultBaseXp;
+        final String type = config.getType() != null ? config.getType().toLowerCase(Locale.ROOT) : "power";
+        switch (type) {
+            case "polynomial" -> {
+                final double[] coefficients = toPrimitive(config.getCoefficients());
+                if (coefficients.length >= 2) {
+                    return polynomial(coefficients);
+                }
+            }
+            case "exponential" -> {
+                final double growth = config.getGrowth() != null ? config.getGrowth() : 1.5;
+                if (growth > 0) {
+                    return exponential(baseXp, growth);
+                }
+            }
+            case "piecewise" -> {
+                final double[] thresholds = toPrimitive(config.getThresholds());
+                if (thresholds.length > 0) {
+                    return piecewise(thresholds);
+                }
+            }
+            case "power" -> {
+                return power(baseXp, config.getExponent() != null ? config.getExponent() : defaultScaling);
+            }
+            default -> { }
+        }
+        EooLogger.warn("Invalid XP curve %s, using the default power curve", config);
+        return power(defaultBaseXp, defaultScaling);
+    }
+
+    @Nonnull
+    private static double[] toPrimitive(@Nullable final Double[] values) {
+        if (values == null) {
+            return new double[0];
+        }
+        final double[] out = new double[values.length];
+        for (int i = 0; i < values.length; i++) {
+            out[i] = values[i] != null ? values[i] : 0.0;
+        }
+        return out;
+    }
+}
@@ -0,0 +1,68 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import com.tokebak.EchoesOfOrbis.config.EchoesOfOrbisConfig;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponCategory;
+import javax.annotation.Nonnull;
+
+/**
+ * Immutable snapshot of the compiled XP curves: one {@link XpCurveTable} per item category
+ * (weapons, tools, armor, rings).
+ *
+ * Built from {@link EchoesOfOrbisConfig} and published through a single volatile field in
+ * {@link ItemExpService}; a config reload compiles a new set and swaps the reference, so readers
+ * never see a half-built table and never touch the config on the hot path.
+ */
+public final class XpCurveSet {
+
+    private final XpCurveTable weapons;
+    private final XpCurveTable tools;
+    private final XpCurveTable armor;
+    private final XpCurveTable rings;
+
+    private XpCurveSet(
+            @Nonnull final XpCurveTable weapons,
+            @Nonnull final XpCurveTable tools,
+            @Nonnull final XpCurveTable armor,
+            @Nonnull final XpCurveTable rings
+    ) {
+        this.weapons = weapons;
+        this.tools = tools;
+        this.armor = armor;
+        this.rings = rings;
+    }
+
+    /**
+     * Compile every category's curve from the config.
+     *
+     * @param maxLevel Highest reachable level (the config cap, or the no-cap bound)
+     */
+    @Nonnull
+    public static XpCurveSet compile(@Nonnull final EchoesOfOrbisConfig config, final int maxLevel) {
+        final double baseXp = config.getLevelBaseXP();
+        final double scaling = config.getLevelScaling();
+        return new XpCurveSet(
+                XpCurveTable.compile(XpCurve.fromConfig(config.getWeaponXpCurve(), baseXp, scaling), maxLevel),
+                XpCurveTable.compile(XpCurve.fromConfig(config.getToolXpCurve(), baseXp, scaling), maxLevel),
+                XpCurveTable.compile(XpCurve.fromConfig(config.getArmorXpCurve(), baseXp, scaling), maxLevel),
+                XpCurveTable.compile(XpCurve.fromConfig(config.getRingXpCurve(), baseXp, scaling), maxLevel)
+        );
+    }
+
+    /**
+     * Table for an item category; every weapon category shares the weapon curve.
+     */
+    @Nonnull
+    public XpCurveTable forCategory(@Nonnull final WeaponCategory category) {
+        return switch (category) {
+            case TOOL -> this.tools;
+            case ARMOR -> this.armor;
+            case RING -> this.rings;
+            default -> this.weapons;
+        };
+    }
+
+    @Nonnull
+    public XpCurveTable getWeapons() {
+        return this.weapons;
+    }
+}
@@ -0,0 +1,152 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Precomputed XP curve: cumulative XP thresholds per level plus a bucket index for O(1) level lookup.
+ *
+ * thresholds[level] is the total XP required to reach that level (thresholds[1] = 0).
+ * Level lookup maps the XP value to a bucket using the bits of the double (exponent plus the
+ * top mantissa bits, a piecewise-linear log2), reads the bucket's starting level, and then steps
+ * forward over at most a few thresholds. No Math.pow on the lookup path.
+ *
+ * Instances are immutable; compile a new table (see {@link XpCurveSet}) when the curve config changes.
+ */
+public final class XpCurveTable {
+
+    /** Mantissa bits kept in the bucket key (256 buckets per power of two). */
+    private static final int BUCKET_MANTISSA_BITS = 8;
+    private static final int BUCKET_SHIFT = 52 - BUCKET_MANTISSA_BITS;
+
+    /** Thresholds above this are treated as unreachable. */
+    public static final double MAX_THRESHOLD_XP = 1e15;
+
+    /** Cumulative XP per level, indices 0..maxLevel + 1 (index 0 unused). */
+    private final double[] thresholds;
+    private final int maxLevel;
+
+    /** Bucket key of thresholds[2]; XP below that is level 1. */
+    private final long minBucketKey;
+    /** Lowest level whose threshold is <= the smallest XP value in each bucket. */
+    private final int[] bucketStartLevel;
+
+    /** Source curve, only evaluated for levels past the end of the table. */
+    private final XpCurve curve;
+
+    private XpCurveTable(
+            @Nonnull final double[] thresholds,
+            final int maxLevel,
+            @Nonnull final XpCurve curve
+    ) {
+        this.thresholds = thresholds;
+        this.maxLevel = maxLevel;
+        this.curve = curve;
+
+        final double firstThreshold = maxLevel >= 2 ? thresholds[2] : Double.MAX_VALUE;
+        final double lastThreshold = thresholds[maxLevel];
+        if (maxLevel < 2 || !(firstThreshold > 0) || Double.isInfinite(lastThreshold)) {
+            this.minBucketKey = Long.MAX_VALUE;
+            this.bucketStartLevel = new int[0];
+            return;
+        }
+        this.minBucketKey = bucketKey(firstThreshold);
+        final int bucketCount = (int) (bucketKey(lastThreshold) - this.minBucketKey) + 1;
+        this.bucketStartLevel = new int[bucketCount];
+
+        // Merge walk: bucket lower bounds and thresholds both increase monotonically
+        int level = 1;
+        for (int b = 0; b < bucketCount; b++) {
+            final double bucketLow = Double.longBitsToDouble((this.minBucketKey + b) << BUCKET_SHIFT);
+            while (level < maxLevel && thresholds[level + 1] <= bucketLow) {
+                level++;
+            }
+            this.bucketStartLevel[b] = level;
+        }
+    }
+
+    /**
+     * Build the table for the power curve levelBaseXP * (level - 1)^levelScaling.
+     *
+     * @param maxLevel Highest reachable level (the config cap, or the no-cap bound)
+     */
+    @Nonnull
+    public static XpCurveTable forPowerCurve(final double levelBaseXp, final double levelScaling, final int maxLevel) {
+        return compile(XpCurve.power(levelBaseXp, levelScaling), maxLevel);
+    }
+
+    /**
+     * Evaluate a curve once per level into a threshold table.
+     * Thresholds are forced non-decreasing, and a curve that runs past {@link #MAX_THRESHOLD_XP}
+     * (e.g. a steep exponential) caps the reachable level there, which also bounds the bucket index.
+     *
+     * @param maxLevel Highest reachable level (the config cap, or the no-cap bound)
+     */
+    @Nonnull
+    public static XpCurveTable compile(@Nonnull final XpCurve curve, final int maxLevel) {
+        int cap = Math.max(1, maxLevel);
+        final double[] thresholds = new double[cap + 2];
+        for (int level = 2; level <= cap + 1; level++) {
+            final double xp = curve.xpForLevel(level);
+            if (!(xp <= MAX_THRESHOLD_XP)) {
+                cap = level - 1;
+                final double[] truncated = new double[cap + 2];
+                System.arraycopy(thresholds, 0, truncated, 0, cap + 1);
+                truncated[cap + 1] = Double.POSITIVE_INFINITY;
+                return new XpCurveTable(truncated, cap, curve);
+            }
+            thresholds[level] = Math.max(xp, thresholds[level - 1]);
+        }
+        return new XpCurveTable(thresholds, cap, curve);
+    }
+
+    private static long bucketKey(final double xp) {
+        // For positive doubles the raw bits are monotonic in the value
+        return Double.doubleToRawLongBits(xp) >>> BUCKET_SHIFT;
+    }
+
+    /**
+     * Level for a total XP amount (1..maxLevel).
+     */
+    public int levelForXp(final double totalXp) {
+        if (this.bucketStartLevel.length == 0) {
+            return this.levelForXpLinear(totalXp);
+        }
+        if (!(totalXp >= this.thresholds[2])) {
+            return 1;
+        }
+        if (totalXp >= this.thresholds[this.maxLevel]) {
+            return this.maxLevel;
+        }
+        final int bucket = (int) (bucketKey(totalXp) - this.minBucketKey);
+        int level = this.bucketStartLevel[bucket];
+        while (level < this.maxLevel && this.thresholds[level + 1] <= totalXp) {
+            level++;
+        }
+        return level;
+    }
+
+    private int levelForXpLinear(final double totalXp) {
+        int level = 1;
+        while (level < this.maxLevel && this.thresholds[level + 1] <= totalXp) {
+            level++;
+        }
+        return level;
+    }
+
+    /**
+     * Total XP required to reach a level. Levels past maxLevel + 1 fall back to the curve.
+     */
+    public double getXpForLevel(final int level) {
+        if (level <= 1) {
+            return 0.0;
+        }
+        if (level < this.thresholds.length) {
+            return this.thresholds[level];
+        }
+        return this.curve.xpForLevel(level);
+    }
+
+    public int getMaxLevel() {
+        return this.maxLevel;
+    }
+}
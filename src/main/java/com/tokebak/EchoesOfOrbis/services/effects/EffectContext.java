@@ -7,6 +7,7 @@ import com.hypixel.hytale.server.core.inventory.ItemStack;
 import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.tokebak.EchoesOfOrbis.services.CooldownService;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -23,6 +24,17 @@ public class EffectContext {
      * The original damage event that triggered this effect processing.
      */
     private final Damage originalDamage;
+
+    /**
+     * Damage amount when effect processing started (before any bonus is folded in).
+     */
+    private final float originalDamageAmount;
+
+    /**
+     * Bonus damage collected from effects (DAMAGE_PERCENT, crits, ...), folded into the
+     * original event with a single setAmount once all effects have run.
+     */
+    private float bonusDamage;
     
     /**
      * Reference to the entity being damaged (the target).
@@ -64,9 +76,20 @@ public class EffectContext {
      * Command buffer for invoking events and modifying components.
      */
     private final CommandBuffer<EntityStore> commandBuffer;
+
+    /**
+     * Shared per-entity effect cooldowns.
+     */
+    private final CooldownService cooldowns;
+
+    /**
+     * True if the hit came from a projectile spawned by MULTISHOT.
+     */
+    private final boolean multishotArrow;
     
     private EffectContext(final Builder builder) {
         this.originalDamage = builder.originalDamage;
+        this.originalDamageAmount = builder.originalDamage != null ? builder.originalDamage.getAmount() : 0f;
         this.targetRef = builder.targetRef;
         this.attackerRef = builder.attackerRef;
         this.attackerPlayerRef = builder.attackerPlayerRef;
@@ -75,6 +98,33 @@ public class EffectContext {
         this.weaponCategory = builder.weaponCategory;
         this.store = builder.store;
         this.commandBuffer = builder.commandBuffer;
+        this.cooldowns = builder.cooldowns;
+        this.multishotArrow = builder.multishotArrow;
+    }
+
+    private EffectContext(@Nonnull final EffectContext source, @Nonnull final CommandBuffer<EntityStore> commandBuffer) {
+        this.originalDamage = source.originalDamage;
+        this.originalDamageAmount = source.originalDamageAmount;
+        this.bonusDamage = source.bonusDamage;
+        this.targetRef = source.targetRef;
+        this.attackerRef = source.attackerRef;
+        this.attackerPlayerRef = source.attackerPlayerRef;
+        this.weapon = source.weapon;
+        this.weaponLevel = source.weaponLevel;
+        this.weaponCategory = source.weaponCategory;
+        this.store = source.store;
+        this.commandBuffer = commandBuffer;
+        this.cooldowns = source.cooldowns;
+        this.multishotArrow = source.multishotArrow;
+    }
+
+    /**
+     * Same hit, with another system's command buffer. Used to carry a context from the
+     * {@link EffectPhase#PRE_APPLY} system into the {@link EffectPhase#POST_APPLY} one.
+     */
+    @Nonnull
+    public EffectContext withCommandBuffer(@Nonnull final CommandBuffer<EntityStore> commandBuffer) {
+        return new EffectContext(this, commandBuffer);
     }
     
     // Getters
@@ -88,7 +138,23 @@ public class EffectContext {
      * Get the original damage amount before any modifications.
      */
     public float getOriginalDamageAmount() {
-        return this.originalDamage.getAmount();
+        return this.originalDamageAmount;
+    }
+
+    /**
+     * Add bonus damage to the hit. Applied in place to the original event after all effects ran.
+     */
+    public void addBonusDamage(final float amount) {
+        if (amount > 0) {
+            this.bonusDamage += amount;
+        }
+    }
+
+    /**
+     * Total bonus damage added by effects so far.
+     */
+    public float getBonusDamage() {
+        return this.bonusDamage;
     }
     
     @Nonnull
@@ -129,6 +195,15 @@ public class EffectContext {
     public CommandBuffer<EntityStore> getCommandBuffer() {
         return this.commandBuffer;
     }
+
+    @Nonnull
+    public CooldownService getCooldowns() {
+        return this.cooldowns;
+    }
+
+    public boolean isMultishotArrow() {
+        return this.multishotArrow;
+    }
     
     /**
      * Create a new builder.
@@ -150,6 +225,8 @@ public class EffectContext {
         private WeaponCategory weaponCategory = WeaponCategory.PHYSICAL; // Default
         private Store<EntityStore> store;
         private CommandBuffer<EntityStore> commandBuffer;
+        private CooldownService cooldowns;
+        private boolean multishotArrow;
         
         public Builder originalDamage(final Damage damage) {
             this.originalDamage = damage;
@@ -196,6 +273,16 @@ public class EffectContext {
             return this;
         }
         
+        public Builder cooldowns(final CooldownService cooldowns) {
+            this.cooldowns = cooldowns;
+            return this;
+        }
+        
+        public Builder multishotArrow(final boolean multishotArrow) {
+            this.multishotArrow = multishotArrow;
+            return this;
+        }
+        
         public EffectContext build() {
             // Auto-detect category if not explicitly set and we have damage/weapon info
             if (this.weaponCategory == WeaponCategory.PHYSICAL && 
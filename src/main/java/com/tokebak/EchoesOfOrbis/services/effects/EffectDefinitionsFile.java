@@ -0,0 +1,244 @@
+package com.tokebak.EchoesOfOrbis.services.effects;
+
+import com.hypixel.hytale.codec.Codec;
+import com.hypixel.hytale.codec.EmptyExtraInfo;
+import com.hypixel.hytale.codec.KeyedCodec;
+import com.hypixel.hytale.codec.builder.BuilderCodec;
+import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
+import com.tokebak.EchoesOfOrbis.utils.EooLogger;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.bson.BsonDocument;
+
+/**
+ * Effect tuning loaded from Server/EchoesOfOrbis/EffectDefinitions.json.
+ *
+ * The bundled file is copied into the plugin data directory on first start; that copy is the one
+ * read (and watched for edits). Every field of an entry is optional: unset fields keep the
+ * EffectModule's value, so the file only overrides numbers and display, never adds effect types.
+ *
+ * Version is the file format version. A file with a newer version than this build understands
+ * is rejected and the bundled file is used instead.
+ */
+public final class EffectDefinitionsFile {
+
+    /** Newest file format this build can read. */
+    public static final int VERSION = 1;
+
+    public static final String RESOURCE_PATH = "Server/EchoesOfOrbis/EffectDefinitions.json";
+    public static final String FILE_NAME = "EffectDefinitions.json";
+
+    public static final BuilderCodec<EffectDefinitionsFile> CODEC;
+
+    private int version = VERSION;
+    private Entry[] effects = new Entry[0];
+
+    public int getVersion() {
+        return this.version;
+    }
+
+    @Nonnull
+    public Entry[] getEffects() {
+        return this.effects != null ? this.effects : new Entry[0];
+    }
+
+    // ==================== Loading ====================
+
+    /**
+     * Path of the editable copy in the plugin data directory.
+     */
+    @Nonnull
+    public static Path pathIn(@Nonnull final Path dataDirectory) {
+        return dataDirectory.resolve(FILE_NAME);
+    }
+
+    /**
+     * Load the data directory copy (copying the bundled file there first if it is missing).
+     * Falls back to the bundled file if the copy can't be read; null if neither can.
+     */
+    @Nullable
+    public static EffectDefinitionsFile load(@Nonnull final Path dataDirectory) {
+        final Path file = pathIn(dataDirectory);
+        if (!Files.exists(file)) {
+            copyBundled(file);
+        }
+        if (Files.isRegularFile(file)) {
+            try {
+                final EffectDefinitionsFile loaded = parse(Files.readString(file, StandardCharsets.UTF_8));
+                if (loaded != null) {
+                    return loaded;
+                }
+            } catch (final IOException e) {
+                EooLogger.warn("Could not read %s: %s", file, e.getMessage());
+            }
+        }
+        return loadBundled();
+    }
+
+    /**
+     * Load the file shipped in the plugin jar.
+     */
+    @Nullable
+    public static EffectDefinitionsFile loadBundled() {
+        try (InputStream in = EffectDefinitionsFile.class.getClassLoader().getResourceAsStream(RESOURCE_PATH)) {
+            if (in == null) {
+                EooLogger.warn("Bundled %s is missing; using built-in effect values", RESOURCE_PATH);
+                return null;
+            }
+            return parse(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (final IOException e) {
+            EooLogger.warn("Could not read bundled %s: %s", RESOURCE_PATH, e.getMessage());
+            return null;
+        }
+    }
+
+    @Nullable
+    private static EffectDefinitionsFile parse(@Nonnull final String json) {
+        final EffectDefinitionsFile loaded;
+        try {
+            loaded = CODEC.decode(BsonDocument.parse(json), EmptyExtraInfo.EMPTY);
+        } catch (final Exception e) {
+            EooLogger.warn("Invalid effect definitions file: %s", e.getMessage());
+            return null;
+        }
+        if (loaded == null) {
+            return null;
+        }
+        if (loaded.version > VERSION) {
+            EooLogger.warn("Effect definitions file version %d is newer than supported (%d), ignoring it",
+                    loaded.version, VERSION);
+            return null;
+        }
+        return loaded;
+    }
+
+    private static void copyBundled(@Nonnull final Path target) {
+        try (InputStream in = EffectDefinitionsFile.class.getClassLoader().getResourceAsStream(RESOURCE_PATH)) {
+            if (in == null) {
+                return;
+            }
+            Files.createDirectories(target.getParent());
+            Files.copy(in, target);
+        } catch (final IOException e) {
+            EooLogger.warn("Could not copy %s to %s: %s", RESOURCE_PATH, target, e.getMessage());
+        }
+    }
+
+    // ==================== Entry ====================
+
+    /**
+     * Overrides for one effect type, keyed by its id (e.g. "fire_on_hit").
+     */
+    public static final class Entry {
+        public static final BuilderCodec<Entry> CODEC;
+
+        private String id;
+        private Double baseValue;
+        private Double valuePerLevel;
+        private Integer maxLevel;
+        private Double maxValue;
+        private Double procChance;
+        private Double duration;
+        private String description;
+        private String displayFormat;
+
+        @Nullable
+        public String getId() {
+            return this.id;
+        }
+
+        /**
+         * The module's definition with this entry's fields applied on top.
+         */
+        @Nonnull
+        public WeaponEffectDefinition applyTo(@Nonnull final WeaponEffectDefinition base) {
+            final WeaponEffectDefinition.Builder builder = base.toBuilder();
+            if (this.baseValue != null) builder.baseValue(this.baseValue);
+            if (this.valuePerLevel != null) builder.valuePerLevel(this.valuePerLevel);
+            if (this.maxLevel != null) builder.maxLevel(this.maxLevel);
+            if (this.maxValue != null) builder.maxValue(this.maxValue);
+            if (this.procChance != null) builder.procChance(this.procChance);
+            if (this.duration != null) builder.duration(this.duration);
+            if (this.description != null) builder.description(this.description);
+            if (this.displayFormat != null) {
+                try {
+                    builder.valueDisplayFormat(ValueDisplayFormat.valueOf(this.displayFormat));
+                } catch (final IllegalArgumentException e) {
+                    EooLogger.warn("Unknown DisplayFormat '%s' for effect %s", this.displayFormat, this.id);
+                }
+            }
+            return builder.build();
+        }
+
+        static {
+            CODEC = BuilderCodec.builder(Entry.class, (Supplier<Entry>) Entry::new)
+                    .append(
+                            new KeyedCodec<>("Id", Codec.STRING),
+                            (e, val) -> e.id = val,
+                            e -> e.id
+                    ).add()
+                    .append(
+                            new KeyedCodec<>("BaseValue", Codec.DOUBLE),
+                            (e, val) -> e.baseValue = val,
+                            e -> e.baseValue
+                    ).add()
+                    .append(
+                            new KeyedCodec<>("ValuePerLevel", Codec.DOUBLE),
+                            (e, val) -> e.valuePerLevel = val,
+                            e -> e.valuePerLevel
+                    ).add()
+                    .append(
+                            new KeyedCodec<>("MaxLevel", Codec.INTEGER),
+                            (e, val) -> e.maxLevel = val,
+                            e -> e.maxLevel
+                    ).add()
+                    .append(
+                            new KeyedCodec<>("MaxValue", Codec.DOUBLE),
+                            (e, val) -> e.maxValue = val,
+                            e -> e.maxValue
+                    ).add()
+                    .append(
+                            new KeyedCodec<>("ProcChance", Codec.DOUBLE),
+                            (e, val) -> e.procChance = val,
+                            e -> e.procChance
+                    ).add()
+                    .append(
+                            new KeyedCodec<>("Duration", Codec.DOUBLE),
+                            (e, val) -> e.duration = val,
+                            e -> e.duration
+                    ).add()
+                    .append(
+                            new KeyedCodec<>("Description", Codec.STRING),
+                            (e, val) -> e.description = val,
+                            e -> e.description
+                    ).add()
+                    .append(
+                            new KeyedCodec<>("DisplayFormat", Codec.STRING),
+                            (e, val) -> e.displayFormat = val,
+                            e -> e.displayFormat
+                    ).add()
+                    .build();
+        }
+    }
+
+    static {
+        CODEC = BuilderCodec.builder(EffectDefinitionsFile.class, (Supplier<EffectDefinitionsFile>) EffectDefinitionsFile::new)
+                .append(
+                        new KeyedCodec<>("Version", Codec.INTEGER),
+                        (f, val) -> f.version = val,
+                        f -> f.version
+                ).add()
+                .append(
+                        new KeyedCodec<>("Effects", new ArrayCodec<>(Entry.CODEC, Entry[]::new)),
+                        (f, val) -> f.effects = val,
+                        f -> f.effects
+                ).add()
+                .build();
+    }
+}
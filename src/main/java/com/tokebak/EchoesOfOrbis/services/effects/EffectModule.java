@@ -29,6 +29,21 @@ public interface EffectModule {
     @Nonnull
     EffectProcessor getProcessor();
 
+    /**
+     * When the processor runs relative to the damage pipeline. Default: after the hit landed.
+     */
+    @Nonnull
+    default EffectPhase getPhase() {
+        return EffectPhase.POST_APPLY;
+    }
+
+    /**
+     * Order within the phase; lower runs first, ties run in effect type order. Default 0.
+     */
+    default int getPriority() {
+        return 0;
+    }
+
     /**
      * Short description for UI (e.g. "Bonus damage as percentage of hit").
      */
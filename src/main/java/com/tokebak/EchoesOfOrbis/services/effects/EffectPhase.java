@@ -0,0 +1,35 @@
+package com.tokebak.EchoesOfOrbis.services.effects;
+
+/**
+ * When an effect runs relative to the damage pipeline. Declared by each {@link EffectModule};
+ * effects of one phase run in ascending {@link EffectModule#getPriority()} order.
+ */
+public enum EffectPhase {
+
+    /**
+     * Modifies the hit before it lands (bonus damage, durability save).
+     * Runs in ItemExpDamageSystem, after the Filter group and before ApplyDamage.
+     */
+    PRE_APPLY,
+
+    /**
+     * Reacts to a hit that landed (status procs, life leech, multishot).
+     * Runs in WeaponEffectProcSystem after ApplyDamage, skipped if the hit was cancelled.
+     */
+    POST_APPLY,
+
+    /**
+     * Not run by the damage pipeline at all: ring, armor and tool effects that their own systems
+     * read (stat modifiers, regen, thorns, tool rolls). Never compiled into a damage plan.
+     */
+    PASSIVE;
+
+    private static final EffectPhase[] VALUES = values();
+
+    /**
+     * Cached values() (avoids an array copy per call).
+     */
+    public static EffectPhase[] all() {
+        return VALUES;
+    }
+}
@@ -0,0 +1,171 @@
+package com.tokebak.EchoesOfOrbis.services.effects;
+
+import com.tokebak.EchoesOfOrbis.services.effects.processors.EffectProcessor;
+import com.tokebak.EchoesOfOrbis.utils.EooLogger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/**
+ * Compiled on-damage effects for one effect configuration and weapon category.
+ *
+ * Category filtering, processor/definition lookups, phase ordering and value calculation happen
+ * once at compile time; applying a phase is a flat walk over a slice of parallel arrays with no
+ * allocation. Effects are laid out phase by phase ({@link EffectPhase#PRE_APPLY}, then
+ * {@link EffectPhase#POST_APPLY}) in the registry's priority order, not the order they are stored
+ * on the item; {@link EffectPhase#PASSIVE} effects are left out.
+ * Plans are immutable and memoized on the item's {@link com.tokebak.EchoesOfOrbis.services.ProgressionView},
+ * so each distinct ItemStack compiles at most once per category (see
+ * {@link WeaponEffectsService#getEffectPlan}).
+ */
+public final class EffectPlan {
+
+    private static final int TYPE_COUNT = WeaponEffectType.values().length;
+    private static final int PHASE_COUNT = EffectPhase.all().length;
+
+    private final WeaponCategory category;
+    private final int registryVersion;
+
+    private final EffectProcessor[] processors;
+    private final WeaponEffectInstance[] instances;
+    private final WeaponEffectDefinition[] definitions;
+    private final double[] values;
+    /** Phase p occupies [phaseStart[p], phaseStart[p + 1]) of the arrays above. */
+    private final int[] phaseStart;
+
+    private EffectPlan(
+            @Nonnull final WeaponCategory category,
+            final int registryVersion,
+            @Nonnull final EffectProcessor[] processors,
+            @Nonnull final WeaponEffectInstance[] instances,
+            @Nonnull final WeaponEffectDefinition[] definitions,
+            @Nonnull final double[] values,
+            @Nonnull final int[] phaseStart
+    ) {
+        this.category = category;
+        this.registryVersion = registryVersion;
+        this.processors = processors;
+        this.instances = instances;
+        this.definitions = definitions;
+        this.values = values;
+        this.phaseStart = phaseStart;
+    }
+
+    /**
+     * Compile a weapon's effects for a category, skipping effects that don't apply to it
+     * or have no registered processor/definition.
+     *
+     * @param phaseOrder registered effect types per phase (indexed by phase ordinal), in run order
+     * @param definitions effective definitions indexed by effect type ordinal
+     */
+    @Nonnull
+    static EffectPlan compile(
+            @Nonnull final List<WeaponEffectInstance> effects,
+            @Nonnull final WeaponCategory category,
+            @Nonnull final WeaponEffectType[][] phaseOrder,
+            @Nonnull final Map<WeaponEffectType, EffectProcessor> processors,
+            @Nonnull final WeaponEffectDefinition[] definitions,
+            final int registryVersion
+    ) {
+        // Index the item's effects by type so each phase can be walked in registry order
+        final WeaponEffectInstance[] byType = new WeaponEffectInstance[TYPE_COUNT];
+        int candidates = 0;
+        for (int i = 0; i < effects.size(); i++) {
+            final WeaponEffectInstance effect = effects.get(i);
+            final WeaponEffectType type = effect.getType();
+            if (type == null || !type.appliesTo(category) || byType[type.ordinal()] != null) {
+                continue;
+            }
+            if (processors.get(type) == null || definitions[type.ordinal()] == null) {
+                EooLogger.warn("No processor/definition for %s", type);
+                continue;
+            }
+            byType[type.ordinal()] = effect;
+            candidates++;
+        }
+
+        final EffectProcessor[] planProcessors = new EffectProcessor[candidates];
+        final WeaponEffectInstance[] planInstances = new WeaponEffectInstance[candidates];
+        final WeaponEffectDefinition[] planDefinitions = new WeaponEffectDefinition[candidates];
+        final double[] planValues = new double[candidates];
+        final int[] phaseStart = new int[PHASE_COUNT + 1];
+        int size = 0;
+
+        for (final EffectPhase phase : EffectPhase.all()) {
+            phaseStart[phase.ordinal()] = size;
+            if (phase == EffectPhase.PASSIVE) {
+                continue;
+            }
+            for (final WeaponEffectType type : phaseOrder[phase.ordinal()]) {
+                final WeaponEffectInstance effect = byType[type.ordinal()];
+                if (effect == null) {
+                    continue;
+                }
+                final WeaponEffectDefinition definition = definitions[type.ordinal()];
+                planProcessors[size] = processors.get(type);
+                planInstances[size] = effect;
+                planDefinitions[size] = definition;
+                planValues[size] = definition.calculateValue(effect.getLevel());
+                size++;
+            }
+        }
+        phaseStart[PHASE_COUNT] = size;
+
+        if (size < candidates) {
+            return new EffectPlan(
+                    category,
+                    registryVersion,
+                    Arrays.copyOf(planProcessors, size),
+                    Arrays.copyOf(planInstances, size),
+                    Arrays.copyOf(planDefinitions, size),
+                    Arrays.copyOf(planValues, size),
+                    phaseStart
+            );
+        }
+        return new EffectPlan(category, registryVersion, planProcessors, planInstances, planDefinitions, planValues, phaseStart);
+    }
+
+    /**
+     * True if this plan was compiled for the category against the current registry.
+     */
+    boolean isValidFor(@Nonnull final WeaponCategory category, final int registryVersion) {
+        return this.category == category && this.registryVersion == registryVersion;
+    }
+
+    public int size() {
+        return this.processors.length;
+    }
+
+    /**
+     * True if the plan has at least one effect in the phase.
+     */
+    public boolean has(@Nonnull final EffectPhase phase) {
+        return this.phaseStart[phase.ordinal() + 1] > this.phaseStart[phase.ordinal()];
+    }
+
+    /**
+     * Run every compiled effect's on-damage hook, phase by phase.
+     */
+    public void apply(@Nonnull final EffectContext context) {
+        this.run(context, 0, this.processors.length);
+    }
+
+    /**
+     * Run the on-damage hooks of one phase. An exception in one effect doesn't stop the rest.
+     */
+    public void apply(@Nonnull final EffectContext context, @Nonnull final EffectPhase phase) {
+        this.run(context, this.phaseStart[phase.ordinal()], this.phaseStart[phase.ordinal() + 1]);
+    }
+
+    private void run(@Nonnull final EffectContext context, final int from, final int to) {
+        final EffectProcessor[] processors = this.processors;
+        for (int i = from; i < to; i++) {
+            try {
+                processors[i].onDamageDealt(context, this.instances[i], this.definitions[i], this.values[i]);
+            } catch (final Exception e) {
+                EooLogger.warn(e, "Error applying effect %s", this.instances[i].getType());
+            }
+        }
+    }
+}
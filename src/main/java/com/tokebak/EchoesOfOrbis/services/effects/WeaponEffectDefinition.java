@@ -6,8 +6,9 @@ import javax.annotation.Nonnull;
  * Global definition for how an effect type behaves.
  * This defines the scaling formula and constraints for an effect.
  * 
- * These are configured globally (in config or code) and define
- * how effect instances on weapons calculate their values.
+ * These are configured globally (in code by each EffectModule, overridden by
+ * Server/EchoesOfOrbis/EffectDefinitions.json) and define how effect instances
+ * on weapons calculate their values.
  */
 public class WeaponEffectDefinition {
     
@@ -24,6 +25,16 @@ public class WeaponEffectDefinition {
      */
     private final double valuePerLevel;
 
+    /**
+     * Highest effect level that still adds value (e.g. health regen tier 3); 0 = uncapped.
+     */
+    private final int maxLevel;
+
+    /**
+     * Upper bound on the calculated value (e.g. 0.50 for chance effects); 0 = uncapped.
+     */
+    private final double maxValue;
+
     /**
      * For proc effects: chance to trigger (0.0 to 1.0).
      */
@@ -49,6 +60,8 @@ public class WeaponEffectDefinition {
         this.type = builder.type;
         this.baseValue = builder.baseValue;
         this.valuePerLevel = builder.valuePerLevel;
+        this.maxLevel = builder.maxLevel;
+        this.maxValue = builder.maxValue;
         this.procChance = builder.procChance;
         this.duration = builder.duration;
         this.description = builder.description;
@@ -56,7 +69,7 @@ public class WeaponEffectDefinition {
     }
     
     /**
-     * Calculate the effect value for a given effect level.
+     * Calculate the effect value for a given effect level, with the level and value caps applied.
      * @param effectLevel The level of the effect on the weapon
      * @return The calculated value
      */
@@ -64,7 +77,16 @@ public class WeaponEffectDefinition {
         if (effectLevel < 1) {
             return 0.0;
         }
-        return this.baseValue + (effectLevel - 1) * this.valuePerLevel;
+        final int level = this.maxLevel > 0 ? Math.min(this.maxLevel, effectLevel) : effectLevel;
+        final double value = this.baseValue + (level - 1) * this.valuePerLevel;
+        return this.maxValue > 0 ? Math.min(this.maxValue, value) : value;
+    }
+
+    /**
+     * True if the effect level is at (or past) the level cap, so boosting it does nothing.
+     */
+    public boolean isMaxLevel(final int effectLevel) {
+        return this.maxLevel > 0 && effectLevel >= this.maxLevel;
     }
     
     /**
@@ -92,6 +114,14 @@ public class WeaponEffectDefinition {
         return this.valuePerLevel;
     }
 
+    public int getMaxLevel() {
+        return this.maxLevel;
+    }
+
+    public double getMaxValue() {
+        return this.maxValue;
+    }
+
     public double getProcChance() {
         return this.procChance;
     }
@@ -118,6 +148,21 @@ public class WeaponEffectDefinition {
     public static Builder builder(@Nonnull final WeaponEffectType type) {
         return new Builder(type);
     }
+
+    /**
+     * Create a builder pre-filled with this definition's values (for overriding a few of them).
+     */
+    public Builder toBuilder() {
+        return new Builder(this.type)
+                .baseValue(this.baseValue)
+                .valuePerLevel(this.valuePerLevel)
+                .maxLevel(this.maxLevel)
+                .maxValue(this.maxValue)
+                .procChance(this.procChance)
+                .duration(this.duration)
+                .description(this.description)
+                .valueDisplayFormat(this.valueDisplayFormat);
+    }
     
     /**
      * Builder for WeaponEffectDefinition.
@@ -126,6 +171,8 @@ public class WeaponEffectDefinition {
         private final WeaponEffectType type;
         private double baseValue = 0.0;
         private double valuePerLevel = 0.0;
+        private int maxLevel = 0;
+        private double maxValue = 0.0;
         private double procChance = 1.0;
         private double duration = 0.0;
         private String description = "";
@@ -145,6 +192,16 @@ public class WeaponEffectDefinition {
             return this;
         }
 
+        public Builder maxLevel(final int maxLevel) {
+            this.maxLevel = maxLevel;
+            return this;
+        }
+
+        public Builder maxValue(final double maxValue) {
+            this.maxValue = maxValue;
+            return this;
+        }
+
         public Builder procChance(final double procChance) {
             this.procChance = procChance;
             return this;
@@ -10,8 +10,10 @@ import java.util.Set;
  * - A unique string ID for serialization
  * - A set of weapon categories it can apply to
  * 
+ * Item metadata (EooItemData) stores effects by ordinal, so never reorder or remove values.
+ * 
  * To add a new effect:
- * 1. Add the enum value here with appropriate categories
+ * 1. Add the enum value at the end of the list with appropriate categories
  * 2. Create a processor class implementing EffectProcessor
  * 3. Register the processor in WeaponEffectsService
  */
@@ -3,6 +3,10 @@ package com.tokebak.EchoesOfOrbis.services.effects;
 import com.hypixel.hytale.codec.Codec;
 import com.hypixel.hytale.codec.codecs.array.ArrayCodec;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.tokebak.EchoesOfOrbis.services.CooldownService;
+import com.tokebak.EchoesOfOrbis.services.EooItemData;
+import com.tokebak.EchoesOfOrbis.services.ProgressionView;
+import com.tokebak.EchoesOfOrbis.services.ProgressionViewCache;
 import com.tokebak.EchoesOfOrbis.services.WeaponMaterialService;
 import com.tokebak.EchoesOfOrbis.services.effects.modules.AttackPowerRingEffectModule;
 import com.tokebak.EchoesOfOrbis.services.effects.modules.ArmorFireResistanceEffectModule;
@@ -27,10 +31,12 @@ import com.tokebak.EchoesOfOrbis.services.effects.modules.ThornsRingEffectModule
 import com.tokebak.EchoesOfOrbis.services.effects.processors.EffectProcessor;
 import com.tokebak.EchoesOfOrbis.utils.EooLogger;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.EnumMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
@@ -43,24 +49,81 @@ import javax.annotation.Nullable;
 public class WeaponEffectsService {
 
     /**
-     * Metadata key for storing effects on weapons.
+     * Legacy metadata key for effects on weapons. Effects now live in the EooItemData document;
+     * this key is only read (and removed) when migrating older items.
      */
     public static final String META_KEY_EFFECTS = "ItemExp_Effects";
 
     /**
-     * Codec for serializing effect lists to metadata.
+     * Codec for the legacy effect list metadata.
      */
-    private static final Codec<WeaponEffectInstance[]> EFFECTS_CODEC =
+    public static final Codec<WeaponEffectInstance[]> LEGACY_EFFECTS_CODEC =
             new ArrayCodec<>(WeaponEffectInstance.CODEC, WeaponEffectInstance[]::new);
 
+    private static final int TYPE_COUNT = WeaponEffectType.values().length;
+
+    static {
+        // Selectable effects are kept as one bit per effect type ordinal in a long
+        if (TYPE_COUNT > Long.SIZE) {
+            throw new IllegalStateException("WeaponEffectType has more than " + Long.SIZE + " values");
+        }
+    }
+
+    /**
+     * Definitions as registered by modules (code defaults, before the effect definitions file).
+     */
     private final Map<WeaponEffectType, WeaponEffectDefinition> definitions;
     private final Map<WeaponEffectType, EffectProcessor> processors;
     private final Map<WeaponEffectType, EffectModule> modules;
+    private final Map<WeaponEffectType, EffectPhase> phases;
+    private final Map<WeaponEffectType, Integer> priorities;
+
+    /**
+     * Registered effect types per phase (indexed by phase ordinal), sorted by priority then type.
+     * Rebuilt on every registration; compiled effect plans walk it instead of item storage order.
+     */
+    private volatile WeaponEffectType[][] phaseOrder;
+
+    /**
+     * Overrides loaded from the effect definitions file (null = code defaults only).
+     */
+    private EffectDefinitionsFile definitionsFile;
+
+    /**
+     * Effective definitions indexed by effect type ordinal: registered defaults with the file's
+     * overrides applied. Immutable once published; a registration or reload builds a new array and
+     * swaps it in, so readers do one volatile read and an index instead of a map lookup.
+     */
+    private volatile WeaponEffectDefinition[] definitionTable = new WeaponEffectDefinition[TYPE_COUNT];
+
+    /**
+     * Bumped whenever a processor or definition is registered or definitions are reloaded,
+     * invalidating compiled effect plans.
+     */
+    private volatile int registryVersion;
+
+    /**
+     * Effect types that can be embued as a new effect, as a bitmask of type ordinals, indexed by
+     * weapon category ordinal. Rebuilt with the definition table.
+     */
+    private volatile long[] selectableMasks = new long[WeaponCategory.values().length];
+
+    /**
+     * Decoded progression metadata per ItemStack (shared with ItemExpService).
+     */
+    private final ProgressionViewCache progressionViews = new ProgressionViewCache();
+
+    /**
+     * Per-entity effect cooldowns shared by all processors (handed to them through EffectContext).
+     */
+    private final CooldownService cooldowns = new CooldownService();
 
     public WeaponEffectsService() {
         this.definitions = new EnumMap<>(WeaponEffectType.class);
         this.processors = new EnumMap<>(WeaponEffectType.class);
         this.modules = new EnumMap<>(WeaponEffectType.class);
+        this.phases = new EnumMap<>(WeaponEffectType.class);
+        this.priorities = new EnumMap<>(WeaponEffectType.class);
 
         this.registerDefaults();
     }
@@ -100,6 +163,10 @@ public class WeaponEffectsService {
         this.definitions.put(type, module.getDefinition());
         this.processors.put(type, module.getProcessor());
         this.modules.put(type, module);
+        this.phases.put(type, module.getPhase());
+        this.priorities.put(type, module.getPriority());
+        this.rebuildPhaseOrder();
+        this.rebuildDefinitionTable();
     }
 
     /**
@@ -107,16 +174,100 @@ public class WeaponEffectsService {
      */
     public void registerDefinition(@Nonnull final WeaponEffectDefinition definition) {
         this.definitions.put(definition.getType(), definition);
+        this.rebuildDefinitionTable();
+    }
+
+    /**
+     * Replace the effect definitions file overrides (startup and hot reload) and republish the
+     * definition table. Compiled effect plans are invalidated and recompile on their next hit.
+     */
+    public void reloadDefinitions(@Nullable final EffectDefinitionsFile file) {
+        synchronized (this.definitions) {
+            this.definitionsFile = file;
+            this.rebuildDefinitionTable();
+        }
+    }
+
+    /**
+     * Build the effective definition table and swap it in.
+     */
+    private void rebuildDefinitionTable() {
+        synchronized (this.definitions) {
+            final WeaponEffectDefinition[] table = new WeaponEffectDefinition[TYPE_COUNT];
+            for (final Map.Entry<WeaponEffectType, WeaponEffectDefinition> e : this.definitions.entrySet()) {
+                table[e.getKey().ordinal()] = e.getValue();
+            }
+            final EffectDefinitionsFile file = this.definitionsFile;
+            if (file != null) {
+                for (final EffectDefinitionsFile.Entry entry : file.getEffects()) {
+                    final WeaponEffectType type = WeaponEffectType.fromId(entry.getId());
+                    if (type == null || table[type.ordinal()] == null) {
+                        EooLogger.warn("Effect definitions file: unknown or unregistered effect '%s'", entry.getId());
+                        continue;
+                    }
+                    table[type.ordinal()] = entry.applyTo(table[type.ordinal()]);
+                }
+            }
+            this.definitionTable = table;
+            this.selectableMasks = buildSelectableMasks(table);
+            this.registryVersion++;
+        }
+    }
+
+    /**
+     * Per category, the types that apply to it and have a definition.
+     * FREEZE_ON_HIT is left out (disabled: effect not working on mobs).
+     */
+    @Nonnull
+    private static long[] buildSelectableMasks(@Nonnull final WeaponEffectDefinition[] table) {
+        final WeaponCategory[] categories = WeaponCategory.values();
+        final long[] masks = new long[categories.length];
+        for (final WeaponEffectType type : WeaponEffectType.values()) {
+            if (type == WeaponEffectType.FREEZE_ON_HIT || table[type.ordinal()] == null) {
+                continue;
+            }
+            for (final WeaponCategory category : categories) {
+                if (type.appliesTo(category)) {
+                    masks[category.ordinal()] |= 1L << type.ordinal();
+                }
+            }
+        }
+        return masks;
     }
 
     /**
      * Register an effect processor (for backward compatibility or when not using a full module).
+     * Runs in {@link EffectPhase#POST_APPLY} at priority 0 unless a module declared otherwise.
      */
     public void registerProcessor(
             @Nonnull final WeaponEffectType type,
             @Nonnull final EffectProcessor processor
     ) {
         this.processors.put(type, processor);
+        this.phases.putIfAbsent(type, EffectPhase.POST_APPLY);
+        this.priorities.putIfAbsent(type, 0);
+        this.rebuildPhaseOrder();
+        this.registryVersion++;
+    }
+
+    /**
+     * Sort the registered processors into per-phase arrays (priority, then effect type order).
+     */
+    private void rebuildPhaseOrder() {
+        final EffectPhase[] all = EffectPhase.all();
+        final WeaponEffectType[][] order = new WeaponEffectType[all.length][];
+        for (final EffectPhase phase : all) {
+            final List<WeaponEffectType> types = new ArrayList<>();
+            for (final WeaponEffectType type : this.processors.keySet()) {
+                if (this.phases.get(type) == phase) {
+                    types.add(type);
+                }
+            }
+            // EnumMap iterates in ordinal order and the sort is stable, so ties keep type order
+            types.sort(Comparator.comparingInt(this.priorities::get));
+            order[phase.ordinal()] = types.toArray(new WeaponEffectType[0]);
+        }
+        this.phaseOrder = order;
     }
     
     /**
@@ -124,7 +275,7 @@ public class WeaponEffectsService {
      */
     @Nullable
     public WeaponEffectDefinition getDefinition(@Nonnull final WeaponEffectType type) {
-        return this.definitions.get(type);
+        return this.definitionTable[type.ordinal()];
     }
     
     /**
@@ -135,6 +286,14 @@ public class WeaponEffectsService {
         return this.processors.get(type);
     }
 
+    /**
+     * Get the phase an effect type runs in (null if it has no processor).
+     */
+    @Nullable
+    public EffectPhase getPhase(@Nonnull final WeaponEffectType type) {
+        return this.phases.get(type);
+    }
+
     /**
      * Get the short description for UI (e.g. "Bonus damage as percentage of hit").
      * Returns null if no module is registered for this effect type.
@@ -145,7 +304,20 @@ public class WeaponEffectsService {
         return module == null ? null : module.getShortDescription();
     }
 
+    @Nonnull
+    public CooldownService getCooldowns() {
+        return this.cooldowns;
+    }
+
     // ==================== Metadata Read/Write ====================
+
+    /**
+     * Cache of decoded progression metadata, keyed by ItemStack identity.
+     */
+    @Nonnull
+    public ProgressionViewCache getProgressionViews() {
+        return this.progressionViews;
+    }
     
     /**
      * Get all effect instances from a weapon's metadata.
@@ -158,28 +330,22 @@ public class WeaponEffectsService {
             return new ArrayList<>();
         }
         
-        final WeaponEffectInstance[] effects = (WeaponEffectInstance[]) weapon.getFromMetadataOrNull(
-                META_KEY_EFFECTS,
-                EFFECTS_CODEC
-        );
-        
-        if (effects == null || effects.length == 0) {
-            return new ArrayList<>();
-        }
-        
-        // Convert to mutable list
-        final List<WeaponEffectInstance> result = new ArrayList<>(effects.length);
-        for (final WeaponEffectInstance effect : effects) {
-            if (effect != null && effect.getType() != null) {
-                result.add(effect);
-            }
-        }
-        return result;
+        // Copy into a mutable list (the cached view is shared and read-only)
+        return new ArrayList<>(this.progressionViews.get(weapon).getEffects());
+    }
+
+    /**
+     * Get all effect instances from a weapon's metadata without copying.
+     * The returned list is read-only and shared; use getEffects() when you need to modify it.
+     */
+    @Nonnull
+    public List<WeaponEffectInstance> getEffectsView(@Nullable final ItemStack weapon) {
+        return this.progressionViews.get(weapon).getEffects();
     }
     
     /**
      * Get a specific effect instance from a weapon.
-     * Scans metadata directly to avoid allocating a full list.
+     * Reads the cached decoded view to avoid allocating a full list.
      */
     @Nullable
     public WeaponEffectInstance getEffect(
@@ -187,13 +353,7 @@ public class WeaponEffectsService {
             @Nonnull final WeaponEffectType type
     ) {
         if (weapon == null || weapon.isEmpty()) return null;
-        final WeaponEffectInstance[] effects = (WeaponEffectInstance[]) weapon.getFromMetadataOrNull(
-                META_KEY_EFFECTS, EFFECTS_CODEC);
-        if (effects == null) return null;
-        for (final WeaponEffectInstance effect : effects) {
-            if (effect != null && effect.getType() == type) return effect;
-        }
-        return null;
+        return this.progressionViews.get(weapon).getEffect(type);
     }
     
     /**
@@ -219,29 +379,18 @@ public class WeaponEffectsService {
             @Nonnull final ItemStack weapon,
             @Nonnull final WeaponEffectInstance effect
     ) {
-        final List<WeaponEffectInstance> effects = this.getEffects(weapon);
-        
-        // Check if effect already exists
-        boolean found = false;
-        for (int i = 0; i < effects.size(); i++) {
-            if (effects.get(i).getType() == effect.getType()) {
-                effects.set(i, effect);
-                found = true;
-                break;
-            }
+        final WeaponEffectType type = effect.getType();
+        if (type == null) {
+            return weapon;
         }
+        final ProgressionView view = this.progressionViews.get(weapon);
+        final EooItemData data = view.toItemData();
         
-        // Add if not found
-        if (!found) {
-            effects.add(effect);
-        }
+        // Updates the level in place if the effect exists, otherwise appends it
+        data.setEffect(type, effect.getLevel());
         
         // Save back to metadata
-        return weapon.withMetadata(
-                META_KEY_EFFECTS,
-                EFFECTS_CODEC,
-                effects.toArray(new WeaponEffectInstance[0])
-        );
+        return view.write(weapon, data);
     }
     
     /**
@@ -257,17 +406,14 @@ public class WeaponEffectsService {
             @Nonnull final ItemStack weapon,
             @Nonnull final WeaponEffectType type
     ) {
-        final List<WeaponEffectInstance> effects = this.getEffects(weapon);
+        final ProgressionView view = this.progressionViews.get(weapon);
+        final EooItemData data = view.toItemData();
         
         // Remove the effect if it exists
-        effects.removeIf(effect -> effect.getType() == type);
+        data.removeEffect(type);
         
         // Save back to metadata
-        return weapon.withMetadata(
-                META_KEY_EFFECTS,
-                EFFECTS_CODEC,
-                effects.toArray(new WeaponEffectInstance[0])
-        );
+        return view.write(weapon, data);
     }
     
     /**
@@ -366,44 +512,39 @@ public class WeaponEffectsService {
     // ==================== Effect Application ====================
     
     /**
-     * Apply all on-damage effects for a weapon.
-     * Called from ItemExpDamageSystem when damage is dealt.
+     * Apply all on-damage effects for a weapon, every phase at once.
      * Only applies effects that match the weapon's category.
      * 
      * @param context The effect context with damage info
      */
     public void applyOnDamageEffects(@Nonnull final EffectContext context) {
-        final List<WeaponEffectInstance> effects = this.getEffects(context.getWeapon());
-        final WeaponCategory category = context.getWeaponCategory();
-        
-        for (final WeaponEffectInstance effect : effects) {
-            final WeaponEffectType type = effect.getType();
-            if (type == null) {
-                continue;
-            }
-            
-            // Check if this effect applies to the weapon's category
-            if (!type.appliesTo(category)) {
-                // Effect doesn't apply to this weapon type, skip it
-                continue;
-            }
-            
-            final EffectProcessor processor = this.processors.get(type);
-            final WeaponEffectDefinition definition = this.definitions.get(type);
-            
-            if (processor == null || definition == null) {
-                EooLogger.warn("No processor/definition for %s", type);
-                continue;
-            }
-            
-            // Apply the effect
-            try {
-                processor.onDamageDealt(context, effect, definition);
-            } catch (final Exception e) {
-                EooLogger.warn("Error applying effect %s: %s", type, e.getMessage());
-                e.printStackTrace();
-            }
+        this.getEffectPlan(context.getWeapon(), context.getWeaponCategory()).apply(context);
+    }
+
+    /**
+     * Apply one phase of a weapon's on-damage effects (see {@link EffectPhase}).
+     */
+    public void applyOnDamageEffects(@Nonnull final EffectContext context, @Nonnull final EffectPhase phase) {
+        this.getEffectPlan(context.getWeapon(), context.getWeaponCategory()).apply(context, phase);
+    }
+
+    /**
+     * Get the compiled on-damage effects for a weapon in a category.
+     * Compiled once per ItemStack (memoized on its cached progression view) and recompiled only if
+     * the category differs or effects were registered since.
+     */
+    @Nonnull
+    public EffectPlan getEffectPlan(@Nullable final ItemStack weapon, @Nonnull final WeaponCategory category) {
+        final ProgressionView view = this.progressionViews.get(weapon);
+        final int version = this.registryVersion;
+        final EffectPlan cached = view.getEffectPlan();
+        if (cached != null && cached.isValidFor(category, version)) {
+            return cached;
         }
+        final EffectPlan plan = EffectPlan.compile(
+                view.getEffects(), category, this.phaseOrder, this.processors, this.definitionTable, version);
+        view.setEffectPlan(plan);
+        return plan;
     }
     
     // ==================== Embue Selection ====================
@@ -425,32 +566,13 @@ public class WeaponEffectsService {
             @Nonnull final WeaponCategory category,
             @Nonnull final List<String> alreadyUnlocked
     ) {
-        final List<WeaponEffectType> selectable = new ArrayList<>();
-
-        for (final WeaponEffectType type : WeaponEffectType.values()) {
-            // Skip FREEZE_ON_HIT - disabled (effect not working on mobs)
-            if (type == WeaponEffectType.FREEZE_ON_HIT) {
-                continue;
-            }
-
-            // Skip if already unlocked
-            if (alreadyUnlocked.contains(type.getId())) {
-                continue;
-            }
-
-            // Skip if doesn't apply to this weapon category
-            if (!type.appliesTo(category)) {
-                continue;
-            }
-
-            // Skip if we don't have a definition for it (not implemented)
-            if (!this.definitions.containsKey(type)) {
-                continue;
-            }
-
-            selectable.add(type);
+        long mask = this.selectableMasks[category.ordinal()] & ~unlockedMask(alreadyUnlocked);
+        final List<WeaponEffectType> selectable = new ArrayList<>(Long.bitCount(mask));
+        final WeaponEffectType[] types = WeaponEffectType.values();
+        while (mask != 0) {
+            selectable.add(types[Long.numberOfTrailingZeros(mask)]);
+            mask &= mask - 1;
         }
-
         return selectable;
     }
 
@@ -458,6 +580,11 @@ public class WeaponEffectsService {
      * Get random upgrade options for the Vampire Survivors-style selection.
      * Each option is either a boost to an existing effect or adding a new effect type.
      *
+     * Candidates are a bitmask of effect type ordinals: boosts are the item's effects that apply to
+     * the category and aren't at their level cap, new effects are the category's selectable mask
+     * minus the item's effects (only while a boost slot is free). The two never overlap, so
+     * {@code count} of them are sampled straight from the mask without building or shuffling a pool.
+     *
      * @param weapon The weapon
      * @param category The weapon's category
      * @param count Maximum number of options to return (typically 3)
@@ -469,49 +596,40 @@ public class WeaponEffectsService {
             @Nonnull final WeaponCategory category,
             final int count
     ) {
-        final List<UpgradeOption> pool = new ArrayList<>();
-        final List<WeaponEffectInstance> effects = this.getEffects(weapon);
-        final List<String> alreadyUnlocked = new ArrayList<>();
-        for (final WeaponEffectInstance e : effects) {
-            if (e.getType() != null) {
-                alreadyUnlocked.add(e.getType().getId());
-            }
-        }
-        final int boostSlots = WeaponMaterialService.getBoostSlotsForWeapon(weapon);
-        final boolean canAddNew = effects.size() < boostSlots;
-
-        // Add boost options for existing effects
-        for (final WeaponEffectInstance effect : effects) {
+        final List<WeaponEffectInstance> effects = this.getEffectsView(weapon);
+        long unlocked = 0L;
+        long boosts = 0L;
+        for (int i = 0; i < effects.size(); i++) {
+            final WeaponEffectInstance effect = effects.get(i);
             final WeaponEffectType type = effect.getType();
-            if (type == null || !type.appliesTo(category)) {
+            if (type == null) {
                 continue;
             }
-            final WeaponEffectDefinition def = this.definitions.get(type);
-            if (def == null) {
+            unlocked |= 1L << type.ordinal();
+            if (!type.appliesTo(category)) {
                 continue;
             }
-            final int level = effect.getLevel();
-            // Only health regen has a cap (T1/T2/T3); no other effects are capped
-            if (type == WeaponEffectType.RING_HEALTH_REGEN && level >= 3) {
-                continue;
+            final WeaponEffectDefinition def = this.getDefinition(type);
+            // Effects at their level cap (e.g. health regen T3) can't be boosted further
+            if (def != null && !def.isMaxLevel(effect.getLevel())) {
+                boosts |= 1L << type.ordinal();
             }
-            pool.add(new UpgradeOption.BoostOption(type, level));
         }
+        final int boostSlots = WeaponMaterialService.getBoostSlotsForWeapon(weapon);
+        final long newEffects = effects.size() < boostSlots
+                ? this.selectableMasks[category.ordinal()] & ~unlocked
+                : 0L;
 
-        // Add new effect options if under slot limit
-        if (canAddNew) {
-            final List<WeaponEffectType> selectableNew = this.getSelectableEffects(category, alreadyUnlocked);
-            for (final WeaponEffectType type : selectableNew) {
-                pool.add(new UpgradeOption.NewEffectOption(type));
+        final WeaponEffectType[] picked = sample(boosts | newEffects, count);
+        final List<UpgradeOption> options = new ArrayList<>(picked.length);
+        for (final WeaponEffectType type : picked) {
+            if ((boosts & (1L << type.ordinal())) != 0) {
+                options.add(new UpgradeOption.BoostOption(type, levelOf(effects, type)));
+            } else {
+                options.add(new UpgradeOption.NewEffectOption(type));
             }
         }
-
-        if (pool.size() <= count) {
-            Collections.shuffle(pool);
-            return pool;
-        }
-        Collections.shuffle(pool);
-        return pool.subList(0, count);
+        return options;
     }
     
     /**
@@ -529,15 +647,62 @@ public class WeaponEffectsService {
             @Nonnull final List<String> alreadyUnlocked,
             final int count
     ) {
-        final List<WeaponEffectType> selectable = this.getSelectableEffects(category, alreadyUnlocked);
-        
-        if (selectable.size() <= count) {
-            return selectable;
+        final long mask = this.selectableMasks[category.ordinal()] & ~unlockedMask(alreadyUnlocked);
+        return new ArrayList<>(Arrays.asList(sample(mask, count)));
+    }
+
+    private static long unlockedMask(@Nonnull final List<String> unlockedIds) {
+        long mask = 0L;
+        for (int i = 0; i < unlockedIds.size(); i++) {
+            final WeaponEffectType type = WeaponEffectType.fromId(unlockedIds.get(i));
+            if (type != null) {
+                mask |= 1L << type.ordinal();
+            }
         }
-        
-        // Shuffle and take first N
-        Collections.shuffle(selectable);
-        return selectable.subList(0, count);
+        return mask;
+    }
+
+    private static int levelOf(@Nonnull final List<WeaponEffectInstance> effects, @Nonnull final WeaponEffectType type) {
+        for (int i = 0; i < effects.size(); i++) {
+            if (effects.get(i).getType() == type) {
+                return effects.get(i).getLevel();
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Up to {@code count} distinct types from the mask, chosen uniformly and returned in random order.
+     * Floyd's algorithm picks the positions (count draws, whatever the mask size); only the picked
+     * handful is shuffled.
+     */
+    @Nonnull
+    static WeaponEffectType[] sample(final long mask, final int count) {
+        final int n = Long.bitCount(mask);
+        final int k = Math.max(0, Math.min(count, n));
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        long chosen = 0L;
+        for (int j = n - k; j < n; j++) {
+            final int t = random.nextInt(j + 1);
+            chosen |= (chosen & (1L << t)) == 0 ? 1L << t : 1L << j;
+        }
+        final WeaponEffectType[] types = WeaponEffectType.values();
+        final WeaponEffectType[] picked = new WeaponEffectType[k];
+        int size = 0;
+        long remaining = mask;
+        for (int position = 0; remaining != 0; position++) {
+            if ((chosen & (1L << position)) != 0) {
+                picked[size++] = types[Long.numberOfTrailingZeros(remaining)];
+            }
+            remaining &= remaining - 1;
+        }
+        for (int i = k - 1; i > 0; i--) {
+            final int swap = random.nextInt(i + 1);
+            final WeaponEffectType tmp = picked[i];
+            picked[i] = picked[swap];
+            picked[swap] = tmp;
+        }
+        return picked;
     }
     
     // ==================== Display ====================
@@ -547,7 +712,7 @@ public class WeaponEffectsService {
      */
     @Nonnull
     public String getEffectsSummary(@Nullable final ItemStack weapon) {
-        final List<WeaponEffectInstance> effects = this.getEffects(weapon);
+        final List<WeaponEffectInstance> effects = this.getEffectsView(weapon);
         
         if (effects.isEmpty()) {
             return "No effects";
@@ -555,17 +720,14 @@ public class WeaponEffectsService {
         
         final StringBuilder sb = new StringBuilder();
         for (final WeaponEffectInstance effect : effects) {
-            final WeaponEffectDefinition def = this.definitions.get(effect.getType());
+            final WeaponEffectDefinition def = effect.getType() != null ? this.getDefinition(effect.getType()) : null;
             if (def != null) {
                 if (sb.length() > 0) {
                     sb.append(", ");
                 }
-                // Health regen is the only effect with a cap (T3); clamp display level and show (MAX)
-                final int displayLevel = effect.getType() == WeaponEffectType.RING_HEALTH_REGEN
-                        ? Math.min(3, effect.getLevel())
-                        : effect.getLevel();
-                sb.append(def.getFormattedDescription(displayLevel));
-                if (effect.getType() == WeaponEffectType.RING_HEALTH_REGEN && effect.getLevel() >= 3) {
+                // The value is clamped to the level cap (e.g. health regen T3); show (MAX) once reached
+                sb.append(def.getFormattedDescription(effect.getLevel()));
+                if (def.isMaxLevel(effect.getLevel())) {
                     sb.append(" (MAX)");
                 }
             }
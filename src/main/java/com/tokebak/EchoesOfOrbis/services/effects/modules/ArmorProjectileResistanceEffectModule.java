@@ -1,6 +1,7 @@
 package com.tokebak.EchoesOfOrbis.services.effects.modules;
 
 import com.tokebak.EchoesOfOrbis.services.effects.EffectModule;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectPhase;
 import com.tokebak.EchoesOfOrbis.services.effects.ValueDisplayFormat;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
@@ -45,6 +46,12 @@ public class ArmorProjectileResistanceEffectModule implements EffectModule {
         return processor;
     }
 
+    @Override
+    @Nonnull
+    public EffectPhase getPhase() {
+        return EffectPhase.PASSIVE;
+    }
+
     @Override
     @Nonnull
     public String getShortDescription() {
@@ -1,6 +1,7 @@
 package com.tokebak.EchoesOfOrbis.services.effects.modules;
 
 import com.tokebak.EchoesOfOrbis.services.effects.EffectModule;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectPhase;
 import com.tokebak.EchoesOfOrbis.services.effects.ValueDisplayFormat;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
@@ -46,6 +47,12 @@ public class AttackPowerRingEffectModule implements EffectModule {
         return processor;
     }
 
+    @Override
+    @Nonnull
+    public EffectPhase getPhase() {
+        return EffectPhase.PASSIVE;
+    }
+
     @Override
     @Nonnull
     public String getShortDescription() {
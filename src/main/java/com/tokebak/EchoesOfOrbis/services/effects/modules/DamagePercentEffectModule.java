@@ -1,6 +1,7 @@
 package com.tokebak.EchoesOfOrbis.services.effects.modules;
 
 import com.tokebak.EchoesOfOrbis.services.effects.EffectModule;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectPhase;
 import com.tokebak.EchoesOfOrbis.services.effects.ValueDisplayFormat;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
@@ -46,6 +47,13 @@ public class DamagePercentEffectModule implements EffectModule {
         return this.processor;
     }
 
+    @Override
+    @Nonnull
+    public EffectPhase getPhase() {
+        // Bonus damage is folded into the hit before it lands
+        return EffectPhase.PRE_APPLY;
+    }
+
     @Override
     @Nonnull
     public String getShortDescription() {
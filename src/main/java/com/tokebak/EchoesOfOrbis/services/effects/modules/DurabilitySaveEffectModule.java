@@ -1,6 +1,7 @@
 package com.tokebak.EchoesOfOrbis.services.effects.modules;
 
 import com.tokebak.EchoesOfOrbis.services.effects.EffectModule;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectPhase;
 import com.tokebak.EchoesOfOrbis.services.effects.ValueDisplayFormat;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
@@ -13,12 +14,14 @@ public class DurabilitySaveEffectModule implements EffectModule {
 
     private static final double BASE_VALUE = 0.05;
     private static final double VALUE_PER_LEVEL = 0.05;
+    private static final double MAX_VALUE = 0.50;
     private static final String DESCRIPTION_TEMPLATE = "{value} chance to save durability";
     private static final String SHORT_DESCRIPTION = "Chance to not lose durability when hitting";
 
     private final WeaponEffectDefinition definition = WeaponEffectDefinition.builder(WeaponEffectType.DURABILITY_SAVE)
             .baseValue(BASE_VALUE)
             .valuePerLevel(VALUE_PER_LEVEL)
+            .maxValue(MAX_VALUE)
             .description(DESCRIPTION_TEMPLATE)
             .valueDisplayFormat(ValueDisplayFormat.PERCENT)
             .build();
@@ -43,6 +46,18 @@ public class DurabilitySaveEffectModule implements EffectModule {
         return this.processor;
     }
 
+    @Override
+    @Nonnull
+    public EffectPhase getPhase() {
+        return EffectPhase.PRE_APPLY;
+    }
+
+    @Override
+    public int getPriority() {
+        // Restores durability before the hit's durability loss; runs after damage modifiers
+        return 100;
+    }
+
     @Override
     @Nonnull
     public String getShortDescription() {
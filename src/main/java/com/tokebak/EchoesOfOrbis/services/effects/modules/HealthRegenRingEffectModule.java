@@ -1,6 +1,7 @@
 package com.tokebak.EchoesOfOrbis.services.effects.modules;
 
 import com.tokebak.EchoesOfOrbis.services.effects.EffectModule;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectPhase;
 import com.tokebak.EchoesOfOrbis.services.effects.ValueDisplayFormat;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
@@ -17,12 +18,14 @@ import javax.annotation.Nonnull;
 public class HealthRegenRingEffectModule implements EffectModule {
 
     private static final double BASE_VALUE = 1.0;   // T1
-    private static final double VALUE_PER_LEVEL = 0.5; // T2 = 1.5, T3 = 2.0 (cap at T3 is enforced in WeaponEffectsService / PlayerStatModifierService)
+    private static final double VALUE_PER_LEVEL = 0.5; // T2 = 1.5, T3 = 2.0
+    private static final int MAX_LEVEL = 3;            // T3 cap; boosts past it add nothing
     private static final String SHORT_DESCRIPTION = "Health regen I";
 
     private final WeaponEffectDefinition definition = WeaponEffectDefinition.builder(WeaponEffectType.RING_HEALTH_REGEN)
             .baseValue(BASE_VALUE)
             .valuePerLevel(VALUE_PER_LEVEL)
+            .maxLevel(MAX_LEVEL)
             .description("+{value} health regen")
             .valueDisplayFormat(ValueDisplayFormat.RAW_NUMBER)
             .build();
@@ -47,6 +50,12 @@ public class HealthRegenRingEffectModule implements EffectModule {
         return processor;
     }
 
+    @Override
+    @Nonnull
+    public EffectPhase getPhase() {
+        return EffectPhase.PASSIVE;
+    }
+
     @Override
     @Nonnull
     public String getShortDescription() {
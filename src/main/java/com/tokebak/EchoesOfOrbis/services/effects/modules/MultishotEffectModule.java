@@ -1,6 +1,7 @@
 package com.tokebak.EchoesOfOrbis.services.effects.modules;
 
 import com.tokebak.EchoesOfOrbis.services.effects.EffectModule;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectPhase;
 import com.tokebak.EchoesOfOrbis.services.effects.ValueDisplayFormat;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
@@ -43,6 +44,18 @@ public class MultishotEffectModule implements EffectModule {
         return this.processor;
     }
 
+    @Override
+    @Nonnull
+    public EffectPhase getPhase() {
+        return EffectPhase.POST_APPLY;
+    }
+
+    @Override
+    public int getPriority() {
+        // Spawns a projectile; runs after the cheaper procs
+        return 100;
+    }
+
     @Override
     @Nonnull
     public String getShortDescription() {
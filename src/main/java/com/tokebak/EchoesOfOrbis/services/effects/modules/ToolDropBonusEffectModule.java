@@ -1,6 +1,7 @@
 package com.tokebak.EchoesOfOrbis.services.effects.modules;
 
 import com.tokebak.EchoesOfOrbis.services.effects.EffectModule;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectPhase;
 import com.tokebak.EchoesOfOrbis.services.effects.ValueDisplayFormat;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
@@ -13,12 +14,14 @@ public class ToolDropBonusEffectModule implements EffectModule {
 
     private static final double BASE_VALUE = 0.05;
     private static final double VALUE_PER_LEVEL = 0.05;
+    private static final double MAX_VALUE = 0.50;
     private static final String DESCRIPTION_TEMPLATE = "+{value} bonus to block drops";
     private static final String SHORT_DESCRIPTION = "Bonus percent to items dropped when breaking blocks";
 
     private final WeaponEffectDefinition definition = WeaponEffectDefinition.builder(WeaponEffectType.TOOL_DROP_BONUS)
             .baseValue(BASE_VALUE)
             .valuePerLevel(VALUE_PER_LEVEL)
+            .maxValue(MAX_VALUE)
             .description(DESCRIPTION_TEMPLATE)
             .valueDisplayFormat(ValueDisplayFormat.PERCENT)
             .build();
@@ -43,6 +46,12 @@ public class ToolDropBonusEffectModule implements EffectModule {
         return this.processor;
     }
 
+    @Override
+    @Nonnull
+    public EffectPhase getPhase() {
+        return EffectPhase.PASSIVE;
+    }
+
     @Override
     @Nonnull
     public String getShortDescription() {
@@ -1,6 +1,5 @@
 package com.tokebak.EchoesOfOrbis.services.effects.processors;
 
-import com.hypixel.hytale.component.system.EcsEvent;
 import com.hypixel.hytale.server.core.meta.MetaKey;
 import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
 import com.tokebak.EchoesOfOrbis.services.effects.EffectContext;
@@ -11,18 +10,20 @@ import javax.annotation.Nonnull;
 /**
  * Processor for DAMAGE_PERCENT effect.
  *
- * Applies bonus damage as a second damage event (Filter-phase in-place modification
- * does not work for plugin-registered systems; the engine's damage pipeline may not
- * invoke us in that phase). Bonus damage is marked with IS_BONUS_DAMAGE so we don't
- * recurse (no XP/effects on the bonus hit).
+ * Adds the bonus to the context; ItemExpDamageSystem runs after the Filter group and folds it
+ * into the original damage event with setAmount (see docs/DAMAGE_AND_DISPLAY_FINDINGS.md),
+ * so a proc no longer runs the whole damage pipeline a second time.
  *
  * Example: If effect value is 0.15 (15%) and original damage is 10,
- * this deals an additional 1.5 damage as a separate hit.
+ * the hit deals 11.5 damage.
+ *
+ * IS_BONUS_DAMAGE still marks extra damage events EOO raises itself (e.g. thorns), so they
+ * don't earn XP or trigger effects.
  */
 public class DamagePercentProcessor implements EffectProcessor {
 
     /**
-     * Meta key to mark damage events as bonus damage from weapon effects.
+     * Meta key to mark damage events raised by EOO effects.
      * Prevents infinite recursion - bonus damage won't trigger more bonus damage.
      */
     public static final MetaKey<Boolean> IS_BONUS_DAMAGE = Damage.META_REGISTRY.registerMetaObject(
@@ -42,16 +43,22 @@ public class DamagePercentProcessor implements EffectProcessor {
             @Nonnull final EffectContext context,
             @Nonnull final WeaponEffectInstance instance,
             @Nonnull final WeaponEffectDefinition definition
+    ) {
+        this.onDamageDealt(context, instance, definition, definition.calculateValue(instance.getLevel()));
+    }
+
+    @Override
+    public void onDamageDealt(
+            @Nonnull final EffectContext context,
+            @Nonnull final WeaponEffectInstance instance,
+            @Nonnull final WeaponEffectDefinition definition,
+            final double percentBonus
     ) {
         // Skip if this damage is from a multishot arrow (prevents double-dipping)
-        final int attackerKey = context.getAttackerRef().hashCode();
-        if (MultishotProcessor.shouldSkipEffectsForMultishot(attackerKey)) {
+        if (context.isMultishotArrow()) {
             return;
         }
 
-        // Calculate bonus damage percentage based on effect level
-        final double percentBonus = definition.calculateValue(instance.getLevel());
-
         if (percentBonus <= 0) {
             return; // No bonus to apply
         }
@@ -64,18 +71,7 @@ public class DamagePercentProcessor implements EffectProcessor {
             return; // Skip tiny damage amounts
         }
 
-        // Create a new damage event for the bonus damage (plugin systems don't run in Filter, so in-place doesn't work)
-        final Damage originalDamageEvent = context.getOriginalDamage();
-        final Damage bonusDamageEvent = new Damage(
-                originalDamageEvent.getSource(),
-                originalDamageEvent.getDamageCauseIndex(),
-                bonusDamage
-        );
-        bonusDamageEvent.getMetaStore().putMetaObject(IS_BONUS_DAMAGE, Boolean.TRUE);
-
-        context.getCommandBuffer().invoke(
-                context.getTargetRef(),
-                (EcsEvent) bonusDamageEvent
-        );
+        // Folded into the original event once all effects ran (one damage event per hit)
+        context.addBonusDamage(bonusDamage);
     }
 }
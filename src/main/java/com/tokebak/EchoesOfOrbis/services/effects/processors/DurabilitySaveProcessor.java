@@ -7,8 +7,8 @@ import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectInstance;
 import com.tokebak.EchoesOfOrbis.systems.DurabilitySaveRestoreSystem;
 import com.tokebak.EchoesOfOrbis.utils.EooLogger;
+import com.tokebak.EchoesOfOrbis.utils.EooRandom;
 import javax.annotation.Nonnull;
-import java.util.Random;
 
 /**
  * Processor for DURABILITY_SAVE effect.
@@ -21,14 +21,22 @@ import java.util.Random;
  */
 public class DurabilitySaveProcessor implements EffectProcessor {
     
-    private final Random random = new Random();
-    
     @Override
-    @SuppressWarnings("deprecation")
     public void onDamageDealt(
             @Nonnull final EffectContext context,
             @Nonnull final WeaponEffectInstance instance,
             @Nonnull final WeaponEffectDefinition definition
+    ) {
+        this.onDamageDealt(context, instance, definition, definition.calculateValue(instance.getLevel()));
+    }
+
+    @Override
+    @SuppressWarnings("deprecation")
+    public void onDamageDealt(
+            @Nonnull final EffectContext context,
+            @Nonnull final WeaponEffectInstance instance,
+            @Nonnull final WeaponEffectDefinition definition,
+            final double saveChance
     ) {
         final Damage damage = context.getOriginalDamage();
         
@@ -39,15 +47,13 @@ public class DurabilitySaveProcessor implements EffectProcessor {
             return; // No durability would be lost anyway
         }
         
-        // Calculate save chance based on effect level
-        final double saveChance = definition.calculateValue(instance.getLevel());
         
         if (saveChance <= 0) {
             return; // No chance to save
         }
         
         // Roll the dice
-        final double roll = this.random.nextDouble();
+        final double roll = EooRandom.forStore(context.getStore()).nextDouble();
         final boolean saved = roll < saveChance;
         
         if (saved) {
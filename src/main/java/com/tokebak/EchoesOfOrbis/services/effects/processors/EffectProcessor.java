@@ -15,7 +15,8 @@ import javax.annotation.Nonnull;
 public interface EffectProcessor {
     
     /**
-     * Called when damage is dealt by a weapon with this effect.
+     * Called when damage is dealt by a weapon with this effect, in the phase its module declares
+     * (before the hit lands for damage modifiers, after it for procs; see EffectPhase).
      * This is where most combat effects should be applied.
      * 
      * @param context The effect context containing damage info, attacker, target, etc.
@@ -27,6 +28,22 @@ public interface EffectProcessor {
             @Nonnull WeaponEffectInstance instance,
             @Nonnull WeaponEffectDefinition definition
     );
+
+    /**
+     * Same as {@link #onDamageDealt(EffectContext, WeaponEffectInstance, WeaponEffectDefinition)}
+     * with the effect value already computed ({@code definition.calculateValue(instance.getLevel())}).
+     * Called by compiled effect plans so the value isn't recomputed on every hit.
+     *
+     * Default delegates to the three-argument version; processors that use the value override this.
+     */
+    default void onDamageDealt(
+            @Nonnull EffectContext context,
+            @Nonnull WeaponEffectInstance instance,
+            @Nonnull WeaponEffectDefinition definition,
+            double value
+    ) {
+        this.onDamageDealt(context, instance, definition);
+    }
     
     /**
      * Called when a weapon with this effect is equipped.
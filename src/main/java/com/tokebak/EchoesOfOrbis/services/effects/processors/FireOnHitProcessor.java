@@ -5,11 +5,11 @@ import com.hypixel.hytale.server.core.entity.effect.EffectControllerComponent;
 import com.tokebak.EchoesOfOrbis.services.effects.EffectContext;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectInstance;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
+import com.tokebak.EchoesOfOrbis.utils.EooAssetIndex;
 import com.tokebak.EchoesOfOrbis.utils.EooLogger;
+import com.tokebak.EchoesOfOrbis.utils.EooRandom;
 import javax.annotation.Nonnull;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Random;
 
 /**
  * Processor for FIRE_ON_HIT effect.
@@ -27,74 +27,46 @@ import java.util.Random;
  */
 public class FireOnHitProcessor implements EffectProcessor {
     
-    /**
-     * The IDs of burn EntityEffect assets in the game, in order of preference.
-     * - Burn: 5 damage/sec for 3 sec (standard)
-     * - Flame_Staff_Burn: 1 damage/2sec for 3 sec (weaker, from flame staff)
-     */
-    private static final String[] BURN_EFFECT_IDS = {
-            "Burn",
-            "Flame_Staff_Burn",
-    };
-    
     /**
      * Cooldown between burn applications in milliseconds.
      * Shorter than poison since burn has Overwrite behavior anyway.
      */
     private static final long BURN_COOLDOWN_MS = 3000;
     
-    private final Random random = new Random();
-    
-    /**
-     * Cached reference to the burn EntityEffect asset.
-     */
-    private EntityEffect cachedBurnEffect = null;
-    private String cachedBurnEffectId = null;
-    private boolean effectLookupAttempted = false;
-    
-    /**
-     * Cooldown tracker per target entity.
-     */
-    private final Map<Integer, Long> targetCooldowns = new java.util.HashMap<>();
-    private long lastCleanup = 0;
-    private static final long CLEANUP_INTERVAL_MS = 60000;
-    
     @Override
     public void onDamageDealt(
             @Nonnull final EffectContext context,
             @Nonnull final WeaponEffectInstance instance,
             @Nonnull final WeaponEffectDefinition definition
     ) {
-        // Calculate burn chance based on effect level
-        final double burnChance = definition.calculateValue(instance.getLevel());
-        
+        this.onDamageDealt(context, instance, definition, definition.calculateValue(instance.getLevel()));
+    }
+
+    @Override
+    public void onDamageDealt(
+            @Nonnull final EffectContext context,
+            @Nonnull final WeaponEffectInstance instance,
+            @Nonnull final WeaponEffectDefinition definition,
+            final double burnChance
+    ) {
         if (burnChance <= 0) {
             return;
         }
         
         // Roll the dice
-        final double roll = this.random.nextDouble();
+        final double roll = EooRandom.forStore(context.getStore()).nextDouble();
         if (roll >= burnChance) {
             return;
         }
         
         // Check cooldown for this target
-        final int targetKey = context.getTargetRef().hashCode();
-        final long now = System.currentTimeMillis();
-        
-        // Periodically clean up old cooldown entries
-        if (now - this.lastCleanup > CLEANUP_INTERVAL_MS) {
-            this.cleanupOldCooldowns(now);
-            this.lastCleanup = now;
-        }
-        
-        final Long lastApplication = this.targetCooldowns.get(targetKey);
-        if (lastApplication != null && (now - lastApplication) < BURN_COOLDOWN_MS) {
+        if (context.getCooldowns().isOnCooldown(context.getTargetRef(), WeaponEffectType.FIRE_ON_HIT)) {
             return; // Still on cooldown
         }
         
-        // Get or look up the burn effect
-        final EntityEffect burnEffect = this.getBurnEffect();
+        // Burn (or Flame_Staff_Burn), resolved by the asset index
+        final EooAssetIndex.Assets assets = EooAssetIndex.get();
+        final EntityEffect burnEffect = assets.burn;
         if (burnEffect == null) {
             return;
         }
@@ -116,42 +88,8 @@ public class FireOnHitProcessor implements EffectProcessor {
         );
         
         if (applied) {
-            this.targetCooldowns.put(targetKey, now);
-            EooLogger.debug("FIRE_ON_HIT: Applied %s (%.0f%% chance)", this.cachedBurnEffectId, burnChance * 100);
-        }
-    }
-    
-    private EntityEffect getBurnEffect() {
-        if (this.cachedBurnEffect != null) {
-            return this.cachedBurnEffect;
-        }
-        
-        if (this.effectLookupAttempted) {
-            return null;
-        }
-        
-        this.effectLookupAttempted = true;
-        
-        for (final String effectId : BURN_EFFECT_IDS) {
-            this.cachedBurnEffect = (EntityEffect) EntityEffect.getAssetMap().getAsset(effectId);
-            if (this.cachedBurnEffect != null) {
-                this.cachedBurnEffectId = effectId;
-                EooLogger.debug("Found burn effect: %s", effectId);
-                return this.cachedBurnEffect;
-            }
-        }
-        
-        EooLogger.warn("No burn EntityEffect found.");
-        return null;
-    }
-    
-    private void cleanupOldCooldowns(final long now) {
-        final Iterator<Map.Entry<Integer, Long>> it = this.targetCooldowns.entrySet().iterator();
-        while (it.hasNext()) {
-            final Map.Entry<Integer, Long> entry = it.next();
-            if (now - entry.getValue() > BURN_COOLDOWN_MS * 2) {
-                it.remove();
-            }
+            context.getCooldowns().start(context.getTargetRef(), WeaponEffectType.FIRE_ON_HIT, BURN_COOLDOWN_MS);
+            EooLogger.debug("FIRE_ON_HIT: Applied %s (%.0f%% chance)", assets.burnId, burnChance * 100);
         }
     }
 }
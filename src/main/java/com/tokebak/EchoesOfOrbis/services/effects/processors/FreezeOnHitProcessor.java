@@ -5,12 +5,11 @@ import com.hypixel.hytale.server.core.entity.effect.EffectControllerComponent;
 import com.tokebak.EchoesOfOrbis.services.effects.EffectContext;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectInstance;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
+import com.tokebak.EchoesOfOrbis.utils.EooAssetIndex;
 import com.tokebak.EchoesOfOrbis.utils.EooLogger;
+import com.tokebak.EchoesOfOrbis.utils.EooRandom;
 import javax.annotation.Nonnull;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Random;
 
 /**
  * Processor for FREEZE_ON_HIT effect.
@@ -27,68 +26,45 @@ import java.util.Random;
  */
 public class FreezeOnHitProcessor implements EffectProcessor {
     
-    /**
-     * The ID of the Freeze EntityEffect asset in the game.
-     */
-    private static final String FREEZE_EFFECT_ID = "Freeze";
-    
     /**
      * Cooldown between freeze applications in milliseconds.
      * Longer cooldown since freeze is very powerful.
      */
     private static final long FREEZE_COOLDOWN_MS = 10000;
     
-    private final Random random = new Random();
-    
-    /**
-     * Cached reference to the Freeze EntityEffect asset.
-     */
-    private EntityEffect cachedFreezeEffect = null;
-    private boolean effectLookupAttempted = false;
-    
-    /**
-     * Cooldown tracker per target entity.
-     */
-    private final Map<Integer, Long> targetCooldowns = new HashMap<>();
-    private long lastCleanup = 0;
-    private static final long CLEANUP_INTERVAL_MS = 60000;
-    
     @Override
     public void onDamageDealt(
             @Nonnull final EffectContext context,
             @Nonnull final WeaponEffectInstance instance,
             @Nonnull final WeaponEffectDefinition definition
     ) {
-        // Calculate freeze chance based on effect level
-        final double freezeChance = definition.calculateValue(instance.getLevel());
-        
+        this.onDamageDealt(context, instance, definition, definition.calculateValue(instance.getLevel()));
+    }
+
+    @Override
+    public void onDamageDealt(
+            @Nonnull final EffectContext context,
+            @Nonnull final WeaponEffectInstance instance,
+            @Nonnull final WeaponEffectDefinition definition,
+            final double freezeChance
+    ) {
         if (freezeChance <= 0) {
             return;
         }
         
         // Roll the dice
-        final double roll = this.random.nextDouble();
+        final double roll = EooRandom.forStore(context.getStore()).nextDouble();
         if (roll >= freezeChance) {
             return;
         }
         
         // Check cooldown for this target
-        final int targetKey = context.getTargetRef().hashCode();
-        final long now = System.currentTimeMillis();
-        
-        // Periodically clean up old cooldown entries
-        if (now - this.lastCleanup > CLEANUP_INTERVAL_MS) {
-            this.cleanupOldCooldowns(now);
-            this.lastCleanup = now;
-        }
-        
-        final Long lastApplication = this.targetCooldowns.get(targetKey);
-        if (lastApplication != null && (now - lastApplication) < FREEZE_COOLDOWN_MS) {
+        if (context.getCooldowns().isOnCooldown(context.getTargetRef(), WeaponEffectType.FREEZE_ON_HIT)) {
             return; // Still on cooldown
         }
         
-        // Get or look up the freeze effect
-        final EntityEffect freezeEffect = this.getFreezeEffect();
+        // Resolved once by the asset index
+        final EntityEffect freezeEffect = EooAssetIndex.get().freeze;
         if (freezeEffect == null) {
             return;
         }
@@ -109,39 +85,8 @@ public class FreezeOnHitProcessor implements EffectProcessor {
         );
         
         if (applied) {
-            this.targetCooldowns.put(targetKey, now);
+            context.getCooldowns().start(context.getTargetRef(), WeaponEffectType.FREEZE_ON_HIT, FREEZE_COOLDOWN_MS);
             EooLogger.debug("FREEZE_ON_HIT: Applied Freeze (%.0f%% chance)", freezeChance * 100);
         }
     }
-    
-    private EntityEffect getFreezeEffect() {
-        if (this.cachedFreezeEffect != null) {
-            return this.cachedFreezeEffect;
-        }
-        
-        if (this.effectLookupAttempted) {
-            return null;
-        }
-        
-        this.effectLookupAttempted = true;
-        this.cachedFreezeEffect = (EntityEffect) EntityEffect.getAssetMap().getAsset(FREEZE_EFFECT_ID);
-        
-        if (this.cachedFreezeEffect != null) {
-            EooLogger.debug("Found freeze effect: %s", FREEZE_EFFECT_ID);
-        } else {
-            EooLogger.warn("Freeze EntityEffect not found.");
-        }
-        
-        return this.cachedFreezeEffect;
-    }
-    
-    private void cleanupOldCooldowns(final long now) {
-        final Iterator<Map.Entry<Integer, Long>> it = this.targetCooldowns.entrySet().iterator();
-        while (it.hasNext()) {
-            final Map.Entry<Integer, Long> entry = it.next();
-            if (now - entry.getValue() > FREEZE_COOLDOWN_MS * 2) {
-                it.remove();
-            }
-        }
-    }
 }
@@ -25,9 +25,16 @@ public class LifeLeechProcessor implements EffectProcessor {
             @Nonnull final WeaponEffectInstance instance,
             @Nonnull final WeaponEffectDefinition definition
     ) {
-        // Calculate heal amount based on effect level
-        final double leechPercent = definition.calculateValue(instance.getLevel());
-        
+        this.onDamageDealt(context, instance, definition, definition.calculateValue(instance.getLevel()));
+    }
+
+    @Override
+    public void onDamageDealt(
+            @Nonnull final EffectContext context,
+            @Nonnull final WeaponEffectInstance instance,
+            @Nonnull final WeaponEffectDefinition definition,
+            final double leechPercent
+    ) {
         if (leechPercent <= 0) {
             return; // No healing to apply
         }
@@ -5,11 +5,11 @@ import com.hypixel.hytale.server.core.entity.effect.EffectControllerComponent;
 import com.tokebak.EchoesOfOrbis.services.effects.EffectContext;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectInstance;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
+import com.tokebak.EchoesOfOrbis.utils.EooAssetIndex;
 import com.tokebak.EchoesOfOrbis.utils.EooLogger;
+import com.tokebak.EchoesOfOrbis.utils.EooRandom;
 import javax.annotation.Nonnull;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Random;
 
 /**
  * Processor for POISON_ON_HIT effect.
@@ -25,74 +25,46 @@ import java.util.Random;
  */
 public class PoisonOnHitProcessor implements EffectProcessor {
     
-    /**
-     * The IDs of poison EntityEffect assets in the game, in order of preference.
-     * Poison_T1 = 6 damage/5sec, Poison_T2 = 12 damage/5sec, Poison = 10 damage/5sec
-     */
-    private static final String[] POISON_EFFECT_IDS = {
-            "Poison_T1",
-            "Poison_T2",
-            "Poison",
-    };
-    
     /**
      * Cooldown between poison applications in milliseconds.
      * Prevents spam-applying poison every single hit.
      */
     private static final long POISON_COOLDOWN_MS = 8000;
     
-    private final Random random = new Random();
-    
-    /**
-     * Cached reference to the poison EntityEffect asset.
-     */
-    private EntityEffect cachedPoisonEffect = null;
-    private String cachedPoisonEffectId = null;
-    private boolean effectLookupAttempted = false;
-    
-    /**
-     * Cooldown tracker per target entity.
-     */
-    private final Map<Integer, Long> targetCooldowns = new java.util.HashMap<>();
-    private long lastCleanup = 0;
-    private static final long CLEANUP_INTERVAL_MS = 60000;
-    
     @Override
     public void onDamageDealt(
             @Nonnull final EffectContext context,
             @Nonnull final WeaponEffectInstance instance,
             @Nonnull final WeaponEffectDefinition definition
     ) {
-        // Calculate poison chance based on effect level
-        final double poisonChance = definition.calculateValue(instance.getLevel());
-        
+        this.onDamageDealt(context, instance, definition, definition.calculateValue(instance.getLevel()));
+    }
+
+    @Override
+    public void onDamageDealt(
+            @Nonnull final EffectContext context,
+            @Nonnull final WeaponEffectInstance instance,
+            @Nonnull final WeaponEffectDefinition definition,
+            final double poisonChance
+    ) {
         if (poisonChance <= 0) {
             return;
         }
         
         // Roll the dice
-        final double roll = this.random.nextDouble();
+        final double roll = EooRandom.forStore(context.getStore()).nextDouble();
         if (roll >= poisonChance) {
             return;
         }
         
         // Check cooldown for this target
-        final int targetKey = context.getTargetRef().hashCode();
-        final long now = System.currentTimeMillis();
-        
-        // Periodically clean up old cooldown entries
-        if (now - this.lastCleanup > CLEANUP_INTERVAL_MS) {
-            this.cleanupOldCooldowns(now);
-            this.lastCleanup = now;
-        }
-        
-        final Long lastApplication = this.targetCooldowns.get(targetKey);
-        if (lastApplication != null && (now - lastApplication) < POISON_COOLDOWN_MS) {
+        if (context.getCooldowns().isOnCooldown(context.getTargetRef(), WeaponEffectType.POISON_ON_HIT)) {
             return; // Still on cooldown
         }
         
-        // Get or look up the poison effect
-        final EntityEffect poisonEffect = this.getPoisonEffect();
+        // Poison_T1 (or Poison_T2 / Poison), resolved by the asset index
+        final EooAssetIndex.Assets assets = EooAssetIndex.get();
+        final EntityEffect poisonEffect = assets.poison;
         if (poisonEffect == null) {
             return;
         }
@@ -113,42 +85,8 @@ public class PoisonOnHitProcessor implements EffectProcessor {
         );
         
         if (applied) {
-            this.targetCooldowns.put(targetKey, now);
-            EooLogger.debug("POISON_ON_HIT: Applied %s (%.0f%% chance)", this.cachedPoisonEffectId, poisonChance * 100);
-        }
-    }
-    
-    private EntityEffect getPoisonEffect() {
-        if (this.cachedPoisonEffect != null) {
-            return this.cachedPoisonEffect;
-        }
-        
-        if (this.effectLookupAttempted) {
-            return null;
-        }
-        
-        this.effectLookupAttempted = true;
-        
-        for (final String effectId : POISON_EFFECT_IDS) {
-            this.cachedPoisonEffect = (EntityEffect) EntityEffect.getAssetMap().getAsset(effectId);
-            if (this.cachedPoisonEffect != null) {
-                this.cachedPoisonEffectId = effectId;
-                EooLogger.debug("Found poison effect: %s", effectId);
-                return this.cachedPoisonEffect;
-            }
-        }
-        
-        EooLogger.warn("No poison EntityEffect found.");
-        return null;
-    }
-    
-    private void cleanupOldCooldowns(final long now) {
-        final Iterator<Map.Entry<Integer, Long>> it = this.targetCooldowns.entrySet().iterator();
-        while (it.hasNext()) {
-            final Map.Entry<Integer, Long> entry = it.next();
-            if (now - entry.getValue() > POISON_COOLDOWN_MS * 2) {
-                it.remove();
-            }
+            context.getCooldowns().start(context.getTargetRef(), WeaponEffectType.POISON_ON_HIT, POISON_COOLDOWN_MS);
+            EooLogger.debug("POISON_ON_HIT: Applied %s (%.0f%% chance)", assets.poisonId, poisonChance * 100);
         }
     }
 }
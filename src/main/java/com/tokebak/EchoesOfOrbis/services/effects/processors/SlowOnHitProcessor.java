@@ -5,12 +5,11 @@ import com.hypixel.hytale.server.core.entity.effect.EffectControllerComponent;
 import com.tokebak.EchoesOfOrbis.services.effects.EffectContext;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectDefinition;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectInstance;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
+import com.tokebak.EchoesOfOrbis.utils.EooAssetIndex;
 import com.tokebak.EchoesOfOrbis.utils.EooLogger;
+import com.tokebak.EchoesOfOrbis.utils.EooRandom;
 import javax.annotation.Nonnull;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
-import java.util.Random;
 
 /**
  * Processor for SLOW_ON_HIT effect.
@@ -27,68 +26,45 @@ import java.util.Random;
  */
 public class SlowOnHitProcessor implements EffectProcessor {
     
-    /**
-     * The ID of the Slow EntityEffect asset in the game.
-     */
-    private static final String SLOW_EFFECT_ID = "Slow";
-    
     /**
      * Cooldown between slow applications in milliseconds.
      * Prevents stacking/extending too aggressively.
      */
     private static final long SLOW_COOLDOWN_MS = 5000;
     
-    private final Random random = new Random();
-    
-    /**
-     * Cached reference to the Slow EntityEffect asset.
-     */
-    private EntityEffect cachedSlowEffect = null;
-    private boolean effectLookupAttempted = false;
-    
-    /**
-     * Cooldown tracker per target entity.
-     */
-    private final Map<Integer, Long> targetCooldowns = new HashMap<>();
-    private long lastCleanup = 0;
-    private static final long CLEANUP_INTERVAL_MS = 60000;
-    
     @Override
     public void onDamageDealt(
             @Nonnull final EffectContext context,
             @Nonnull final WeaponEffectInstance instance,
             @Nonnull final WeaponEffectDefinition definition
     ) {
-        // Calculate slow chance based on effect level
-        final double slowChance = definition.calculateValue(instance.getLevel());
-        
+        this.onDamageDealt(context, instance, definition, definition.calculateValue(instance.getLevel()));
+    }
+
+    @Override
+    public void onDamageDealt(
+            @Nonnull final EffectContext context,
+            @Nonnull final WeaponEffectInstance instance,
+            @Nonnull final WeaponEffectDefinition definition,
+            final double slowChance
+    ) {
         if (slowChance <= 0) {
             return;
         }
         
         // Roll the dice
-        final double roll = this.random.nextDouble();
+        final double roll = EooRandom.forStore(context.getStore()).nextDouble();
         if (roll >= slowChance) {
             return;
         }
         
         // Check cooldown for this target
-        final int targetKey = context.getTargetRef().hashCode();
-        final long now = System.currentTimeMillis();
-        
-        // Periodically clean up old cooldown entries
-        if (now - this.lastCleanup > CLEANUP_INTERVAL_MS) {
-            this.cleanupOldCooldowns(now);
-            this.lastCleanup = now;
-        }
-        
-        final Long lastApplication = this.targetCooldowns.get(targetKey);
-        if (lastApplication != null && (now - lastApplication) < SLOW_COOLDOWN_MS) {
+        if (context.getCooldowns().isOnCooldown(context.getTargetRef(), WeaponEffectType.SLOW_ON_HIT)) {
             return; // Still on cooldown
         }
         
-        // Get or look up the slow effect
-        final EntityEffect slowEffect = this.getSlowEffect();
+        // Resolved once by the asset index
+        final EntityEffect slowEffect = EooAssetIndex.get().slow;
         if (slowEffect == null) {
             return;
         }
@@ -109,39 +85,8 @@ public class SlowOnHitProcessor implements EffectProcessor {
         );
         
         if (applied) {
-            this.targetCooldowns.put(targetKey, now);
+            context.getCooldowns().start(context.getTargetRef(), WeaponEffectType.SLOW_ON_HIT, SLOW_COOLDOWN_MS);
             EooLogger.debug("SLOW_ON_HIT: Applied Slow (%.0f%% chance)", slowChance * 100);
         }
     }
-    
-    private EntityEffect getSlowEffect() {
-        if (this.cachedSlowEffect != null) {
-            return this.cachedSlowEffect;
-        }
-        
-        if (this.effectLookupAttempted) {
-            return null;
-        }
-        
-        this.effectLookupAttempted = true;
-        this.cachedSlowEffect = (EntityEffect) EntityEffect.getAssetMap().getAsset(SLOW_EFFECT_ID);
-        
-        if (this.cachedSlowEffect != null) {
-            EooLogger.debug("Found slow effect: %s", SLOW_EFFECT_ID);
-        } else {
-            EooLogger.warn("Slow EntityEffect not found.");
-        }
-        
-        return this.cachedSlowEffect;
-    }
-    
-    private void cleanupOldCooldowns(final long now) {
-        final Iterator<Map.Entry<Integer, Long>> it = this.targetCooldowns.entrySet().iterator();
-        while (it.hasNext()) {
-            final Map.Entry<Integer, Long> entry = it.next();
-            if (now - entry.getValue() > SLOW_COOLDOWN_MS * 2) {
-                it.remove();
-            }
-        }
-    }
 }
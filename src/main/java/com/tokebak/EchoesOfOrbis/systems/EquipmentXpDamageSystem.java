@@ -0,0 +1,156 @@
+package com.tokebak.EchoesOfOrbis.systems;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.inventory.Inventory;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.tokebak.EchoesOfOrbis.services.BaubleContainerService;
+import com.tokebak.EchoesOfOrbis.services.ItemExpService;
+import com.tokebak.EchoesOfOrbis.services.PendingXpLedger;
+import com.tokebak.EchoesOfOrbis.services.XpCurveTable;
+import com.tokebak.EchoesOfOrbis.services.effects.processors.DamagePercentProcessor;
+import com.tokebak.EchoesOfOrbis.utils.ItemExpNotifications;
+import javax.annotation.Nonnull;
+
+/**
+ * Victim-side damage system: when a player takes damage from an entity, award XP to their
+ * equipped armor and rings.
+ *
+ * The query only matches Player entities, so mob-on-mob damage never reaches this system, and the
+ * Player component is read from the chunk instead of a store lookup.
+ */
+public class EquipmentXpDamageSystem extends DamageEventSystem {
+
+    private final ItemExpService itemExpService;
+    private final BaubleContainerService baubleContainerService;
+    private final PendingXpFlushSystem pendingXpFlushSystem;
+
+    public EquipmentXpDamageSystem(
+            @Nonnull final ItemExpService itemExpService,
+            @Nonnull final BaubleContainerService baubleContainerService,
+            @Nonnull final PendingXpFlushSystem pendingXpFlushSystem
+    ) {
+        super();
+        this.itemExpService = itemExpService;
+        this.baubleContainerService = baubleContainerService;
+        this.pendingXpFlushSystem = pendingXpFlushSystem;
+    }
+
+    @Override
+    public void handle(
+            final int index,
+            @Nonnull final ArchetypeChunk<EntityStore> archetypeChunk,
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final CommandBuffer<EntityStore> commandBuffer,
+            @Nonnull final Damage damage
+    ) {
+        if (damage.isCancelled() || damage.getAmount() <= 0) {
+            return;
+        }
+        // Extra damage events raised by EOO (thorns) don't count as a separate hit
+        if (DamagePercentProcessor.isBonusDamage(damage)) {
+            return;
+        }
+        // Only damage from entities (players/mobs) trains armor, not falls or fire
+        if (!(damage.getSource() instanceof Damage.EntitySource)) {
+            return;
+        }
+
+        final Player targetPlayer = archetypeChunk.getComponent(index, Player.getComponentType());
+        if (targetPlayer == null) {
+            return;
+        }
+        final PlayerRef targetPlayerRef = targetPlayer.getPlayerRef();
+        final Inventory targetInventory = targetPlayer.getInventory();
+        if (targetPlayerRef == null || targetInventory == null) {
+            return;
+        }
+        this.awardDefensiveXp(store, targetPlayerRef, targetInventory, damage.getAmount());
+    }
+
+    /**
+     * Defensive progression: one pass over the target's armor and bauble slots for a hit.
+     * XP is computed once, each piece costs one level lookup (the next level's threshold decides
+     * whether the hit crossed it), and the idle deadline is re-armed only for containers that
+     * actually earned XP. The XP stays live in the pending ledger until {@link PendingXpFlushSystem}
+     * checkpoints it.
+     */
+    private void awardDefensiveXp(
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final PlayerRef targetPlayerRef,
+            @Nonnull final Inventory targetInventory,
+            final float damageAmount
+    ) {
+        final double xpGained = this.itemExpService.calculateXpFromDamage(damageAmount);
+        if (xpGained <= 0) {
+            return;
+        }
+        final boolean armorEarned = this.awardContainer(
+                targetPlayerRef, targetInventory.getArmor(), PendingXpLedger.CONTAINER_ARMOR, xpGained);
+        final boolean ringsEarned = this.awardContainer(
+                targetPlayerRef, this.baubleContainerService.getOrCreate(targetPlayerRef), PendingXpLedger.CONTAINER_BAUBLE, xpGained);
+        if (armorEarned || ringsEarned) {
+            this.pendingXpFlushSystem.armEquipment(store, targetPlayerRef, armorEarned, ringsEarned);
+        }
+    }
+
+    /**
+     * Add XP to every XP-eligible item in an equipment container.
+     *
+     * @return true if any item earned XP
+     */
+    private boolean awardContainer(
+            @Nonnull final PlayerRef targetPlayerRef,
+            @Nonnull final ItemContainer container,
+            final int ledgerContainer,
+            final double xpGained
+    ) {
+        boolean earned = false;
+        final short capacity = container.getCapacity();
+        for (short slot = 0; slot < capacity; slot++) {
+            ItemStack stack = container.getItemStack(slot);
+            if (stack == null || ItemStack.isEmpty(stack) || !this.itemExpService.canGainXp(stack)) {
+                continue;
+            }
+            final ItemStack stamped = this.itemExpService.ensureItemUid(stack);
+            if (stamped != stack) {
+                // First XP for this piece: one-time write of its EOO item ID
+                container.setItemStackForSlot(slot, stamped);
+                stack = stamped;
+            }
+            final long uid = this.itemExpService.getItemUid(stack);
+            final double totalBefore = this.itemExpService.getItemXp(stack) + this.itemExpService.getPendingXp(targetPlayerRef, uid);
+            this.itemExpService.addPendingXp(targetPlayerRef, uid, ledgerContainer, slot, xpGained);
+            earned = true;
+
+            final XpCurveTable curve = this.itemExpService.getXpCurve(stack);
+            final int levelBefore = totalBefore > 0 ? curve.levelForXp(totalBefore) : 1;
+            if (levelBefore >= curve.getMaxLevel() || totalBefore + xpGained < curve.getXpForLevel(levelBefore + 1)) {
+                continue; // No level crossed (the common case)
+            }
+            // Level, embue and durability restore are written at the next checkpoint
+            final int levelAfter = curve.levelForXp(totalBefore + xpGained);
+            final int liveEmbues = this.itemExpService.getPendingEmbues(stack)
+                    + (levelAfter - this.itemExpService.getItemLevel(stack));
+            ItemExpNotifications.sendLevelUpNotificationWithIcon(targetPlayerRef, stack, levelAfter, liveEmbues, this.itemExpService);
+        }
+        return earned;
+    }
+
+    /**
+     * Only players take armor and ring XP.
+     */
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Player.getComponentType();
+    }
+}
@@ -162,6 +162,12 @@ public class HudDisplaySystem extends EntityTickingSystem<EntityStore> {
         
         // Slot changed! Update tracking
         this.lastActiveSlot.put(playerUuid, currentSlot);
+
+        // Slot-change checkpoint: write the live XP of the item we just put away into it
+        final PendingXpFlushSystem pendingXpFlushSystem = PendingXpFlushSystem.getInstance();
+        if (pendingXpFlushSystem != null && playerRef != null) {
+            pendingXpFlushSystem.checkpointHotbarSlot(entityRef, store, playerRef, inventory, previousSlot);
+        }
         
         // Handle the slot change
         this.handleSlotChange(entityRef, store, player, inventory, currentSlot);
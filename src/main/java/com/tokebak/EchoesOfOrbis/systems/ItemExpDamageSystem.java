@@ -4,89 +4,83 @@ import com.hypixel.hytale.component.ArchetypeChunk;
 import com.hypixel.hytale.component.CommandBuffer;
 import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.dependency.Dependency;
+import com.hypixel.hytale.component.dependency.Order;
+import com.hypixel.hytale.component.dependency.SystemDependency;
+import com.hypixel.hytale.component.dependency.SystemGroupDependency;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.server.core.asset.type.entityeffect.config.EntityEffect;
 import com.hypixel.hytale.server.core.entity.effect.EffectControllerComponent;
 import com.hypixel.hytale.server.core.entity.entities.Player;
 import com.hypixel.hytale.server.core.inventory.Inventory;
 import com.hypixel.hytale.server.core.inventory.ItemStack;
-import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageModule;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageSystems;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.tokebak.EchoesOfOrbis.config.EchoesOfOrbisConfig;
-import com.tokebak.EchoesOfOrbis.services.BaubleContainerService;
+import com.tokebak.EchoesOfOrbis.components.CombatSessionComponent;
+import com.tokebak.EchoesOfOrbis.components.MultishotArrowComponent;
+import com.tokebak.EchoesOfOrbis.services.EquipmentStatSnapshot;
+import com.tokebak.EchoesOfOrbis.services.EquipmentStatService;
 import com.tokebak.EchoesOfOrbis.services.ItemExpService;
-import com.tokebak.EchoesOfOrbis.services.PlayerStatModifierService;
 import com.tokebak.EchoesOfOrbis.services.RingHealthRegenEffectApplier;
 import com.tokebak.EchoesOfOrbis.services.effects.EffectContext;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectPhase;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectPlan;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponCategory;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponCategoryUtil;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
 import com.tokebak.EchoesOfOrbis.services.effects.processors.DamagePercentProcessor;
+import com.tokebak.EchoesOfOrbis.utils.EooClock;
 import com.tokebak.EchoesOfOrbis.utils.EooLogger;
-import com.tokebak.EchoesOfOrbis.utils.ItemExpNotifications;
 import com.tokebak.EchoesOfOrbis.utils.WeaponSwapUtil;
+import java.util.Set;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
 /**
- * System that listens for damage events and:
- * 1. Applies weapon effects (bonus damage, etc.) for leveled weapons
+ * Attacker-side damage system: for damage dealt BY a player it
+ * 1. Applies PRE_APPLY weapon effects (bonus damage, durability save) for leveled weapons and
+ *    hands the POST_APPLY ones (procs) to {@link WeaponEffectProcSystem}
  * 2. Awards XP to the attacking player's weapon
  *
- * Plugin-registered systems do not run in the engine's Filter damage phase, so
- * numeric bonus (e.g. DAMAGE_PERCENT) is applied as a second damage event.
+ * The damage target can be any entity, so the query stays open; the source is resolved first and
+ * everything that isn't a player attacker is rejected before touching the target. Armor and ring
+ * XP for damage taken is handled by {@link EquipmentXpDamageSystem}, which only matches players.
+ *
+ * Runs after the Filter group and before ApplyDamage (like PlayerAttackPowerDamageSystem), so
+ * numeric bonus from effects (e.g. DAMAGE_PERCENT) is folded into the hit with setAmount
+ * instead of raising a second damage event.
  */
 public class ItemExpDamageSystem extends DamageEventSystem {
 
     private final ItemExpService itemExpService;
-    private final EchoesOfOrbisConfig config;
-    private final HudDisplaySystem hudDisplaySystem;
-    private final BaubleContainerService baubleContainerService;
-
-    /**
-     * Time of inactivity (no damage dealt) before flushing pending XP (in milliseconds).
-     * This prevents weapon swaps from interrupting abilities like ultimates.
-     * XP is cached during active combat and flushed when combat ends.
-     */
-    private static final long COMBAT_IDLE_FLUSH_MS = 3000; // 3 seconds
-    
-    /**
-     * Minimum time between damage events to allow level up (in milliseconds).
-     * If hits are coming faster than this, we're in rapid-fire combat (like an ultimate)
-     * and should delay the level up to avoid interrupting the ability.
-     * 50ms is very fast - only ultimates/charged attacks hit this rate.
-     */
-    private static final long LEVEL_UP_DELAY_THRESHOLD_MS = 50; // 50ms
-    
-    /**
-     * Tracks last damage time per player/slot for combat idle detection.
-     * Key: playerUUID:slot, Value: timestamp (ms)
-     */
-    private final java.util.Map<String, Long> lastDamageTime = new java.util.concurrent.ConcurrentHashMap<>();
+    private final EquipmentStatService equipmentStatService;
+    private final PendingXpFlushSystem pendingXpFlushSystem;
 
     private static final long HEALTH_REGEN_APPLY_COOLDOWN_MS = 5000; // 5 sec between re-applications when dealing damage
-    private final java.util.Map<String, Long> healthRegenLastApplyTime = new java.util.concurrent.ConcurrentHashMap<>();
-
-    /**
-     * Tracks last damage-taken time per player for armor XP idle flush.
-     * Key: player UUID, Value: timestamp (ms)
-     */
-    private final java.util.Map<String, Long> lastDamageTakenTime = new java.util.concurrent.ConcurrentHashMap<>();
 
     public ItemExpDamageSystem(
             @Nonnull final ItemExpService itemExpService,
-            @Nonnull final EchoesOfOrbisConfig config,
-            @Nonnull final HudDisplaySystem hudDisplaySystem,
-            @Nonnull final BaubleContainerService baubleContainerService
+            @Nonnull final EquipmentStatService equipmentStatService,
+            @Nonnull final PendingXpFlushSystem pendingXpFlushSystem
     ) {
         super();
         this.itemExpService = itemExpService;
-        this.config = config;
-        this.hudDisplaySystem = hudDisplaySystem;
-        this.baubleContainerService = baubleContainerService;
+        this.equipmentStatService = equipmentStatService;
+        this.pendingXpFlushSystem = pendingXpFlushSystem;
+    }
+
+    @Nonnull
+    @Override
+    public Set<Dependency<EntityStore>> getDependencies() {
+        return Set.of(
+                new SystemGroupDependency<EntityStore>(Order.AFTER, DamageModule.get().getFilterDamageGroup()),
+                new SystemDependency<EntityStore, DamageSystems.ApplyDamage>(Order.BEFORE, DamageSystems.ApplyDamage.class)
+        );
     }
 
     /**
@@ -111,41 +105,18 @@ public class ItemExpDamageSystem extends DamageEventSystem {
             return;
         }
 
-        // Get the damage source - we only care about entity sources (players/mobs)
+        // Resolve the source once, before any component lookup: most damage in a busy world is
+        // mob-on-mob or environmental and is rejected here for the cost of an instanceof
         final Damage.Source source = damage.getSource();
-
-        // Pattern matching: check if source is an EntitySource
         if (!(source instanceof final Damage.EntitySource entitySource)) {
             return; // Not entity damage (fall damage, fire, etc.)
         }
-
-        // Get the attacker's entity reference
         final Ref<EntityStore> attackerRef = (Ref<EntityStore>) entitySource.getRef();
         if (attackerRef == null || !attackerRef.isValid()) {
             return;
         }
-        
-        // Get the target entity reference (the one being damaged)
-        final Ref<EntityStore> targetRef = archetypeChunk.getReferenceTo(index);
-        if (targetRef == null || !targetRef.isValid()) {
-            return;
-        }
 
-        // ==================== ARMOR XP (taking damage) ====================
-        // When the target is a player, award XP to their equipped armor and rings.
-        final Player targetPlayer = (Player) store.getComponent((Ref) targetRef, Player.getComponentType());
-        if (targetPlayer != null) {
-            final PlayerRef targetPlayerRef = (PlayerRef) store.getComponent((Ref) targetRef, PlayerRef.getComponentType());
-            if (targetPlayerRef != null) {
-                final Inventory targetInventory = targetPlayer.getInventory();
-                if (targetInventory != null) {
-                    this.awardArmorXpForDamageTaken(targetPlayerRef, targetInventory, damage.getAmount());
-                    this.awardRingXpForDamageTaken(targetPlayerRef, targetInventory, damage.getAmount());
-                }
-            }
-        }
-
-        // Check if attacker is a player (not an NPC/mob)
+        // Check if attacker is a player (not an NPC/mob); the only store lookup for non-player attackers
         final Player attackerPlayer = (Player) store.getComponent(
                 (Ref) attackerRef,
                 Player.getComponentType()
@@ -155,22 +126,25 @@ public class ItemExpDamageSystem extends DamageEventSystem {
         }
 
         // Get the PlayerRef for notifications and inventory access
-        final PlayerRef playerRef = (PlayerRef) store.getComponent(
-                (Ref) attackerRef,
-                PlayerRef.getComponentType()
-        );
+        final PlayerRef playerRef = attackerPlayer.getPlayerRef();
         if (playerRef == null) {
             return;
         }
 
+        // Get the target entity reference (the one being damaged)
+        final Ref<EntityStore> targetRef = archetypeChunk.getReferenceTo(index);
+        if (targetRef == null || !targetRef.isValid()) {
+            return;
+        }
+
         // Get the player's inventory
         final Inventory inventory = attackerPlayer.getInventory();
         if (inventory == null) {
             return;
         }
 
-        // Get the weapon they're holding (not final - may be updated after idle flush)
-        ItemStack weapon = inventory.getActiveHotbarItem();
+        // Get the weapon they're holding
+        final ItemStack weapon = inventory.getActiveHotbarItem();
         if (weapon == null || !this.itemExpService.canGainXp(weapon)) {
             return; // No weapon or weapon can't gain XP
         }
@@ -178,6 +152,9 @@ public class ItemExpDamageSystem extends DamageEventSystem {
         // Get weapon level for effects
         final int weaponLevel = this.itemExpService.getItemLevel(weapon);
 
+        // XP is based on the hit itself, not the bonus effects fold into it
+        final float damageDealt = damage.getAmount();
+
         // ==================== APPLY WEAPON EFFECTS ====================
         // Apply effects BEFORE awarding XP (bonus damage, life leech, etc.)
         if (weaponLevel > 1) {
@@ -195,279 +172,32 @@ public class ItemExpDamageSystem extends DamageEventSystem {
         }
 
         // ==================== RING: SIGNATURE ENERGY + HEALTH REGEN ====================
-        var bauble = this.baubleContainerService.getOrCreate(playerRef);
-        double sigBonus = PlayerStatModifierService.getSignatureEnergyBonusFromRings(bauble, this.itemExpService.getEffectsService())
-                + PlayerStatModifierService.getSignatureEnergyBonusFromArmor(inventory.getArmor(), this.itemExpService.getEffectsService());
+        final EquipmentStatSnapshot equipment = this.equipmentStatService.get(attackerPlayer);
+        final double sigBonus = equipment.total(WeaponEffectType.RING_SIGNATURE_ENERGY);
         if (sigBonus > 0) {
             WeaponSwapUtil.addSignatureEnergy(attackerRef, store, (float) sigBonus);
         }
-        this.applyRingHealthRegenToSelf(attackerRef, playerRef, store, commandBuffer, bauble);
+        this.applyRingHealthRegenToSelf(attackerRef, playerRef, store, commandBuffer,
+                equipment.fromRings(WeaponEffectType.RING_HEALTH_REGEN));
 
-        // ==================== AWARD XP (with combat idle flush) ====================
+        // ==================== AWARD XP (live; written to the item at the next checkpoint) ====================
         // Calculate XP to award based on original damage dealt
-        final float damageDealt = damage.getAmount();
         final double xpGained = this.itemExpService.calculateXpFromDamage(damageDealt);
 
         if (xpGained <= 0) {
             return;
         }
 
-        // Get slot and check combat idle timing
         final byte activeSlot = inventory.getActiveHotbarSlot();
-        final String playerSlotKey = this.itemExpService.getPendingXpKey(playerRef, activeSlot);
-        final long now = System.currentTimeMillis();
-        final Long lastDamage = this.lastDamageTime.get(playerSlotKey);
-        final boolean wasIdle = lastDamage != null && (now - lastDamage) >= COMBAT_IDLE_FLUSH_MS;
-        
-        // Update last damage time
-        this.lastDamageTime.put(playerSlotKey, now);
-        
-        // If we were idle (combat ended), flush any pending XP first (weapon + rings)
-        if (wasIdle) {
-            this.flushAllRingsPendingXp(playerRef);
-            final double pendingXp = this.itemExpService.getPendingXp(playerRef, activeSlot);
-            if (pendingXp > 0) {
-                this.flushPendingXpAndSwap(playerRef, attackerRef, inventory, store, activeSlot, weapon, false);
-                // Get the updated weapon after flush
-                weapon = inventory.getActiveHotbarItem();
-                // Update the HUD after flushing idle XP
-                this.hudDisplaySystem.updateHudForPlayer(playerRef, weapon, activeSlot);
-            }
-        }
-        
-        // Check if this XP gain would cause a level up
-        final double currentXp = this.itemExpService.getTotalXpWithPending(weapon, playerRef, activeSlot);
-        final int currentLevel = this.itemExpService.getItemLevel(weapon);
-        final double totalXpAfter = currentXp + xpGained;
-        final int levelAfter = this.itemExpService.calculateLevelFromXp(totalXpAfter);
-        final boolean wouldLevelUp = levelAfter > currentLevel;
-        
-        // Cache the XP
-        this.itemExpService.addPendingXp(playerRef, activeSlot, xpGained);
-
-        // Update the HUD to show the new pending XP (even though not flushed yet)
-        this.hudDisplaySystem.updateHudForPlayer(playerRef, weapon, activeSlot);
-        
-        // If level up, check if we're in rapid-fire combat - if so, delay the level up
-        if (wouldLevelUp) {
-            // Check if hits are coming very fast (rapid-fire, like an ultimate)
-            // If the previous hit was within LEVEL_UP_DELAY_THRESHOLD_MS, delay the level up
-            final boolean isRapidFire = lastDamage != null && (now - lastDamage) < LEVEL_UP_DELAY_THRESHOLD_MS;
-            
-            if (isRapidFire) {
-                final double pendingTotal = this.itemExpService.getPendingXp(playerRef, activeSlot);
-                EooLogger.debug("+%.2f XP (pending: %.2f) | LEVEL UP QUEUED %d->%d (rapid-fire %dms)",
-                        xpGained, pendingTotal, currentLevel, levelAfter, (now - lastDamage));
-                // Send XP notification even when delaying level up
-                if (this.config.isShowXpNotifications() && xpGained >= this.config.getMinXpForNotification()) {
-                    ItemExpNotifications.sendXpGainNotification(playerRef, xpGained, weapon, this.itemExpService);
-                }
-                // Don't do the swap - just cache and wait for a gap in combat
-                return;
-            }
-            
-            this.flushAllRingsPendingXp(playerRef);
-            this.flushPendingXpAndSwap(playerRef, attackerRef, inventory, store, activeSlot, weapon, true);
-            final ItemStack updatedWeapon = inventory.getActiveHotbarItem();
-            
-            // Update the HUD with the new level
-            this.hudDisplaySystem.updateHudForPlayer(playerRef, updatedWeapon, activeSlot);
-            
-            // Send level up notification with icon
-            ItemExpNotifications.sendLevelUpNotificationWithIcon(playerRef, updatedWeapon, levelAfter, this.itemExpService);
-            
-            EooLogger.debug("Level up! %d -> %d | Effects: %s",
-                    currentLevel, levelAfter,
-                    this.itemExpService.getEffectsService().getEffectsSummary(updatedWeapon));
-            
-            return; // Level up handled, we're done
-        }
-        
-        if (EooLogger.isDebug()) {
-            final double pendingTotal = this.itemExpService.getPendingXp(playerRef, activeSlot);
-            EooLogger.debug("Cached %.2f XP (pending total: %.2f, will flush after %dms idle)",
-                    xpGained, pendingTotal, COMBAT_IDLE_FLUSH_MS);
-        }
-        
-        // Send XP notification if enabled
-        if (this.config.isShowXpNotifications() && xpGained >= this.config.getMinXpForNotification()) {
-            ItemExpNotifications.sendXpGainNotification(playerRef, xpGained, weapon, this.itemExpService);
-        }
-    }
-    
-    /**
-     * Flush all rings' pending XP for this player into the bauble container.
-     */
-    private void flushAllRingsPendingXp(@Nonnull final PlayerRef playerRef) {
-        final ItemContainer bauble = this.baubleContainerService.getOrCreate(playerRef);
-        final short capacity = bauble.getCapacity();
-        for (short slot = 0; slot < capacity; slot++) {
-            final ItemStack stack = bauble.getItemStack(slot);
-            if (stack == null || ItemStack.isEmpty(stack) || !this.itemExpService.canGainXp(stack)) {
-                continue;
-            }
-            final double pending = this.itemExpService.getPendingXpForRing(playerRef, slot);
-            if (pending <= 0) {
-                continue;
-            }
-            final ItemStack updated = this.itemExpService.flushPendingXpForRing(stack, playerRef, slot);
-            bauble.setItemStackForSlot(slot, updated);
-        }
-    }
-
-    /**
-     * Flush all armor slots' pending XP for this player into the armor container.
-     */
-    private void flushAllArmorPendingXp(@Nonnull final PlayerRef playerRef, @Nonnull final ItemContainer armor) {
-        final short capacity = armor.getCapacity();
-        for (short slot = 0; slot < capacity; slot++) {
-            final ItemStack stack = armor.getItemStack(slot);
-            if (stack == null || ItemStack.isEmpty(stack) || !this.itemExpService.canGainXp(stack)) {
-                continue;
-            }
-            final double pending = this.itemExpService.getPendingXpForArmor(playerRef, slot);
-            if (pending <= 0) {
-                continue;
-            }
-            final ItemStack updated = this.itemExpService.flushPendingXpForArmor(stack, playerRef, slot);
-            armor.setItemStackForSlot(slot, updated);
-        }
-    }
-
-    /**
-     * Award XP to the target player's equipped armor when they take damage.
-     * Uses the same combat-idle flush as weapons: flush pending armor XP when they haven't taken damage for a while.
-     */
-    private void awardArmorXpForDamageTaken(
-            @Nonnull final PlayerRef targetPlayerRef,
-            @Nonnull final Inventory targetInventory,
-            final float damageAmount
-    ) {
-        final double xpGained = this.itemExpService.calculateXpFromDamage(damageAmount);
-        if (xpGained <= 0) {
+        if (activeSlot < 0) {
             return;
         }
-        final ItemContainer armor = targetInventory.getArmor();
-        final short capacity = armor.getCapacity();
-        final String targetKey = targetPlayerRef.getUuid().toString();
-        final long now = System.currentTimeMillis();
-        final Long lastTaken = this.lastDamageTakenTime.get(targetKey);
-        final boolean wasIdle = lastTaken != null && (now - lastTaken) >= COMBAT_IDLE_FLUSH_MS;
-        this.lastDamageTakenTime.put(targetKey, now);
-
-        if (wasIdle) {
-            this.flushAllArmorPendingXp(targetPlayerRef, armor);
-        }
-
-        for (short slot = 0; slot < capacity; slot++) {
-            ItemStack stack = armor.getItemStack(slot);
-            if (stack == null || ItemStack.isEmpty(stack) || !this.itemExpService.canGainXp(stack)) {
-                continue;
-            }
-            this.itemExpService.addPendingXpForArmor(targetPlayerRef, slot, xpGained);
-            final double totalXp = this.itemExpService.getTotalXpWithPendingForArmor(stack, targetPlayerRef, slot);
-            final int levelAfter = this.itemExpService.calculateLevelFromXp(totalXp);
-            final int currentLevel = this.itemExpService.getItemLevel(stack);
-            if (levelAfter > currentLevel) {
-                ItemStack updated = this.itemExpService.flushPendingXpForArmor(stack, targetPlayerRef, slot);
-                updated = this.itemExpService.updateWeaponEffects(updated, levelAfter);
-                updated = this.itemExpService.addPendingEmbues(updated, levelAfter - currentLevel);
-                updated = updated.withDurability(updated.getMaxDurability());
-                armor.setItemStackForSlot(slot, updated);
-                ItemExpNotifications.sendLevelUpNotificationWithIcon(targetPlayerRef, updated, levelAfter, this.itemExpService);
-            }
-        }
+        // Summed per tick: the level check, HUD and notifications run once per burst (ultimates, multishot),
+        // and without an item rewrite a level up can't interrupt the ability
+        this.pendingXpFlushSystem.awardHotbarXp(store, playerRef, activeSlot, weapon, xpGained, true);
+        EooLogger.debug("Queued %.2f XP for slot %d (level check at end of tick)", xpGained, activeSlot);
     }
 
-    /**
-     * Award XP to the target player's equipped rings when they take damage.
-     * Uses the same combat-idle flush as armor: flush pending ring XP when they haven't taken damage for a while.
-     */
-    private void awardRingXpForDamageTaken(
-            @Nonnull final PlayerRef targetPlayerRef,
-            @Nonnull final Inventory targetInventory,
-            final float damageAmount
-    ) {
-        final double xpGained = this.itemExpService.calculateXpFromDamage(damageAmount);
-        if (xpGained <= 0) {
-            return;
-        }
-        final ItemContainer bauble = this.baubleContainerService.getOrCreate(targetPlayerRef);
-        final short capacity = bauble.getCapacity();
-        final String targetKey = targetPlayerRef.getUuid().toString();
-        final long now = System.currentTimeMillis();
-        final Long lastTaken = this.lastDamageTakenTime.get(targetKey);
-        final boolean wasIdle = lastTaken != null && (now - lastTaken) >= COMBAT_IDLE_FLUSH_MS;
-        this.lastDamageTakenTime.put(targetKey, now);
-
-        if (wasIdle) {
-            this.flushAllRingsPendingXp(targetPlayerRef);
-        }
-
-        for (short slot = 0; slot < capacity; slot++) {
-            ItemStack stack = bauble.getItemStack(slot);
-            if (stack == null || ItemStack.isEmpty(stack) || !this.itemExpService.canGainXp(stack)) {
-                continue;
-            }
-            this.itemExpService.addPendingXpForRing(targetPlayerRef, slot, xpGained);
-            final double totalXp = this.itemExpService.getTotalXpWithPendingForRing(stack, targetPlayerRef, slot);
-            final int levelAfter = this.itemExpService.calculateLevelFromXp(totalXp);
-            final int currentLevel = this.itemExpService.getItemLevel(stack);
-            if (levelAfter > currentLevel) {
-                ItemStack updated = this.itemExpService.flushPendingXpForRing(stack, targetPlayerRef, slot);
-                updated = this.itemExpService.updateWeaponEffects(updated, levelAfter);
-                updated = this.itemExpService.addPendingEmbues(updated, levelAfter - currentLevel);
-                updated = updated.withDurability(updated.getMaxDurability());
-                bauble.setItemStackForSlot(slot, updated);
-                ItemExpNotifications.sendLevelUpNotificationWithIcon(targetPlayerRef, updated, levelAfter, this.itemExpService);
-            }
-        }
-    }
-
-    /**
-     * Flush pending XP and swap the weapon in the hotbar.
-     * 
-     * @param isLevelUp If true, apply level-up bonuses (durability restore)
-     */
-    private void flushPendingXpAndSwap(
-            @Nonnull final PlayerRef playerRef,
-            @Nonnull final Ref<EntityStore> attackerRef,
-            @Nonnull final Inventory inventory,
-            @Nonnull final Store<EntityStore> store,
-            final byte slot,
-            @Nonnull ItemStack weapon,
-            final boolean isLevelUp
-    ) {
-        // Capture level BEFORE flushing XP (so we know which milestone levels were crossed)
-        final int levelBefore = this.itemExpService.getItemLevel(weapon);
-        final double pendingXp = this.itemExpService.getPendingXp(playerRef, slot);
-        
-        if (EooLogger.isDebug()) {
-            final double xpBefore = this.itemExpService.getItemXp(weapon);
-            EooLogger.debug("flushPendingXpAndSwap: BEFORE flush - Level=%d, StoredXP=%.2f, PendingXP=%.2f",
-                    levelBefore, xpBefore, pendingXp);
-        }
-        
-        // Flush pending XP to the weapon
-        weapon = this.itemExpService.flushPendingXp(weapon, playerRef, slot);
-        
-        // Get the new level AFTER flushing
-        final int levelAfter = this.itemExpService.getItemLevel(weapon);
-        
-        // Effects are static - only change when player selects upgrade (no auto-update)
-        weapon = this.itemExpService.updateWeaponEffects(weapon, levelAfter);
-        
-        // Every level crossed gives 1 pending embue (Vampire Survivors style)
-        weapon = this.itemExpService.addPendingEmbues(weapon, levelAfter - levelBefore);
-        
-        // Swap the weapon: preserve SignatureEnergy normally, maximize on level up
-        if (isLevelUp) {
-            WeaponSwapUtil.swapWeaponAndMaximizeSignature(attackerRef, store, inventory, slot, weapon);
-        } else {
-            WeaponSwapUtil.swapWeaponPreservingSignature(attackerRef, store, inventory, slot, weapon);
-        }
-    }
-    
     /**
      * Apply weapon effects when dealing damage.
      */
@@ -499,10 +229,22 @@ public class ItemExpDamageSystem extends DamageEventSystem {
                 .weaponCategory(category)
                 .store(store)
                 .commandBuffer(commandBuffer)
+                .cooldowns(effectsService.getCooldowns())
+                .multishotArrow(MultishotArrowComponent.isFrom(damage, store))
                 .build();
         
-        // Apply all on-damage effects (filtered by category)
-        effectsService.applyOnDamageEffects(context);
+        // Damage modifiers run now; procs run after ApplyDamage, once the hit has landed
+        final EffectPlan plan = effectsService.getEffectPlan(weapon, category);
+        plan.apply(context, EffectPhase.PRE_APPLY);
+        if (plan.has(EffectPhase.POST_APPLY)) {
+            damage.getMetaStore().putMetaObject(WeaponEffectProcSystem.PENDING_PROCS, context);
+        }
+
+        // Fold bonus damage into this hit (one damage event, one combat number showing the total)
+        final float bonusDamage = context.getBonusDamage();
+        if (bonusDamage > 0) {
+            damage.setAmount(damage.getAmount() + bonusDamage);
+        }
         
         // Check if durability save was triggered - restore durability preemptively
         // The durability loss system will subtract, but we add first, so net = 0
@@ -527,16 +269,16 @@ public class ItemExpDamageSystem extends DamageEventSystem {
             @Nonnull final PlayerRef playerRef,
             @Nonnull final Store<EntityStore> store,
             @Nonnull final CommandBuffer<EntityStore> commandBuffer,
-            @Nullable final ItemContainer bauble
+            final double regenBonus
     ) {
-        if (bauble == null) return;
-        double regenBonus = PlayerStatModifierService.getHealthRegenBonusFromRings(bauble, this.itemExpService.getEffectsService());
         if (regenBonus <= 0) return;
 
-        final String playerKey = playerRef.getUuid().toString();
-        final long now = System.currentTimeMillis();
-        final Long lastApply = this.healthRegenLastApplyTime.get(playerKey);
-        if (lastApply != null && (now - lastApply) < HEALTH_REGEN_APPLY_COOLDOWN_MS) {
+        final CombatSessionComponent session = commandBuffer.getComponent(attackerRef, CombatSessionComponent.getComponentType());
+        if (session == null) return;
+        final long now = EooClock.millis(store);
+        final long lastApply = session.getHealthRegenAppliedAt();
+        // A timestamp from another world's clock can be slightly ahead; treat that as expired
+        if (lastApply != 0L && now >= lastApply && (now - lastApply) < HEALTH_REGEN_APPLY_COOLDOWN_MS) {
             return;
         }
 
@@ -550,7 +292,7 @@ public class ItemExpDamageSystem extends DamageEventSystem {
 
         final boolean applied = effectController.addEffect(attackerRef, regenEffect, commandBuffer);
         if (applied) {
-            this.healthRegenLastApplyTime.put(playerKey, now);
+            session.setHealthRegenAppliedAt(now);
         }
     }
 
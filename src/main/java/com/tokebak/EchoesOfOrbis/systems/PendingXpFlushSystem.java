@@ -0,0 +1,765 @@
+package com.tokebak.EchoesOfOrbis.systems;
+
+import com.hypixel.hytale.component.Ref;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.inventory.Inventory;
+import com.hypixel.hytale.server.core.inventory.ItemStack;
+import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
+import com.hypixel.hytale.server.core.universe.PlayerRef;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.tokebak.EchoesOfOrbis.config.EchoesOfOrbisConfig;
+import com.tokebak.EchoesOfOrbis.config.EooConfig;
+import com.tokebak.EchoesOfOrbis.services.BaubleContainerService;
+import com.tokebak.EchoesOfOrbis.services.ItemExpService;
+import com.tokebak.EchoesOfOrbis.services.PendingXpLedger;
+import com.tokebak.EchoesOfOrbis.utils.EooLogger;
+import com.tokebak.EchoesOfOrbis.utils.HashedTimingWheel;
+import com.tokebak.EchoesOfOrbis.utils.ItemExpNotifications;
+import com.tokebak.EchoesOfOrbis.utils.WeaponSwapUtil;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Owns live (not yet materialized) weapon, armor and ring XP and decides when it is written
+ * into ItemStack metadata. During combat or mining XP only goes into the pending ledger; items
+ * are rewritten at checkpoints: combat idle ({@link #COMBAT_IDLE_FLUSH_MS}), hotbar slot change,
+ * opening the upgrade UI, disconnect and a periodic autosave.
+ *
+ * Pending XP is keyed by each item's stable EOO item ID (stamped on its first XP gain), so moving
+ * an item needs no bookkeeping: a checkpoint looks the item up where it last gained XP and, if it
+ * has moved since, searches the player's containers for it.
+ *
+ * Hotbar hits are summed per tick and committed once at the start of the next tick, so a burst
+ * (ultimate, multishot) costs one ledger write, one level check and one HUD update. Each commit
+ * re-arms a per-player/slot deadline on a hashed timing wheel (O(1), no allocation after the
+ * first hit). The wheel is advanced once per world tick and only the deadlines that actually
+ * expire are visited, so idle players and long fights cost nothing per tick.
+ *
+ * Each world store gets its own wheel, and a wheel is only touched from its world's thread
+ * (damage events and this system's tick both run there).
+ */
+public class PendingXpFlushSystem extends TickingSystem<EntityStore> {
+
+    /**
+     * Time of inactivity before flushing pending XP (in milliseconds).
+     * XP is cached during active combat so weapon swaps don't interrupt abilities like ultimates.
+     */
+    public static final long COMBAT_IDLE_FLUSH_MS = 3000; // 3 seconds
+
+    /** 128 buckets x 50ms = 6.4s per rotation, so an idle deadline is always within one lap. */
+    private static final int WHEEL_BUCKETS = 128;
+    private static final long WHEEL_TICK_MS = 50;
+
+    /** Checkpoint everything still pending this often, even mid-combat (the journal covers crashes in between). */
+    private static final long AUTOSAVE_INTERVAL_MS = 5 * 60 * 1000;
+
+    /**
+     * Player containers searched for an item that moved away from where it last gained XP.
+     * The first three match the ledger's container hints.
+     */
+    private static final int SEARCH_HOTBAR = PendingXpLedger.CONTAINER_HOTBAR;
+    private static final int SEARCH_ARMOR = PendingXpLedger.CONTAINER_ARMOR;
+    private static final int SEARCH_BAUBLE = PendingXpLedger.CONTAINER_BAUBLE;
+    private static final int SEARCH_STORAGE = 3;
+    private static final int SEARCH_BACKPACK = 4;
+    private static final int SEARCH_CONTAINER_COUNT = 5;
+
+    private final ItemExpService itemExpService;
+    private final HudDisplaySystem hudDisplaySystem;
+    private final BaubleContainerService baubleContainerService;
+
+    private final Map<Store<EntityStore>, WorldTimers> worlds = new ConcurrentHashMap<>();
+
+    private static volatile PendingXpFlushSystem instance;
+
+    public static void setInstance(@Nullable final PendingXpFlushSystem system) {
+        instance = system;
+    }
+
+    @Nullable
+    public static PendingXpFlushSystem getInstance() {
+        return instance;
+    }
+
+    public PendingXpFlushSystem(
+            @Nonnull final ItemExpService itemExpService,
+            @Nonnull final HudDisplaySystem hudDisplaySystem,
+            @Nonnull final BaubleContainerService baubleContainerService
+    ) {
+        this.itemExpService = itemExpService;
+        this.hudDisplaySystem = hudDisplaySystem;
+        this.baubleContainerService = baubleContainerService;
+    }
+
+    @Override
+    public void tick(final float dt, final int systemIndex, @Nonnull final Store<EntityStore> store) {
+        final WorldTimers world = this.worlds.get(store);
+        if (world == null) {
+            return;
+        }
+        if (!world.bursts.isEmpty()) {
+            this.commitBursts(store, world);
+        }
+        world.carryMillis += dt * 1000.0;
+        final long elapsed = (long) world.carryMillis;
+        if (elapsed <= 0) {
+            return;
+        }
+        world.carryMillis -= elapsed;
+        world.wheel.advance(elapsed, timer -> this.onIdle(store, world, timer));
+
+        world.sinceAutosaveMillis += elapsed;
+        if (world.sinceAutosaveMillis >= AUTOSAVE_INTERVAL_MS) {
+            world.sinceAutosaveMillis = 0;
+            this.autosave(store, world);
+        }
+    }
+
+    // ==================== ARMING (called from damage handlers) ====================
+
+    /**
+     * Re-arm the idle deadlines for the player's armor and/or rings after a hit that gave them XP.
+     * Each container has its own deadline, so armor and rings are flushed independently and a
+     * container that earned nothing is not re-armed.
+     */
+    public void armEquipment(
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final PlayerRef playerRef,
+            final boolean armor,
+            final boolean rings
+    ) {
+        final WorldTimers world = this.getOrCreateWorld(store);
+        final PlayerTimers timers = world.getOrCreatePlayer(playerRef);
+        if (armor) {
+            world.arm(timers.armor);
+        }
+        if (rings) {
+            world.arm(timers.rings);
+        }
+    }
+
+    /**
+     * Forget a world's timers when the world is removed. Pending XP is not touched: it stays in the
+     * ledger and journal and is checkpointed in whichever world the player is in next.
+     */
+    public void onWorldRemoved(@Nonnull final Store<EntityStore> store) {
+        this.worlds.remove(store);
+    }
+
+    @Nonnull
+    private WorldTimers getOrCreateWorld(@Nonnull final Store<EntityStore> store) {
+        return this.worlds.computeIfAbsent(store, s -> new WorldTimers());
+    }
+
+    // ==================== LIVE XP (no item rewrite, coalesced per tick) ====================
+
+    /**
+     * Award XP to a hotbar item (weapon or tool) without rewriting the ItemStack.
+     * Hits are only summed here; at the start of the next tick each player/slot's sum goes into the
+     * pending ledger in one step and the level check, HUD refresh and notification run once
+     * (see {@link #commitBursts}). An ultimate or multishot landing dozens of hits therefore costs one
+     * ledger/journal write and at most one level-up, announced after the burst.
+     *
+     * An item that has no EOO item ID yet is stamped when its first burst opens, so the burst can
+     * follow it by ID even if it leaves the slot before the commit.
+     *
+     * @param notifyXpGain Send the "+XP" notification for this burst (when enabled in config)
+     */
+    public void awardHotbarXp(
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final PlayerRef playerRef,
+            final byte slot,
+            @Nonnull final ItemStack item,
+            final double xp,
+            final boolean notifyXpGain
+    ) {
+        if (xp <= 0 || slot < 0) {
+            return;
+        }
+        final WorldTimers world = this.getOrCreateWorld(store);
+        final HitBurst burst = world.getOrCreatePlayer(playerRef).hotbarBurst(slot);
+        if (burst.xp <= 0) {
+            burst.item = this.stampOnFirstHit(store, playerRef, slot, item);
+            world.bursts.add(burst);
+        }
+        burst.xp += xp;
+        burst.notifyXpGain |= notifyXpGain;
+    }
+
+    /**
+     * Stamp an unstamped item still in the hit slot (a one-time rewrite), returning the stamped stack.
+     */
+    @Nonnull
+    private ItemStack stampOnFirstHit(
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final PlayerRef playerRef,
+            final byte slot,
+            @Nonnull final ItemStack item
+    ) {
+        if (this.itemExpService.getItemUid(item) != 0L) {
+            return item;
+        }
+        final Ref<EntityStore> ref = playerRef.getReference();
+        final Player player = ref != null && ref.isValid() && ref.getStore() == store
+                ? (Player) store.getComponent((Ref) ref, Player.getComponentType())
+                : null;
+        final Inventory inventory = player != null ? player.getInventory() : null;
+        if (inventory == null) {
+            return item;
+        }
+        final ItemStack current = inventory.getHotbar().getItemStack((short) slot);
+        if (current == null || ItemStack.isEmpty(current) || !this.isSameItem(current, item)) {
+            return item;
+        }
+        return this.stampHotbarItem(ref, store, inventory, slot, current);
+    }
+
+    /**
+     * Apply every burst summed since the last tick: one ledger add, one idle re-arm, one level check,
+     * HUD refresh and notification per player/slot. A level crossed during the burst is announced
+     * right away (notification, full signature energy) and materialized with the XP at the checkpoint.
+     */
+    private void commitBursts(@Nonnull final Store<EntityStore> store, @Nonnull final WorldTimers world) {
+        final List<HitBurst> bursts = world.bursts;
+        for (int i = 0, n = bursts.size(); i < n; i++) {
+            final HitBurst burst = bursts.get(i);
+            final double xp = burst.xp;
+            final ItemStack hitItem = burst.item;
+            final boolean notifyXpGain = burst.notifyXpGain;
+            burst.reset();
+            this.commitBurst(store, world, burst.owner.playerRef, burst.slot, hitItem, xp, notifyXpGain);
+        }
+        bursts.clear();
+    }
+
+    private void commitBurst(
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final WorldTimers world,
+            @Nonnull final PlayerRef playerRef,
+            final byte slot,
+            @Nonnull final ItemStack hitItem,
+            final double xp,
+            final boolean notifyXpGain
+    ) {
+        final Ref<EntityStore> ref = playerRef.getReference();
+        final Player player = ref != null && ref.isValid() && ref.getStore() == store
+                ? (Player) store.getComponent((Ref) ref, Player.getComponentType())
+                : null;
+        if (player == null || player.getInventory() == null) {
+            // Left during the tick; disconnect already checkpointed the rest, the journal keeps this burst
+            this.keepUndeliveredBurst(playerRef, hitItem, xp, null, null, null);
+            return;
+        }
+        final Inventory inventory = player.getInventory();
+        ItemStack item = inventory.getHotbar().getItemStack((short) slot);
+        if (item == null || ItemStack.isEmpty(item) || !this.isSameItem(item, hitItem)) {
+            // Item left the slot this tick: keep the XP under its ID and write it wherever the item went
+            this.keepUndeliveredBurst(playerRef, hitItem, xp, ref, store, inventory);
+            return;
+        }
+        item = this.stampHotbarItem(ref, store, inventory, slot, item);
+        final long uid = this.itemExpService.getItemUid(item);
+
+        final IdleTimer timer = world.getOrCreatePlayer(playerRef).hotbarTimer(slot);
+        if (timer.isArmed() && timer.itemUid != uid) {
+            // A different item took this slot while the previous one still had live XP
+            this.checkpointItem(ref, store, playerRef, inventory, timer.itemUid);
+        }
+        timer.itemUid = uid;
+
+        final double totalBefore = this.itemExpService.getTotalXpWithPending(item, playerRef);
+        final int levelBefore = this.itemExpService.calculateLevelFromXp(item, totalBefore);
+        this.itemExpService.addPendingXp(playerRef, uid, PendingXpLedger.CONTAINER_HOTBAR, slot, xp);
+        world.arm(timer);
+        final int levelAfter = this.itemExpService.calculateLevelFromXp(item, totalBefore + xp);
+
+        if (inventory.getActiveHotbarSlot() == slot) {
+            this.hudDisplaySystem.updateHudForPlayer(playerRef, item, slot);
+        }
+        if (levelAfter > levelBefore) {
+            // No swap, so there is no game-side reset to wait for
+            WeaponSwapUtil.maximizeSignatureEnergy(ref, store);
+            final int liveEmbues = this.itemExpService.getPendingEmbues(item)
+                    + (levelAfter - this.itemExpService.getItemLevel(item));
+            ItemExpNotifications.sendLevelUpNotificationWithIcon(playerRef, item, levelAfter, liveEmbues, this.itemExpService);
+            EooLogger.debug("Level up! %d -> %d after a %.2f XP burst (materialized at next checkpoint)",
+                    levelBefore, levelAfter, xp);
+            return;
+        }
+        final EchoesOfOrbisConfig config = EooConfig.get();
+        if (notifyXpGain && config.isShowXpNotifications() && xp >= config.getMinXpForNotification()) {
+            ItemExpNotifications.sendXpGainNotification(playerRef, xp, item, this.itemExpService);
+        }
+    }
+
+    /**
+     * Keep the XP of a burst whose item is no longer in its hotbar slot (moved, dropped, or the
+     * player left) instead of losing it. The XP stays pending under the item's ID: for an online
+     * player it goes into the ledger (and journal) and the item is checkpointed wherever it is now;
+     * for a player who left it only goes into the journal, which hands it back on their next login.
+     *
+     * Items are stamped when their first burst opens (see {@link #awardHotbarXp}), so an unstamped
+     * item only reaches this point if the player had no inventory to stamp it in.
+     */
+    private void keepUndeliveredBurst(
+            @Nonnull final PlayerRef playerRef,
+            @Nonnull final ItemStack hitItem,
+            final double xp,
+            @Nullable final Ref<EntityStore> ref,
+            @Nullable final Store<EntityStore> store,
+            @Nullable final Inventory inventory
+    ) {
+        final long uid = this.itemExpService.getItemUid(hitItem);
+        if (uid == 0L) {
+            EooLogger.debug("Burst of %.2f XP dropped: item could not be stamped and left the hotbar", xp);
+            return;
+        }
+        if (ref == null || store == null || inventory == null) {
+            if (!this.itemExpService.addPendingXpOffline(playerRef.getUuid(), uid, xp)) {
+                EooLogger.debug("Burst of %.2f XP for item %d dropped: player left and no journal is open", xp, uid);
+            }
+            return;
+        }
+        this.itemExpService.addPendingXp(playerRef, uid, PendingXpLedger.NO_HINT, PendingXpLedger.NO_HINT, xp);
+        this.checkpointItem(ref, store, playerRef, inventory, uid);
+    }
+
+    // ==================== CHECKPOINTS ====================
+
+    private void onIdle(
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final WorldTimers world,
+            @Nonnull final IdleTimer timer
+    ) {
+        final PlayerTimers owner = timer.owner;
+        if (!owner.isArmed()) {
+            world.players.remove(owner.playerRef.getUuid());
+        }
+
+        // Player left or moved to another world: their pending XP stays in the ledger
+        final Ref<EntityStore> ref = owner.playerRef.getReference();
+        if (ref == null || !ref.isValid() || ref.getStore() != store) {
+            return;
+        }
+        final Player player = (Player) store.getComponent((Ref) ref, Player.getComponentType());
+        if (player == null || player.getInventory() == null) {
+            return;
+        }
+        final Inventory inventory = player.getInventory();
+
+        switch (timer.container) {
+            case PendingXpLedger.CONTAINER_HOTBAR -> {
+                if (this.checkpointItem(ref, store, owner.playerRef, inventory, timer.itemUid)) {
+                    EooLogger.debug("Idle flush: hotbar slot %d after %dms without combat", timer.slot, COMBAT_IDLE_FLUSH_MS);
+                }
+            }
+            case PendingXpLedger.CONTAINER_ARMOR, PendingXpLedger.CONTAINER_BAUBLE ->
+                    this.checkpointEarnedIn(ref, store, owner.playerRef, inventory, timer.container);
+            default -> { }
+        }
+    }
+
+    /**
+     * Autosave checkpoint: materialize everything pending for players this world is tracking.
+     */
+    private void autosave(@Nonnull final Store<EntityStore> store, @Nonnull final WorldTimers world) {
+        for (final PlayerTimers timers : world.players.values()) {
+            final Ref<EntityStore> ref = timers.playerRef.getReference();
+            if (ref == null || !ref.isValid() || ref.getStore() != store) {
+                continue;
+            }
+            final Player player = (Player) store.getComponent((Ref) ref, Player.getComponentType());
+            if (player != null && player.getInventory() != null) {
+                this.flushAllPendingXp(ref, store, timers.playerRef, player.getInventory());
+            }
+        }
+    }
+
+    /**
+     * Flush all of a player's pending XP (hotbar, armor, rings, and items moved to storage or the
+     * backpack) in one pass over their containers, e.g. on login, disconnect, autosave or before
+     * opening the upgrade UI. Pending XP for an item that is in none of those containers (dropped
+     * or stored in a chest) stays pending and journaled until the item is back; the journal drops
+     * it only once the item has gained nothing for {@link com.tokebak.EchoesOfOrbis.services.PendingXpJournal#MAX_PENDING_AGE_MS}.
+     */
+    public void flushAllPendingXp(
+            @Nonnull final Ref<EntityStore> ref,
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final PlayerRef playerRef,
+            @Nonnull final Inventory inventory
+    ) {
+        final PendingXpLedger ledger = this.itemExpService.getPendingXpLedger(playerRef);
+        if (ledger == null || ledger.isEmpty()) {
+            return;
+        }
+        for (int kind = 0; kind < SEARCH_CONTAINER_COUNT && !ledger.isEmpty(); kind++) {
+            final ItemContainer container = this.searchContainer(playerRef, inventory, kind);
+            if (container == null) {
+                continue;
+            }
+            final short capacity = container.getCapacity();
+            for (short slot = 0; slot < capacity; slot++) {
+                final ItemStack stack = container.getItemStack(slot);
+                final long uid = this.itemExpService.getItemUid(stack);
+                if (uid != 0L && ledger.get(uid) > 0) {
+                    this.writeBack(ref, store, playerRef, inventory, kind, slot, this.materialize(stack, playerRef, kind));
+                }
+            }
+        }
+        if (!ledger.isEmpty()) {
+            EooLogger.debug("Flush: %d item(s) with pending XP are not in the inventory, their XP stays pending", ledger.size());
+        }
+    }
+
+    /**
+     * Materialize the pending XP of the item currently in a hotbar slot (slot change, etc.).
+     * The active slot is swapped preserving SignatureEnergy; other slots are written directly.
+     *
+     * @return true if the item was rewritten
+     */
+    public boolean checkpointHotbarSlot(
+            @Nonnull final Ref<EntityStore> ref,
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final PlayerRef playerRef,
+            @Nonnull final Inventory inventory,
+            final byte slot
+    ) {
+        if (slot < 0) {
+            return false;
+        }
+        final ItemStack item = inventory.getHotbar().getItemStack((short) slot);
+        final long uid = this.itemExpService.getItemUid(item);
+        if (uid == 0L || this.itemExpService.getPendingXp(playerRef, uid) <= 0) {
+            return false;
+        }
+        this.writeBack(ref, store, playerRef, inventory, SEARCH_HOTBAR, slot, this.materialize(item, playerRef, SEARCH_HOTBAR));
+        return true;
+    }
+
+    /**
+     * Materialize one item's pending XP wherever the item is now. Looks first where it last gained
+     * XP, then searches hotbar, armor, rings, storage and backpack.
+     *
+     * @return true if the item was found and rewritten
+     */
+    public boolean checkpointItem(
+            @Nonnull final Ref<EntityStore> ref,
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final PlayerRef playerRef,
+            @Nonnull final Inventory inventory,
+            final long itemUid
+    ) {
+        final PendingXpLedger ledger = this.itemExpService.getPendingXpLedger(playerRef);
+        final int index = ledger != null && itemUid != 0L ? ledger.indexOf(itemUid) : -1;
+        if (index < 0) {
+            return false;
+        }
+        final int hintContainer = ledger.containerAt(index);
+        final int hintSlot = ledger.slotAt(index);
+        if (hintContainer != PendingXpLedger.NO_HINT) {
+            final ItemContainer container = this.searchContainer(playerRef, inventory, hintContainer);
+            if (container != null && hintSlot < container.getCapacity()
+                    && this.checkpointIfMatches(ref, store, playerRef, inventory, container, hintContainer, (short) hintSlot, itemUid)) {
+                return true;
+            }
+        }
+        for (int kind = 0; kind < SEARCH_CONTAINER_COUNT; kind++) {
+            final ItemContainer container = this.searchContainer(playerRef, inventory, kind);
+            if (container == null) {
+                continue;
+            }
+            final short capacity = container.getCapacity();
+            for (short slot = 0; slot < capacity; slot++) {
+                if (this.checkpointIfMatches(ref, store, playerRef, inventory, container, kind, slot, itemUid)) {
+                    EooLogger.debug("Checkpoint: item %d moved, found in container %d slot %d", itemUid, kind, slot);
+                    return true;
+                }
+            }
+        }
+        EooLogger.debug("Checkpoint: item %d is not in the inventory, its XP stays pending", itemUid);
+        return false;
+    }
+
+    /**
+     * Materialize every item whose pending XP was last earned in the given ledger container
+     * (armor or rings idle deadline), wherever those items are now.
+     */
+    private void checkpointEarnedIn(
+            @Nonnull final Ref<EntityStore> ref,
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final PlayerRef playerRef,
+            @Nonnull final Inventory inventory,
+            final int ledgerContainer
+    ) {
+        final PendingXpLedger ledger = this.itemExpService.getPendingXpLedger(playerRef);
+        if (ledger == null || ledger.isEmpty()) {
+            return;
+        }
+        final long[] uids = ledger.uids();
+        for (final long uid : uids) {
+            final int index = ledger.indexOf(uid);
+            if (index >= 0 && ledger.containerAt(index) == ledgerContainer) {
+                this.checkpointItem(ref, store, playerRef, inventory, uid);
+            }
+        }
+    }
+
+    private boolean checkpointIfMatches(
+            @Nonnull final Ref<EntityStore> ref,
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final PlayerRef playerRef,
+            @Nonnull final Inventory inventory,
+            @Nonnull final ItemContainer container,
+            final int kind,
+            final short slot,
+            final long itemUid
+    ) {
+        final ItemStack stack = container.getItemStack(slot);
+        if (this.itemExpService.getItemUid(stack) != itemUid) {
+            return false;
+        }
+        this.writeBack(ref, store, playerRef, inventory, kind, slot, this.materialize(stack, playerRef, kind));
+        return true;
+    }
+
+    @Nullable
+    private ItemContainer searchContainer(
+            @Nonnull final PlayerRef playerRef,
+            @Nonnull final Inventory inventory,
+            final int kind
+    ) {
+        return switch (kind) {
+            case SEARCH_HOTBAR -> inventory.getHotbar();
+            case SEARCH_ARMOR -> inventory.getArmor();
+            case SEARCH_BAUBLE -> this.baubleContainerService.getOrCreate(playerRef);
+            case SEARCH_STORAGE -> inventory.getStorage();
+            case SEARCH_BACKPACK -> inventory.getBackpack();
+            default -> null;
+        };
+    }
+
+    /**
+     * Put a materialized item back in its slot. The active hotbar item is swapped preserving
+     * SignatureEnergy (and the HUD refreshed); everything else is written directly.
+     */
+    private void writeBack(
+            @Nonnull final Ref<EntityStore> ref,
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final PlayerRef playerRef,
+            @Nonnull final Inventory inventory,
+            final int kind,
+            final short slot,
+            @Nonnull final ItemStack updated
+    ) {
+        if (kind == SEARCH_HOTBAR && inventory.getActiveHotbarSlot() == slot) {
+            WeaponSwapUtil.swapWeaponPreservingSignature(ref, store, inventory, slot, updated);
+            this.hudDisplaySystem.updateHudForPlayer(playerRef, updated, (byte) slot);
+            return;
+        }
+        final ItemContainer container = this.searchContainer(playerRef, inventory, kind);
+        if (container != null) {
+            container.setItemStackForSlot(slot, updated);
+        }
+    }
+
+    /**
+     * Stamp a hotbar item with its EOO item ID the first time it gains XP (a one-time rewrite).
+     */
+    @Nonnull
+    private ItemStack stampHotbarItem(
+            @Nonnull final Ref<EntityStore> ref,
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final Inventory inventory,
+            final byte slot,
+            @Nonnull final ItemStack item
+    ) {
+        final ItemStack stamped = this.itemExpService.ensureItemUid(item);
+        if (stamped == item) {
+            return item;
+        }
+        if (inventory.getActiveHotbarSlot() == slot) {
+            WeaponSwapUtil.swapWeaponPreservingSignature(ref, store, inventory, slot, stamped);
+        } else {
+            inventory.getHotbar().setItemStackForSlot((short) slot, stamped);
+        }
+        return stamped;
+    }
+
+    /**
+     * True if the item now in the slot is the one that was hit with: same EOO item ID, or for an
+     * item that hasn't been stamped yet, the same item type.
+     */
+    private boolean isSameItem(@Nonnull final ItemStack current, @Nonnull final ItemStack hitItem) {
+        final long hitUid = this.itemExpService.getItemUid(hitItem);
+        if (hitUid != 0L) {
+            return this.itemExpService.getItemUid(current) == hitUid;
+        }
+        return Objects.equals(current.getItemId(), hitItem.getItemId());
+    }
+
+    /**
+     * Write an item's pending XP into it in one metadata write. Every level crossed since the
+     * last checkpoint gives 1 pending embue (Vampire Survivors style); equipped armor and rings
+     * also get their level-up durability restore here.
+     */
+    @Nonnull
+    private ItemStack materialize(
+            @Nonnull final ItemStack item,
+            @Nonnull final PlayerRef playerRef,
+            final int kind
+    ) {
+        final int levelBefore = this.itemExpService.getItemLevel(item);
+        final double storedXp = this.itemExpService.getItemXp(item);
+        final double pendingXp = this.itemExpService.getPendingXp(playerRef, this.itemExpService.getItemUid(item));
+        final int levelAfter = this.itemExpService.calculateLevelFromXp(item, storedXp + Math.max(0.0, pendingXp));
+        final int levelsGained = levelAfter - levelBefore;
+
+        if (EooLogger.isDebug()) {
+            EooLogger.debug("Checkpoint %s (container=%d): Level=%d, StoredXP=%.2f, PendingXP=%.2f -> Level=%d",
+                    item.getItemId(), kind, levelBefore, storedXp, pendingXp, levelAfter);
+        }
+
+        ItemStack updated = this.itemExpService.flushPendingXp(item, playerRef, levelsGained);
+        if (levelsGained > 0) {
+            // Effects are static - only change when player selects upgrade (no auto-update)
+            updated = this.itemExpService.updateWeaponEffects(updated, levelAfter);
+            if (kind == SEARCH_ARMOR || kind == SEARCH_BAUBLE) {
+                updated = updated.withDurability(updated.getMaxDurability());
+            }
+        }
+        return updated;
+    }
+
+    // ==================== TIMER STATE ====================
+
+    /**
+     * Wheel plus timer nodes for one world store.
+     */
+    private static final class WorldTimers {
+        private final HashedTimingWheel<IdleTimer> wheel = new HashedTimingWheel<>(WHEEL_BUCKETS, WHEEL_TICK_MS);
+        /** Players with at least one armed timer; entries drop out once every timer has fired. */
+        private final Map<UUID, PlayerTimers> players = new HashMap<>();
+        /** Hotbar bursts with XP summed since the last tick, in first-hit order. */
+        private final List<HitBurst> bursts = new ArrayList<>();
+        /** Sub-millisecond remainder of tick deltas. */
+        private double carryMillis;
+        private long sinceAutosaveMillis;
+
+        @Nonnull
+        private PlayerTimers getOrCreatePlayer(@Nonnull final PlayerRef playerRef) {
+            final PlayerTimers timers = this.players.computeIfAbsent(playerRef.getUuid(), uuid -> new PlayerTimers(playerRef));
+            // A reconnect within the idle window hands us a new PlayerRef for the same UUID
+            timers.playerRef = playerRef;
+            return timers;
+        }
+
+        private void arm(@Nonnull final IdleTimer timer) {
+            this.wheel.schedule(timer, COMBAT_IDLE_FLUSH_MS);
+        }
+    }
+
+    /**
+     * Idle timers for one player: one per hotbar slot, one for armor, one for rings.
+     */
+    private static final class PlayerTimers {
+        private PlayerRef playerRef;
+        private IdleTimer[] hotbar = new IdleTimer[9];
+        private HitBurst[] hotbarBursts = new HitBurst[9];
+        private final IdleTimer armor;
+        private final IdleTimer rings;
+
+        private PlayerTimers(@Nonnull final PlayerRef playerRef) {
+            this.playerRef = playerRef;
+            this.armor = new IdleTimer(this, PendingXpLedger.CONTAINER_ARMOR, (byte) -1);
+            this.rings = new IdleTimer(this, PendingXpLedger.CONTAINER_BAUBLE, (byte) -1);
+        }
+
+        @Nonnull
+        private IdleTimer hotbarTimer(final byte slot) {
+            if (slot >= this.hotbar.length) {
+                final IdleTimer[] grown = new IdleTimer[slot + 1];
+                System.arraycopy(this.hotbar, 0, grown, 0, this.hotbar.length);
+                this.hotbar = grown;
+            }
+            IdleTimer timer = this.hotbar[slot];
+            if (timer == null) {
+                timer = new IdleTimer(this, PendingXpLedger.CONTAINER_HOTBAR, slot);
+                this.hotbar[slot] = timer;
+            }
+            return timer;
+        }
+
+        @Nonnull
+        private HitBurst hotbarBurst(final byte slot) {
+            if (slot >= this.hotbarBursts.length) {
+                final HitBurst[] grown = new HitBurst[slot + 1];
+                System.arraycopy(this.hotbarBursts, 0, grown, 0, this.hotbarBursts.length);
+                this.hotbarBursts = grown;
+            }
+            HitBurst burst = this.hotbarBursts[slot];
+            if (burst == null) {
+                burst = new HitBurst(this, slot);
+                this.hotbarBursts[slot] = burst;
+            }
+            return burst;
+        }
+
+        private boolean isArmed() {
+            if (this.armor.isArmed() || this.rings.isArmed()) {
+                return true;
+            }
+            for (final IdleTimer timer : this.hotbar) {
+                if (timer != null && timer.isArmed()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class IdleTimer extends HashedTimingWheel.Timer {
+        private final PlayerTimers owner;
+        private final int container;
+        private final byte slot;
+        /** Hotbar timers: the item whose live XP this deadline flushes. */
+        private long itemUid;
+
+        private IdleTimer(@Nonnull final PlayerTimers owner, final int container, final byte slot) {
+            this.owner = owner;
+            this.container = container;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * XP from the hits on one hotbar slot within the current tick.
+     */
+    private static final class HitBurst {
+        private final PlayerTimers owner;
+        private final byte slot;
+        private double xp;
+        @Nullable
+        private ItemStack item;
+        private boolean notifyXpGain;
+
+        private HitBurst(@Nonnull final PlayerTimers owner, final byte slot) {
+            this.owner = owner;
+            this.slot = slot;
+        }
+
+        private void reset() {
+            this.xp = 0.0;
+            this.item = null;
+            this.notifyXpGain = false;
+        }
+    }
+}
@@ -16,29 +16,23 @@ import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageModule;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageSystems;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.tokebak.EchoesOfOrbis.services.BaubleContainerService;
-import com.tokebak.EchoesOfOrbis.services.PlayerStatModifierService;
-import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
+import com.tokebak.EchoesOfOrbis.services.EquipmentStatService;
 
 import javax.annotation.Nonnull;
 import java.util.Set;
 
 /**
  * Applies attack power multiplier from ring effects (RING_ATTACK_POWER) to damage dealt by players.
- * Multiplier = 1.0 + sum of RING_ATTACK_POWER values from bauble rings.
+ * Multiplier = 1.0 + sum of RING_ATTACK_POWER values from bauble rings, read from the player's
+ * equipment snapshot (rebuilt only when rings or armor change).
  * Runs after filter damage group and before ApplyDamage.
  */
 public final class PlayerAttackPowerDamageSystem extends DamageEventSystem {
 
-    private final BaubleContainerService baubleContainerService;
-    private final WeaponEffectsService effectsService;
+    private final EquipmentStatService equipmentStatService;
 
-    public PlayerAttackPowerDamageSystem(
-            @Nonnull BaubleContainerService baubleContainerService,
-            @Nonnull WeaponEffectsService effectsService
-    ) {
-        this.baubleContainerService = baubleContainerService;
-        this.effectsService = effectsService;
+    public PlayerAttackPowerDamageSystem(@Nonnull EquipmentStatService equipmentStatService) {
+        this.equipmentStatService = equipmentStatService;
     }
 
     @Nonnull
@@ -71,8 +65,7 @@ public final class PlayerAttackPowerDamageSystem extends DamageEventSystem {
         if (attackerRef == null || !attackerRef.isValid()) return;
         Player player = store.getComponent(attackerRef, Player.getComponentType());
         if (player == null) return;
-        var bauble = this.baubleContainerService.getOrCreate(player.getPlayerRef());
-        float multiplier = PlayerStatModifierService.getAttackPowerMultiplierFromRings(bauble, this.effectsService);
+        float multiplier = this.equipmentStatService.get(player).getAttackPowerMultiplier();
         float newAmount = damage.getAmount() * multiplier;
         damage.setAmount(newAmount);
     }
@@ -0,0 +1,45 @@
+package com.tokebak.EchoesOfOrbis.systems;
+
+import com.hypixel.hytale.component.AddReason;
+import com.hypixel.hytale.component.Holder;
+import com.hypixel.hytale.component.RemoveReason;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.component.system.HolderSystem;
+import com.hypixel.hytale.server.core.entity.entities.Player;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.tokebak.EchoesOfOrbis.components.CombatSessionComponent;
+import com.tokebak.EchoesOfOrbis.components.LiveProgressionComponent;
+import javax.annotation.Nonnull;
+
+/**
+ * Attaches the plugin's per-player components to every player entity as it is added to a world.
+ * They leave with the entity, so nothing has to be cleaned up on disconnect. A player changing
+ * worlds keeps the components already on their holder.
+ */
+public final class PlayerComponentsSystem extends HolderSystem<EntityStore> {
+
+    @Override
+    public void onEntityAdd(
+            @Nonnull final Holder<EntityStore> holder,
+            @Nonnull final AddReason reason,
+            @Nonnull final Store<EntityStore> store
+    ) {
+        holder.ensureComponent(LiveProgressionComponent.getComponentType());
+        holder.ensureComponent(CombatSessionComponent.getComponentType());
+    }
+
+    @Override
+    public void onEntityRemoved(
+            @Nonnull final Holder<EntityStore> holder,
+            @Nonnull final RemoveReason reason,
+            @Nonnull final Store<EntityStore> store
+    ) {
+    }
+
+    @Nonnull
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Player.getComponentType();
+    }
+}
@@ -6,16 +6,14 @@ import com.hypixel.hytale.component.Ref;
 import com.hypixel.hytale.component.Store;
 import com.hypixel.hytale.component.query.Query;
 import com.hypixel.hytale.server.core.entity.entities.Player;
-import com.hypixel.hytale.server.core.inventory.container.ItemContainer;
 import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageModule;
 import com.hypixel.hytale.server.core.modules.entity.damage.DamageSystems;
 import com.hypixel.hytale.component.system.EcsEvent;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
-import com.tokebak.EchoesOfOrbis.services.BaubleContainerService;
-import com.tokebak.EchoesOfOrbis.services.PlayerStatModifierService;
-import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
+import com.tokebak.EchoesOfOrbis.services.EquipmentStatService;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
 import com.tokebak.EchoesOfOrbis.services.effects.processors.DamagePercentProcessor;
 
 import javax.annotation.Nonnull;
@@ -29,19 +27,15 @@ import com.hypixel.hytale.component.dependency.SystemGroupDependency;
 
 /**
  * When the player (victim) takes damage from an entity, reflect thorns damage back at the attacker.
- * Only runs when the damage target is a player and the source is an entity; uses RING_THORNS from bauble rings.
+ * Only runs when the damage target is a player and the source is an entity; uses RING_THORNS from bauble rings
+ * and armor, read from the player's equipment snapshot.
  */
 public final class ThornsDamageSystem extends DamageEventSystem {
 
-    private final BaubleContainerService baubleContainerService;
-    private final WeaponEffectsService effectsService;
+    private final EquipmentStatService equipmentStatService;
 
-    public ThornsDamageSystem(
-            @Nonnull BaubleContainerService baubleContainerService,
-            @Nonnull WeaponEffectsService effectsService
-    ) {
-        this.baubleContainerService = baubleContainerService;
-        this.effectsService = effectsService;
+    public ThornsDamageSystem(@Nonnull EquipmentStatService equipmentStatService) {
+        this.equipmentStatService = equipmentStatService;
     }
 
     @Nonnull
@@ -82,10 +76,7 @@ public final class ThornsDamageSystem extends DamageEventSystem {
         if (attackerRef == null || !attackerRef.isValid()) return;
         if (attackerRef.equals(targetRef)) return;
 
-        var bauble = baubleContainerService.getOrCreate(victimPlayer.getPlayerRef());
-        ItemContainer armor = victimPlayer.getInventory() != null ? victimPlayer.getInventory().getArmor() : null;
-        double thornsAmount = PlayerStatModifierService.getThornsFromRings(bauble, effectsService)
-                + PlayerStatModifierService.getThornsFromArmor(armor, effectsService);
+        double thornsAmount = this.equipmentStatService.get(victimPlayer).total(WeaponEffectType.RING_THORNS);
         if (thornsAmount < 0.1) return;
 
         float thornsDamageAmount = (float) thornsAmount;
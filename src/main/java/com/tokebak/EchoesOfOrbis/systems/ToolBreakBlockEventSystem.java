@@ -26,15 +26,14 @@ import com.tokebak.EchoesOfOrbis.services.effects.WeaponCategory;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponCategoryUtil;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
-import com.tokebak.EchoesOfOrbis.utils.ItemExpNotifications;
 import com.tokebak.EchoesOfOrbis.utils.WeaponSwapUtil;
+import com.tokebak.EchoesOfOrbis.utils.EooRandom;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.ArrayDeque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Queue;
-import java.util.Random;
 import java.util.Set;
 
 /**
@@ -45,11 +44,8 @@ public final class ToolBreakBlockEventSystem extends com.hypixel.hytale.componen
 
     private final ItemExpService itemExpService;
     private final WeaponEffectsService effectsService;
-    private final HudDisplaySystem hudDisplaySystem;
-    private final Random random = new Random();
+    private final PendingXpFlushSystem pendingXpFlushSystem;
 
-    private static final double DURABILITY_SAVE_CAP = 0.50;
-    private static final double DROP_BONUS_CAP = 0.50;
 
     private static final double TOOL_XP_PER_BREAK = 2.0;
     /** Max connected support blocks to count (tree-fall); caps XP and avoids cost on huge structures. */
@@ -58,12 +54,12 @@ public final class ToolBreakBlockEventSystem extends com.hypixel.hytale.componen
     public ToolBreakBlockEventSystem(
             @Nonnull final ItemExpService itemExpService,
             @Nonnull final WeaponEffectsService effectsService,
-            @Nonnull final HudDisplaySystem hudDisplaySystem
+            @Nonnull final PendingXpFlushSystem pendingXpFlushSystem
     ) {
         super(BreakBlockEvent.class);
         this.itemExpService = itemExpService;
         this.effectsService = effectsService;
-        this.hudDisplaySystem = hudDisplaySystem;
+        this.pendingXpFlushSystem = pendingXpFlushSystem;
     }
 
     @Override
@@ -117,17 +113,17 @@ public final class ToolBreakBlockEventSystem extends com.hypixel.hytale.componen
 
         // ---- Durability save (tools) ----
         double saveChance = 0;
-        for (var inst : effectsService.getEffects(tool)) {
+        for (var inst : effectsService.getEffectsView(tool)) {
             if (inst.getType() == WeaponEffectType.DURABILITY_SAVE && inst.getType().appliesTo(WeaponCategory.TOOL)) {
                 var def = effectsService.getDefinition(inst.getType());
                 if (def != null) {
-                    saveChance = Math.min(DURABILITY_SAVE_CAP, def.calculateValue(inst.getLevel()));
+                    saveChance = def.calculateValue(inst.getLevel()); // capped by the definition's MaxValue
                     break;
                 }
             }
         }
         if (toolLevel > 1 && saveChance > 0) {
-            if (random.nextDouble() < saveChance) {
+            if (EooRandom.forStore(store).nextDouble() < saveChance) {
                 final double durabilityToRestore = BlockHarvestUtils.calculateDurabilityUse(tool.getItem(), blockType);
                 if (durabilityToRestore > 0 && !tool.isUnbreakable()) {
                     final ItemStack updatedTool = tool.withIncreasedDurability(durabilityToRestore);
@@ -137,7 +133,7 @@ public final class ToolBreakBlockEventSystem extends com.hypixel.hytale.componen
         }
 
         // Re-read tool from inventory in case durability save swapped it
-        ItemStack currentTool = inventory.getActiveHotbarItem();
+        final ItemStack currentTool = inventory.getActiveHotbarItem();
         if (currentTool == null || currentTool.isEmpty() || !WeaponCategoryUtil.isTool(currentTool)) {
             return;
         }
@@ -163,30 +159,17 @@ public final class ToolBreakBlockEventSystem extends com.hypixel.hytale.componen
                 xpToAdd += (result.totalCount - 1) * TOOL_XP_PER_BREAK; // -1: don't double-count the block we broke
             }
         }
-        itemExpService.addPendingXp(playerRef, activeSlot, xpToAdd);
-        final double totalXpAfter = itemExpService.getTotalXpWithPending(currentTool, playerRef, activeSlot);
-        final int levelAfter = itemExpService.calculateLevelFromXp(totalXpAfter);
-        if (levelAfter > currentToolLevel) {
-            ItemStack flushedTool = itemExpService.flushPendingXp(currentTool, playerRef, activeSlot);
-            flushedTool = itemExpService.updateWeaponEffects(flushedTool, levelAfter);
-            flushedTool = itemExpService.addPendingEmbues(flushedTool, levelAfter - currentToolLevel);
-            WeaponSwapUtil.swapWeaponAndMaximizeSignature(entityRef, store, inventory, activeSlot, flushedTool);
-            hudDisplaySystem.updateHudForPlayer(playerRef, flushedTool, activeSlot);
-            ItemExpNotifications.sendLevelUpNotificationWithIcon(playerRef, flushedTool, levelAfter, itemExpService);
-        } else {
-            ItemStack flushedTool = itemExpService.flushPendingXp(currentTool, playerRef, activeSlot);
-            inventory.getHotbar().setItemStackForSlot((short) activeSlot, flushedTool);
-            hudDisplaySystem.updateHudForPlayer(playerRef, flushedTool, activeSlot);
-        }
+        // Live XP, coalesced per tick; the tool is rewritten at the next checkpoint (idle, slot change, ...)
+        pendingXpFlushSystem.awardHotbarXp(store, playerRef, activeSlot, currentTool, xpToAdd, false);
 
         // ---- Bonus drops (TOOL_DROP_BONUS) ----
         if (currentToolLevel > 1) {
             double bonusPercent = 0;
-            for (var inst : effectsService.getEffects(currentTool)) {
+            for (var inst : effectsService.getEffectsView(currentTool)) {
                 if (inst.getType() == WeaponEffectType.TOOL_DROP_BONUS) {
                     var def = effectsService.getDefinition(inst.getType());
                     if (def != null) {
-                        bonusPercent = Math.min(DROP_BONUS_CAP, def.calculateValue(inst.getLevel()));
+                        bonusPercent = def.calculateValue(inst.getLevel()); // capped by the definition's MaxValue
                         break;
                     }
                 }
@@ -291,7 +274,7 @@ public final class ToolBreakBlockEventSystem extends com.hypixel.hytale.componen
         }
 
         // n% chance to drop one extra block (not "always n% more blocks")
-        if (random.nextDouble() >= bonusPercent) {
+        if (EooRandom.forStore(store).nextDouble() >= bonusPercent) {
             return;
         }
 
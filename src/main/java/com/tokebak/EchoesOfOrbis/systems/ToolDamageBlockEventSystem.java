@@ -18,8 +18,6 @@ import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.tokebak.EchoesOfOrbis.services.ItemExpService;
 import com.tokebak.EchoesOfOrbis.utils.EooLogger;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponCategoryUtil;
-import com.tokebak.EchoesOfOrbis.utils.ItemExpNotifications;
-import com.tokebak.EchoesOfOrbis.utils.WeaponSwapUtil;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -35,15 +33,15 @@ public final class ToolDamageBlockEventSystem extends com.hypixel.hytale.compone
     private static final double TOOL_XP_PER_HARVEST_DROP = 2.0;
 
     private final ItemExpService itemExpService;
-    private final HudDisplaySystem hudDisplaySystem;
+    private final PendingXpFlushSystem pendingXpFlushSystem;
 
     public ToolDamageBlockEventSystem(
             @Nonnull final ItemExpService itemExpService,
-            @Nonnull final HudDisplaySystem hudDisplaySystem
+            @Nonnull final PendingXpFlushSystem pendingXpFlushSystem
     ) {
         super(DamageBlockEvent.class);
         this.itemExpService = itemExpService;
-        this.hudDisplaySystem = hudDisplaySystem;
+        this.pendingXpFlushSystem = pendingXpFlushSystem;
     }
 
     @Override
@@ -114,29 +112,11 @@ public final class ToolDamageBlockEventSystem extends com.hypixel.hytale.compone
             return;
         }
 
-        final int currentToolLevel = itemExpService.getItemLevel(tool);
-        itemExpService.addPendingXp(playerRef, activeSlot, xpToAdd);
-        EooLogger.debug("ToolDamageBlockEventSystem: awarded %.0f XP for sickle harvest on %s", xpToAdd, blockType.getId());
-        ItemStack currentTool = inventory.getActiveHotbarItem();
+        final ItemStack currentTool = inventory.getActiveHotbarItem();
         if (currentTool != null && !currentTool.isEmpty() && WeaponCategoryUtil.isTool(currentTool)) {
-            final double totalXpAfter = itemExpService.getTotalXpWithPending(currentTool, playerRef, activeSlot);
-            final int levelAfter = itemExpService.calculateLevelFromXp(totalXpAfter);
-            if (levelAfter > currentToolLevel) {
-                ItemStack flushedTool = itemExpService.flushPendingXp(currentTool, playerRef, activeSlot);
-                flushedTool = itemExpService.updateWeaponEffects(flushedTool, levelAfter);
-                flushedTool = itemExpService.addPendingEmbues(flushedTool, levelAfter - currentToolLevel);
-                WeaponSwapUtil.swapWeaponAndMaximizeSignature(entityRef, store, inventory, activeSlot, flushedTool);
-                if (hudDisplaySystem != null) {
-                    hudDisplaySystem.updateHudForPlayer(playerRef, flushedTool, activeSlot);
-                }
-                ItemExpNotifications.sendLevelUpNotificationWithIcon(playerRef, flushedTool, levelAfter, itemExpService);
-            } else {
-                ItemStack flushedTool = itemExpService.flushPendingXp(currentTool, playerRef, activeSlot);
-                inventory.getHotbar().setItemStackForSlot((short) activeSlot, flushedTool);
-                if (hudDisplaySystem != null) {
-                    hudDisplaySystem.updateHudForPlayer(playerRef, flushedTool, activeSlot);
-                }
-            }
+            // Live XP, coalesced per tick; the tool is rewritten at the next checkpoint (idle, slot change, ...)
+            pendingXpFlushSystem.awardHotbarXp(store, playerRef, activeSlot, currentTool, xpToAdd, false);
+            EooLogger.debug("ToolDamageBlockEventSystem: awarded %.0f XP for sickle harvest on %s", xpToAdd, blockType.getId());
         }
     }
 
@@ -12,8 +12,6 @@ import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
 import com.tokebak.EchoesOfOrbis.services.ItemExpService;
 import com.tokebak.EchoesOfOrbis.utils.EooLogger;
-import com.tokebak.EchoesOfOrbis.utils.ItemExpNotifications;
-import com.tokebak.EchoesOfOrbis.utils.WeaponSwapUtil;
 
 import javax.annotation.Nonnull;
 
@@ -27,14 +25,14 @@ public final class ToolEntityInteractHandler {
     private static final double TOOL_XP_PER_ENTITY_USE = 2.0;
 
     private final ItemExpService itemExpService;
-    private final HudDisplaySystem hudDisplaySystem;
+    private final PendingXpFlushSystem pendingXpFlushSystem;
 
     public ToolEntityInteractHandler(
             @Nonnull final ItemExpService itemExpService,
-            @Nonnull final HudDisplaySystem hudDisplaySystem
+            @Nonnull final PendingXpFlushSystem pendingXpFlushSystem
     ) {
         this.itemExpService = itemExpService;
-        this.hudDisplaySystem = hudDisplaySystem;
+        this.pendingXpFlushSystem = pendingXpFlushSystem;
     }
 
     public void onPlayerInteract(@Nonnull final PlayerInteractEvent event) {
@@ -105,28 +103,14 @@ public final class ToolEntityInteractHandler {
         final int currentToolLevel = itemExpService.getItemLevel(tool);
         EooLogger.debug("ToolEntity AWARDING %.0f XP for tool %s on entity (slot=%d, level=%d)", TOOL_XP_PER_ENTITY_USE, itemId, activeSlot, currentToolLevel);
 
-        itemExpService.addPendingXp(playerRef, activeSlot, TOOL_XP_PER_ENTITY_USE);
-
-        ItemStack currentTool = inventory.getActiveHotbarItem();
+        final ItemStack currentTool = inventory.getActiveHotbarItem();
         if (currentTool == null || currentTool.isEmpty() || currentTool.getItem() == null || currentTool.getItem().getTool() == null) {
-            EooLogger.warn("ToolEntity: tool null or not-tool after addPendingXp (slot may have changed)");
+            EooLogger.warn("ToolEntity: active hotbar item is not a tool (slot may have changed)");
             return;
         }
 
-        final double totalXpAfter = itemExpService.getTotalXpWithPending(currentTool, playerRef, activeSlot);
-        final int levelAfter = itemExpService.calculateLevelFromXp(totalXpAfter);
-        if (levelAfter > currentToolLevel) {
-            EooLogger.debug("ToolEntity LEVEL UP %d -> %d", currentToolLevel, levelAfter);
-            ItemStack flushedTool = itemExpService.flushPendingXp(currentTool, playerRef, activeSlot);
-            flushedTool = itemExpService.updateWeaponEffects(flushedTool, levelAfter);
-            flushedTool = itemExpService.addPendingEmbues(flushedTool, levelAfter - currentToolLevel);
-            WeaponSwapUtil.swapWeaponAndMaximizeSignature(entityRef, store, inventory, activeSlot, flushedTool);
-            hudDisplaySystem.updateHudForPlayer(playerRef, flushedTool, activeSlot);
-            ItemExpNotifications.sendLevelUpNotificationWithIcon(playerRef, flushedTool, levelAfter, itemExpService);
-        } else {
-            hudDisplaySystem.updateHudForPlayer(playerRef, currentTool, activeSlot);
-        }
-        EooLogger.debug("ToolEntity Done: XP added, HUD updated");
+        pendingXpFlushSystem.awardHotbarXp(store, playerRef, activeSlot, currentTool, TOOL_XP_PER_ENTITY_USE, false);
+        EooLogger.debug("ToolEntity Done: XP queued");
     }
 
     /**
@@ -162,24 +146,7 @@ public final class ToolEntityInteractHandler {
         if (tool == null || tool.isEmpty() || tool.getItem() != event.getItemInHand() || !itemExpService.canGainXp(tool) || tool.getItem().getTool() == null) {
             return;
         }
-        final int currentToolLevel = itemExpService.getItemLevel(tool);
         EooLogger.debug("ToolEntity MouseButton: AWARDING %.0f XP for tool on entity (slot=%d)", TOOL_XP_PER_ENTITY_USE, activeSlot);
-        itemExpService.addPendingXp(playerRef, activeSlot, TOOL_XP_PER_ENTITY_USE);
-        ItemStack currentTool = inventory.getActiveHotbarItem();
-        if (currentTool == null || currentTool.isEmpty() || currentTool.getItem() == null || currentTool.getItem().getTool() == null) {
-            return;
-        }
-        final double totalXpAfter = itemExpService.getTotalXpWithPending(currentTool, playerRef, activeSlot);
-        final int levelAfter = itemExpService.calculateLevelFromXp(totalXpAfter);
-        if (levelAfter > currentToolLevel) {
-            ItemStack flushedTool = itemExpService.flushPendingXp(currentTool, playerRef, activeSlot);
-            flushedTool = itemExpService.updateWeaponEffects(flushedTool, levelAfter);
-            flushedTool = itemExpService.addPendingEmbues(flushedTool, levelAfter - currentToolLevel);
-            WeaponSwapUtil.swapWeaponAndMaximizeSignature(entityRef, store, inventory, activeSlot, flushedTool);
-            hudDisplaySystem.updateHudForPlayer(playerRef, flushedTool, activeSlot);
-            ItemExpNotifications.sendLevelUpNotificationWithIcon(playerRef, flushedTool, levelAfter, itemExpService);
-        } else {
-            hudDisplaySystem.updateHudForPlayer(playerRef, currentTool, activeSlot);
-        }
+        pendingXpFlushSystem.awardHotbarXp(store, playerRef, activeSlot, tool, TOOL_XP_PER_ENTITY_USE, false);
     }
 }
@@ -25,13 +25,11 @@ import com.tokebak.EchoesOfOrbis.utils.EooLogger;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponCategoryUtil;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectType;
 import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
-import com.tokebak.EchoesOfOrbis.utils.ItemExpNotifications;
-import com.tokebak.EchoesOfOrbis.utils.WeaponSwapUtil;
+import com.tokebak.EchoesOfOrbis.utils.EooRandom;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.util.List;
-import java.util.Random;
 
 /**
  * Handles UseBlockEvent.Pre: when the player uses a block (e.g. F on crop with sickle), awards tool XP
@@ -41,22 +39,20 @@ import java.util.Random;
 public final class ToolUseBlockEventSystem extends com.hypixel.hytale.component.system.EntityEventSystem<EntityStore, UseBlockEvent.Pre> {
 
     private static final double TOOL_XP_PER_HARVEST_DROP = 2.0;
-    private static final double DROP_BONUS_CAP = 0.50;
 
     private final ItemExpService itemExpService;
     private final WeaponEffectsService effectsService;
-    private final HudDisplaySystem hudDisplaySystem;
-    private final Random random = new Random();
+    private final PendingXpFlushSystem pendingXpFlushSystem;
 
     public ToolUseBlockEventSystem(
             @Nonnull final ItemExpService itemExpService,
             @Nonnull final WeaponEffectsService effectsService,
-            @Nonnull final HudDisplaySystem hudDisplaySystem
+            @Nonnull final PendingXpFlushSystem pendingXpFlushSystem
     ) {
         super(UseBlockEvent.Pre.class);
         this.itemExpService = itemExpService;
         this.effectsService = effectsService;
-        this.hudDisplaySystem = hudDisplaySystem;
+        this.pendingXpFlushSystem = pendingXpFlushSystem;
     }
 
     @Override
@@ -121,30 +117,12 @@ public final class ToolUseBlockEventSystem extends com.hypixel.hytale.component.
             return;
         }
 
-        final int currentToolLevel = itemExpService.getItemLevel(tool);
-        itemExpService.addPendingXp(playerRef, activeSlot, xpToAdd);
-        // Log once so we know UseBlockEvent.Pre is the path for sickle-on-crop
-        EooLogger.debug("ToolUseBlockEventSystem: awarded %.0f XP for tool use on harvestable block %s", xpToAdd, blockType.getId());
-        ItemStack currentTool = inventory.getActiveHotbarItem();
+        final ItemStack currentTool = inventory.getActiveHotbarItem();
         if (currentTool != null && !currentTool.isEmpty() && WeaponCategoryUtil.isTool(currentTool)) {
-            final double totalXpAfter = itemExpService.getTotalXpWithPending(currentTool, playerRef, activeSlot);
-            final int levelAfter = itemExpService.calculateLevelFromXp(totalXpAfter);
-            if (levelAfter > currentToolLevel) {
-                ItemStack flushedTool = itemExpService.flushPendingXp(currentTool, playerRef, activeSlot);
-                flushedTool = itemExpService.updateWeaponEffects(flushedTool, levelAfter);
-                flushedTool = itemExpService.addPendingEmbues(flushedTool, levelAfter - currentToolLevel);
-                WeaponSwapUtil.swapWeaponAndMaximizeSignature(entityRef, store, inventory, activeSlot, flushedTool);
-                if (hudDisplaySystem != null) {
-                    hudDisplaySystem.updateHudForPlayer(playerRef, flushedTool, activeSlot);
-                }
-                ItemExpNotifications.sendLevelUpNotificationWithIcon(playerRef, flushedTool, levelAfter, itemExpService);
-            } else {
-                ItemStack flushedTool = itemExpService.flushPendingXp(currentTool, playerRef, activeSlot);
-                inventory.getHotbar().setItemStackForSlot((short) activeSlot, flushedTool);
-                if (hudDisplaySystem != null) {
-                    hudDisplaySystem.updateHudForPlayer(playerRef, flushedTool, activeSlot);
-                }
-            }
+            // Live XP, coalesced per tick; the tool is rewritten at the next checkpoint (idle, slot change, ...)
+            pendingXpFlushSystem.awardHotbarXp(store, playerRef, activeSlot, currentTool, xpToAdd, false);
+            // Log once so we know UseBlockEvent.Pre is the path for sickle-on-crop
+            EooLogger.debug("ToolUseBlockEventSystem: awarded %.0f XP for tool use on harvestable block %s", xpToAdd, blockType.getId());
         }
 
         // ---- Bonus drops (TOOL_DROP_BONUS) ----
@@ -153,16 +131,16 @@ public final class ToolUseBlockEventSystem extends com.hypixel.hytale.component.
         if (toolLevelForDrops > 1) {
             final ItemStack dropCheckTool = (currentTool != null && !currentTool.isEmpty()) ? currentTool : tool;
             double bonusPercent = 0;
-            for (var inst : effectsService.getEffects(dropCheckTool)) {
+            for (var inst : effectsService.getEffectsView(dropCheckTool)) {
                 if (inst.getType() == WeaponEffectType.TOOL_DROP_BONUS) {
                     var def = effectsService.getDefinition(inst.getType());
                     if (def != null) {
-                        bonusPercent = Math.min(DROP_BONUS_CAP, def.calculateValue(inst.getLevel()));
+                        bonusPercent = def.calculateValue(inst.getLevel()); // capped by the definition's MaxValue
                         break;
                     }
                 }
             }
-            if (bonusPercent > 0 && random.nextDouble() < bonusPercent) {
+            if (bonusPercent > 0 && EooRandom.forStore(store).nextDouble() < bonusPercent) {
                 final BlockPosition blockPos = context.getTargetBlock();
                 if (blockPos != null) {
                     final List<ItemStack> bonusStacks = BlockHarvestUtils.getDrops(blockType, 1, itemId, dropListId);
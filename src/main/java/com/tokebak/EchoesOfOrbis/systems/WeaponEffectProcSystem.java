@@ -0,0 +1,81 @@
+package com.tokebak.EchoesOfOrbis.systems;
+
+import com.hypixel.hytale.component.ArchetypeChunk;
+import com.hypixel.hytale.component.CommandBuffer;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.dependency.Dependency;
+import com.hypixel.hytale.component.dependency.Order;
+import com.hypixel.hytale.component.dependency.SystemDependency;
+import com.hypixel.hytale.component.query.Query;
+import com.hypixel.hytale.server.core.meta.MetaKey;
+import com.hypixel.hytale.server.core.modules.entity.damage.Damage;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageEventSystem;
+import com.hypixel.hytale.server.core.modules.entity.damage.DamageSystems;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectContext;
+import com.tokebak.EchoesOfOrbis.services.effects.EffectPhase;
+import com.tokebak.EchoesOfOrbis.services.effects.WeaponEffectsService;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Runs the {@link EffectPhase#POST_APPLY} weapon effects (status procs, life leech, multishot)
+ * once the hit has landed.
+ *
+ * ItemExpDamageSystem runs the PRE_APPLY effects in the Filter phase and, if the weapon has any
+ * POST_APPLY effects, leaves its context on the damage event under {@link #PENDING_PROCS}.
+ * This system runs after ApplyDamage and only does work for those events; hits cancelled after
+ * the Filter phase no longer trigger procs.
+ */
+public final class WeaponEffectProcSystem extends DamageEventSystem {
+
+    /**
+     * Effect context of a player hit whose POST_APPLY effects are still to run.
+     * Set by ItemExpDamageSystem, read here.
+     */
+    public static final MetaKey<EffectContext> PENDING_PROCS = Damage.META_REGISTRY.registerMetaObject(
+            data -> null
+    );
+
+    private final WeaponEffectsService effectsService;
+
+    public WeaponEffectProcSystem(@Nonnull final WeaponEffectsService effectsService) {
+        this.effectsService = effectsService;
+    }
+
+    @Nonnull
+    @Override
+    public Set<Dependency<EntityStore>> getDependencies() {
+        return Set.of(
+                new SystemDependency<EntityStore, DamageSystems.ApplyDamage>(Order.AFTER, DamageSystems.ApplyDamage.class)
+        );
+    }
+
+    @Override
+    public void handle(
+            final int index,
+            @Nonnull final ArchetypeChunk<EntityStore> archetypeChunk,
+            @Nonnull final Store<EntityStore> store,
+            @Nonnull final CommandBuffer<EntityStore> commandBuffer,
+            @Nonnull final Damage damage
+    ) {
+        final EffectContext pending = damage.getMetaStore().getIfPresentMetaObject(PENDING_PROCS);
+        if (pending == null || damage.isCancelled()) {
+            return;
+        }
+        if (!pending.getTargetRef().isValid() || !pending.getAttackerRef().isValid()) {
+            return;
+        }
+        this.effectsService.applyOnDamageEffects(pending.withCommandBuffer(commandBuffer), EffectPhase.POST_APPLY);
+    }
+
+    /**
+     * Any damaged entity; events without pending procs return on the first meta lookup.
+     */
+    @Nullable
+    @Override
+    public Query<EntityStore> getQuery() {
+        return Query.any();
+    }
+}
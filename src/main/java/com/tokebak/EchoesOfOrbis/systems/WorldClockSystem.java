@@ -0,0 +1,18 @@
+package com.tokebak.EchoesOfOrbis.systems;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.component.system.tick.TickingSystem;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.tokebak.EchoesOfOrbis.components.WorldClockResource;
+import javax.annotation.Nonnull;
+
+/**
+ * Advances each world's {@link WorldClockResource} by the tick delta.
+ */
+public final class WorldClockSystem extends TickingSystem<EntityStore> {
+
+    @Override
+    public void tick(final float dt, final int systemIndex, @Nonnull final Store<EntityStore> store) {
+        store.getResource(WorldClockResource.getResourceType()).advance(dt);
+    }
+}
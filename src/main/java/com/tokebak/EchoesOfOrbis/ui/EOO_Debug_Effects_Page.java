@@ -216,8 +216,8 @@ public class EOO_Debug_Effects_Page extends InteractiveCustomUIPage<EOO_Debug_Ef
         }
 
         // Set XP to the threshold for new level (as if player had leveled naturally)
-        final double xpForNewLevel = this.itemExpService.getXpRequiredForLevel(newLevel);
-        weapon = weapon.withMetadata(ItemExpService.META_KEY_XP, com.hypixel.hytale.codec.Codec.DOUBLE, xpForNewLevel);
+        final double xpForNewLevel = this.itemExpService.getXpRequiredForLevel(weapon, newLevel);
+        weapon = this.itemExpService.setItemXp(weapon, xpForNewLevel);
 
         this.setWeaponInInventory(inventory, weapon);
         EooLogger.debug("%s effect %s -> item level %d (XP: %.0f)", hasEffect ? "Upgraded" : "Added", effectType.getId(), newLevel, xpForNewLevel);
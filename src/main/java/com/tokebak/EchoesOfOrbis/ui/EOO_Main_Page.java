@@ -299,8 +299,8 @@ public class EOO_Main_Page extends InteractiveCustomUIPage<EOO_Main_Page.Data> {
             if (itemExpService.isAtMaxLevel(item)) {
                 this.xpText = "XP: -/- (MAX)";
             } else {
-                final double xpForCurrent = itemExpService.getXpRequiredForLevel(level);
-                final double xpForNext = itemExpService.getXpRequiredForLevel(level + 1);
+                final double xpForCurrent = itemExpService.getXpRequiredForLevel(item, level);
+                final double xpForNext = itemExpService.getXpRequiredForLevel(item, level + 1);
                 final double currentXp = this.totalXp - xpForCurrent;
                 final double xpNeeded = xpForNext - xpForCurrent;
                 final double percent = xpNeeded > 0 ? (currentXp / xpNeeded) * 100 : 0;
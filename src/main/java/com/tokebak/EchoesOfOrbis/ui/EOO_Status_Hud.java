@@ -7,6 +7,7 @@ import com.hypixel.hytale.server.core.ui.Value;
 import com.hypixel.hytale.server.core.ui.builder.UICommandBuilder;
 import com.hypixel.hytale.server.core.universe.PlayerRef;
 import com.tokebak.EchoesOfOrbis.services.ItemExpService;
+import com.tokebak.EchoesOfOrbis.services.XpCurveTable;
 import org.checkerframework.checker.nullness.compatqual.NonNullDecl;
 
 import javax.annotation.Nonnull;
@@ -47,7 +48,7 @@ public class EOO_Status_Hud extends CustomUIHud {
      * Update the HUD with information from the current weapon.
      * 
      * @param weapon The weapon to display, or null if no weapon
-     * @param slot The hotbar slot of the weapon (needed to include pending XP)
+     * @param slot The hotbar slot of the weapon
      */
     public void updateWithWeapon(@Nullable ItemStack weapon, byte slot) {
         if (weapon == null || weapon.isEmpty() || !itemExpService.canGainXp(weapon)) {
@@ -58,12 +59,15 @@ public class EOO_Status_Hud extends CustomUIHud {
             return;
         }
         
-        final int level = itemExpService.getItemLevel(weapon);
-        // Include pending XP in the total (XP gained but not yet flushed)
-        final double totalXp = itemExpService.getTotalXpWithPending(weapon, this.getPlayerRef(), slot);
+        // Same precomputed XP table as level-up checks and progress notifications
+        final XpCurveTable curve = itemExpService.getXpCurve(weapon);
+        // Include pending XP in the total (XP gained but not yet flushed); the level is the live one,
+        // so the bar rolls over on level up even though the item is only rewritten at the next checkpoint
+        final double totalXp = itemExpService.getTotalXpWithPending(weapon, this.getPlayerRef());
+        final int level = itemExpService.calculateLevelFromXp(weapon, totalXp);
 
         // Check if at max level (only when a level cap is configured)
-        if (itemExpService.isAtMaxLevel(weapon)) {
+        if (itemExpService.isAtMaxLevel(level)) {
             this.currentXpText = "MAX LEVEL";
             this.currentBarWidth = BAR_MAX_WIDTH;
             this.updateDisplay();
@@ -71,8 +75,8 @@ public class EOO_Status_Hud extends CustomUIHud {
         }
         
         // Calculate progress to next level
-        final double xpForCurrentLevel = itemExpService.getXpRequiredForLevel(level);
-        final double xpForNextLevel = itemExpService.getXpRequiredForLevel(level + 1);
+        final double xpForCurrentLevel = curve.getXpForLevel(level);
+        final double xpForNextLevel = curve.getXpForLevel(level + 1);
         final double currentLevelXp = totalXp - xpForCurrentLevel;
         final double xpNeeded = xpForNextLevel - xpForCurrentLevel;
         
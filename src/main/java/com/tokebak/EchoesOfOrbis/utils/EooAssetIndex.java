@@ -0,0 +1,269 @@
+package com.tokebak.EchoesOfOrbis.utils;
+
+import com.hypixel.hytale.server.core.asset.type.entityeffect.config.EntityEffect;
+import com.hypixel.hytale.server.core.asset.type.projectile.config.Projectile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Every EntityEffect and Projectile asset the mod uses, resolved once instead of on each hit.
+ *
+ * {@link #resolve()} runs at plugin start and again whenever the EntityEffect or Projectile asset
+ * store reloads. It tries the same ids (and path variants) the processors used to try lazily,
+ * builds an immutable {@link Assets} snapshot and publishes it with a single volatile write, then
+ * logs one report listing any asset that could not be found. Readers just take {@link #get()}.
+ */
+public final class EooAssetIndex {
+
+    /** Burn effects, in order of preference (standard burn, then the weaker flame staff burn). */
+    private static final String[] BURN_EFFECT_IDS = {"Burn", "Flame_Staff_Burn"};
+
+    /** Poison effects, in order of preference. */
+    private static final String[] POISON_EFFECT_IDS = {"Poison_T1", "Poison_T2", "Poison"};
+
+    private static final String SLOW_EFFECT_ID = "Slow";
+    private static final String FREEZE_EFFECT_ID = "Freeze";
+
+    /** Ring health regen effects for tiers T1-T3. */
+    private static final String[] HEALING_TIER_EFFECT_IDS = {
+            "EOO_Healing_Effect_T1",
+            "EOO_Healing_Effect_T2",
+            "EOO_Healing_Effect_T3",
+    };
+
+    /** Single regen effect used when the tiered ids are missing. */
+    private static final String HEALING_FALLBACK_EFFECT_ID = "EOO_Healing_Effect";
+
+    /** Multishot arrow; Arrow_FullCharge matches a fully charged bow shot. */
+    private static final String MULTISHOT_PROJECTILE_ID = "Arrow_FullCharge";
+
+    /** Player bow shots by charge level; a multishot copies the charge of the shot that procced it. */
+    private static final String[] CHARGE_PROJECTILE_IDS = {"Arrow_NoCharge", "Arrow_HalfCharge", "Arrow_FullCharge"};
+
+    /** Known projectile names tried if no Arrow_* asset exists at all. */
+    private static final String[] FALLBACK_PROJECTILE_IDS = {
+            "Arrow_HalfCharge",
+            "Arrow_NoCharge",
+            "Arrow_Fire",
+            "Arrow_Frost",
+            "Arrow_Crude",
+            "Arrow_Basic",
+            "Arrow_Iron",
+            "Arrow",
+            "Projectile",
+    };
+
+    private static volatile Assets assets = Assets.EMPTY;
+
+    private EooAssetIndex() {
+    }
+
+    /**
+     * The last resolved assets. Empty (all null) until the first {@link #resolve()}.
+     */
+    @Nonnull
+    public static Assets get() {
+        return assets;
+    }
+
+    /**
+     * Look up every asset the mod uses and publish the result. Safe to call from any thread.
+     */
+    public static synchronized void resolve() {
+        final List<String> missing = new ArrayList<>();
+
+        final String burnId = firstEffectId(BURN_EFFECT_IDS);
+        final String poisonId = firstEffectId(POISON_EFFECT_IDS);
+        final EntityEffect slow = effect(SLOW_EFFECT_ID);
+        final EntityEffect freeze = effect(FREEZE_EFFECT_ID);
+        if (burnId == null) missing.add("EntityEffect " + String.join("|", BURN_EFFECT_IDS));
+        if (poisonId == null) missing.add("EntityEffect " + String.join("|", POISON_EFFECT_IDS));
+        if (slow == null) missing.add("EntityEffect " + SLOW_EFFECT_ID);
+        if (freeze == null) missing.add("EntityEffect " + FREEZE_EFFECT_ID);
+
+        final EntityEffect[] healingTiers = new EntityEffect[HEALING_TIER_EFFECT_IDS.length];
+        for (int i = 0; i < healingTiers.length; i++) {
+            final String baseId = HEALING_TIER_EFFECT_IDS[i];
+            healingTiers[i] = effectInVariants(baseId, "Deployables/" + baseId, "Entity/Effects/Deployables/" + baseId);
+            if (healingTiers[i] == null) missing.add("EntityEffect " + baseId);
+        }
+        final EntityEffect healingFallback = effectInVariants(
+                HEALING_FALLBACK_EFFECT_ID, "Deployables/" + HEALING_FALLBACK_EFFECT_ID);
+        if (healingFallback == null) missing.add("EntityEffect " + HEALING_FALLBACK_EFFECT_ID);
+
+        final String projectileId = multishotProjectileId();
+        if (projectileId == null) {
+            missing.add("Projectile " + MULTISHOT_PROJECTILE_ID + " (or any Arrow_*)");
+        } else if (!projectileId.equals(MULTISHOT_PROJECTILE_ID)) {
+            missing.add("Projectile " + MULTISHOT_PROJECTILE_ID + " (multishot uses " + projectileId + ")");
+        }
+        final ProjectileTemplate multishot = projectileId != null ? projectileTemplate(projectileId) : null;
+        final ProjectileTemplate[] chargeTemplates = new ProjectileTemplate[CHARGE_PROJECTILE_IDS.length];
+        for (int i = 0; i < chargeTemplates.length; i++) {
+            chargeTemplates[i] = projectileTemplate(CHARGE_PROJECTILE_IDS[i]);
+        }
+
+        assets = new Assets(
+                burnId != null ? effect(burnId) : null, burnId,
+                poisonId != null ? effect(poisonId) : null, poisonId,
+                slow, freeze, healingTiers, healingFallback, multishot, chargeTemplates
+        );
+
+        if (missing.isEmpty()) {
+            EooLogger.info("Asset index: all EntityEffect and Projectile assets resolved");
+        } else {
+            EooLogger.warn("Asset index: %d missing asset(s): %s", missing.size(), String.join(", ", missing));
+        }
+    }
+
+    // ==================== Lookups ====================
+
+    @Nullable
+    private static EntityEffect effect(@Nonnull final String id) {
+        final int index = EntityEffect.getAssetMap().getIndex(id);
+        return index != Integer.MIN_VALUE ? EntityEffect.getAssetMap().getAsset(index) : null;
+    }
+
+    @Nullable
+    private static String firstEffectId(@Nonnull final String[] ids) {
+        for (final String id : ids) {
+            if (effect(id) != null) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static EntityEffect effectInVariants(@Nonnull final String... variants) {
+        for (final String variant : variants) {
+            final EntityEffect found = effect(variant);
+            if (found != null) {
+                return found;
+            }
+        }
+        return null;
+    }
+
+    @Nullable
+    private static ProjectileTemplate projectileTemplate(@Nonnull final String id) {
+        final Projectile projectile = (Projectile) Projectile.getAssetMap().getAsset(id);
+        return projectile != null ? new ProjectileTemplate(id, projectile) : null;
+    }
+
+    /**
+     * Arrow_FullCharge, else the best Arrow_* asset (player charge arrows first), else a known name.
+     */
+    @Nullable
+    private static String multishotProjectileId() {
+        if (Projectile.getAssetMap().getAsset(MULTISHOT_PROJECTILE_ID) != null) {
+            return MULTISHOT_PROJECTILE_ID;
+        }
+        String bestArrow = null;
+        final Map<?, ?> allProjectiles = Projectile.getAssetMap().getAssetMap();
+        for (final Object key : allProjectiles.keySet()) {
+            final String assetId = key.toString();
+            if (assetId.equals("Arrow_HalfCharge") || assetId.equals("Arrow_NoCharge")) {
+                bestArrow = assetId;
+            } else if (bestArrow == null && assetId.startsWith("Arrow_")) {
+                bestArrow = assetId;
+            }
+        }
+        if (bestArrow != null) {
+            return bestArrow;
+        }
+        for (final String id : FALLBACK_PROJECTILE_IDS) {
+            if (Projectile.getAssetMap().getAsset(id) != null) {
+                return id;
+            }
+        }
+        return null;
+    }
+
+    // ==================== Assets ====================
+
+    /**
+     * Immutable result of one {@link #resolve()}. Any field is null if its asset is missing.
+     */
+    public static final class Assets {
+        static final Assets EMPTY = new Assets(null, null, null, null, null, null,
+                new EntityEffect[HEALING_TIER_EFFECT_IDS.length], null, null, new ProjectileTemplate[0]);
+
+        @Nullable public final EntityEffect burn;
+        @Nullable public final String burnId;
+        @Nullable public final EntityEffect poison;
+        @Nullable public final String poisonId;
+        @Nullable public final EntityEffect slow;
+        @Nullable public final EntityEffect freeze;
+        @Nullable public final EntityEffect healingFallback;
+        /** Projectile spawned by multishot when the procing shot has no charge template. */
+        @Nullable public final ProjectileTemplate multishot;
+
+        private final EntityEffect[] healingTiers;
+        private final ProjectileTemplate[] chargeTemplates;
+
+        private Assets(
+                @Nullable final EntityEffect burn,
+                @Nullable final String burnId,
+                @Nullable final EntityEffect poison,
+                @Nullable final String poisonId,
+                @Nullable final EntityEffect slow,
+                @Nullable final EntityEffect freeze,
+                @Nonnull final EntityEffect[] healingTiers,
+                @Nullable final EntityEffect healingFallback,
+                @Nullable final ProjectileTemplate multishot,
+                @Nonnull final ProjectileTemplate[] chargeTemplates
+        ) {
+            this.burn = burn;
+            this.burnId = burnId;
+            this.poison = poison;
+            this.poisonId = poisonId;
+            this.slow = slow;
+            this.freeze = freeze;
+            this.healingTiers = healingTiers;
+            this.healingFallback = healingFallback;
+            this.multishot = multishot;
+            this.chargeTemplates = chargeTemplates;
+        }
+
+        /**
+         * Ring regen effect for tier 0 (T1) to 2 (T3), or null if out of range or missing.
+         */
+        @Nullable
+        public EntityEffect healingTier(final int tierIndex) {
+            return tierIndex >= 0 && tierIndex < this.healingTiers.length ? this.healingTiers[tierIndex] : null;
+        }
+
+        /**
+         * Multishot template with the same charge level as the shot (compared by config identity,
+         * no lookup by name), else {@link #multishot}.
+         */
+        @Nullable
+        public ProjectileTemplate multishotFor(@Nullable final Projectile shot) {
+            if (shot != null) {
+                for (final ProjectileTemplate template : this.chargeTemplates) {
+                    if (template != null && template.projectile == shot) {
+                        return template;
+                    }
+                }
+            }
+            return this.multishot;
+        }
+    }
+
+    /**
+     * A Projectile asset validated at resolve time, with the name ProjectileComponent spawns it by.
+     */
+    public static final class ProjectileTemplate {
+        @Nonnull public final String assetName;
+        @Nonnull public final Projectile projectile;
+
+        private ProjectileTemplate(@Nonnull final String assetName, @Nonnull final Projectile projectile) {
+            this.assetName = assetName;
+            this.projectile = projectile;
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.tokebak.EchoesOfOrbis.utils;
+
+import com.hypixel.hytale.component.ResourceType;
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import com.tokebak.EchoesOfOrbis.components.WorldClockResource;
+import javax.annotation.Nonnull;
+
+/**
+ * Time source for every EOO cooldown and combat window (effect proc cooldowns, multishot
+ * windows, ring regen throttling, combat session timestamps).
+ *
+ * Timing checks run inside a world and read that world's tick clock ({@link WorldClockResource}),
+ * so cooldowns advance with the simulation, and adjusting the wall clock or the time of day can't
+ * freeze or skip them. Where no world clock is registered the default clock falls back to
+ * {@link System#nanoTime()}. Readings are only meaningful relative to each other; never persist
+ * them or compare them with wall-clock timestamps.
+ *
+ * Tests and benchmarks can install a {@link Manual} clock with {@link #set(EooClock)} and advance
+ * it by hand for deterministic timing; it replaces the world clocks while installed.
+ */
+public abstract class EooClock {
+
+    private static final EooClock MONOTONIC = new Monotonic();
+
+    private static volatile EooClock instance = MONOTONIC;
+
+    /**
+     * The active clock.
+     */
+    @Nonnull
+    public static EooClock get() {
+        return instance;
+    }
+
+    /**
+     * Current time for timing checks in a world: the world's tick clock, or the installed test
+     * clock. Must be called from the world's thread.
+     */
+    public static long millis(@Nonnull final Store<EntityStore> store) {
+        final EooClock clock = instance;
+        final ResourceType<EntityStore, WorldClockResource> type = WorldClockResource.getResourceType();
+        if (clock != MONOTONIC || type == null) {
+            return clock.nowMillis();
+        }
+        final WorldClockResource world = store.getResource(type);
+        return world != null ? world.nowMillis() : clock.nowMillis();
+    }
+
+    /**
+     * Process-wide monotonic reading, used where there is no world (and to seed world clocks).
+     */
+    public static long monotonicMillis() {
+        return MONOTONIC.nowMillis();
+    }
+
+    /**
+     * Replace the active clock (tests and benchmarks).
+     */
+    public static void set(@Nonnull final EooClock clock) {
+        instance = clock;
+    }
+
+    /**
+     * Restore the default clock (world clocks, with the monotonic fallback).
+     */
+    public static void reset() {
+        instance = MONOTONIC;
+    }
+
+    /**
+     * Current time in milliseconds. Monotonic: never goes backwards.
+     */
+    public abstract long nowMillis();
+
+    // ==================== IMPLEMENTATIONS ====================
+
+    /**
+     * Monotonic clock backed by {@link System#nanoTime()}, offset so it starts well above zero
+     * (callers use 0 as "never happened").
+     */
+    private static final class Monotonic extends EooClock {
+
+        private final long originNanos = System.nanoTime();
+
+        @Override
+        public long nowMillis() {
+            return (System.nanoTime() - this.originNanos) / 1_000_000L + 1_000_000_000L;
+        }
+    }
+
+    /**
+     * Clock that only moves when told to.
+     */
+    public static final class Manual extends EooClock {
+
+        private volatile long nowMillis;
+
+        public Manual(final long startMillis) {
+            this.nowMillis = startMillis;
+        }
+
+        @Override
+        public long nowMillis() {
+            return this.nowMillis;
+        }
+
+        /**
+         * Move the clock forward. Negative amounts are ignored to keep it monotonic.
+         */
+        public void advance(final long millis) {
+            if (millis > 0) {
+                this.nowMillis += millis;
+            }
+        }
+    }
+}
@@ -1,12 +1,12 @@
 package com.tokebak.EchoesOfOrbis.utils;
 
-import com.tokebak.EchoesOfOrbis.config.EchoesOfOrbisConfig;
+import com.tokebak.EchoesOfOrbis.config.EooConfig;
 
 import javax.annotation.Nonnull;
 
 /**
  * Centralized logging for the Echoes of Orbis mod.
- * Debug messages are only printed when {@code debug=true} in the config.
+ * Debug messages are only printed when {@code debug=true} in the current config.
  * Info and warn messages are always printed.
  */
 public final class EooLogger {
@@ -15,17 +15,11 @@ public final class EooLogger {
     private static final String DEBUG_PREFIX = "[EOO:DEBUG]";
     private static final String WARN_PREFIX = "[EOO:WARN]";
 
-    private static EchoesOfOrbisConfig config;
-
     private EooLogger() {
     }
 
-    public static void init(@Nonnull final EchoesOfOrbisConfig cfg) {
-        config = cfg;
-    }
-
     public static boolean isDebug() {
-        return config != null && config.isDebug();
+        return EooConfig.isDebug();
     }
 
     public static void debug(@Nonnull final String message) {
@@ -55,4 +49,15 @@ public final class EooLogger {
     public static void warn(@Nonnull final String format, @Nonnull final Object... args) {
         System.out.println(WARN_PREFIX + " " + String.format(format, args));
     }
+
+    /**
+     * Warn about a caught exception on one line (message plus exception); the stack trace is only
+     * printed in debug mode, so a failure on a hot path doesn't flood the log.
+     */
+    public static void warn(@Nonnull final Throwable error, @Nonnull final String format, @Nonnull final Object... args) {
+        System.out.println(WARN_PREFIX + " " + String.format(format, args) + ": " + error);
+        if (isDebug()) {
+            error.printStackTrace(System.out);
+        }
+    }
 }
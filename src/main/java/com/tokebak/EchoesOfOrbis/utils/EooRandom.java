@@ -0,0 +1,96 @@
+package com.tokebak.EchoesOfOrbis.utils;
+
+import com.hypixel.hytale.component.Store;
+import com.hypixel.hytale.server.core.universe.world.World;
+import com.hypixel.hytale.server.core.universe.world.storage.EntityStore;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Random streams for every EOO roll (effect procs, durability saves, bonus drops, multishot spread).
+ *
+ * Each world gets its own {@link SplittableRandom}, only used from that world's thread, so rolls
+ * never contend on a shared seed. By default streams are split from a randomly seeded root.
+ * In seed mode ({@link #setSeed(long)}, or {@code RngSeed} in the config) each world's stream is
+ * derived from the seed and the world name, so the same seed replays the same rolls per world
+ * regardless of which world loaded first (tests, load simulations, trace replays).
+ */
+public final class EooRandom {
+
+    private static final Map<Store<EntityStore>, SplittableRandom> STREAMS = new ConcurrentHashMap<>();
+
+    /** Root for randomly seeded streams; split() is not thread-safe, so splits are synchronized. */
+    private static final SplittableRandom ROOT = new SplittableRandom();
+
+    /** Seed for seed mode, or null for random streams. */
+    private static volatile Long seed;
+
+    private EooRandom() {
+    }
+
+    /**
+     * The random stream for a world. Only use it from that world's thread.
+     */
+    @Nonnull
+    public static SplittableRandom forStore(@Nonnull final Store<EntityStore> store) {
+        final SplittableRandom stream = STREAMS.get(store);
+        return stream != null ? stream : STREAMS.computeIfAbsent(store, EooRandom::newStream);
+    }
+
+    /**
+     * Drop a removed world's stream.
+     */
+    public static void removeStore(@Nonnull final Store<EntityStore> store) {
+        STREAMS.remove(store);
+    }
+
+    /**
+     * Switch to seed mode: every world's stream is rebuilt from this seed on its next roll.
+     */
+    public static void setSeed(final long value) {
+        seed = value;
+        STREAMS.clear();
+    }
+
+    /**
+     * Leave seed mode and go back to randomly seeded streams.
+     */
+    public static void clearSeed() {
+        seed = null;
+        STREAMS.clear();
+    }
+
+    /**
+     * Current seed, or null if streams are randomly seeded.
+     */
+    @Nullable
+    public static Long getSeed() {
+        return seed;
+    }
+
+    @Nonnull
+    private static SplittableRandom newStream(@Nonnull final Store<EntityStore> store) {
+        final Long fixed = seed;
+        if (fixed != null) {
+            return new SplittableRandom(fixed * 0x9E3779B97F4A7C15L + worldName(store).hashCode());
+        }
+        synchronized (ROOT) {
+            return ROOT.split();
+        }
+    }
+
+    @Nonnull
+    private static String worldName(@Nonnull final Store<EntityStore> store) {
+        final Object external = store.getExternalData();
+        if (external instanceof final EntityStore entityStore) {
+            final World world = entityStore.getWorld();
+            if (world != null && world.getName() != null) {
+                return world.getName();
+            }
+        }
+        return "";
+    }
+}
@@ -0,0 +1,142 @@
+package com.tokebak.EchoesOfOrbis.utils;
+
+import java.util.function.Consumer;
+import javax.annotation.Nonnull;
+
+/**
+ * Hashed timing wheel for coarse deadlines (combat idle, cooldown expiry).
+ *
+ * Time is an internal millisecond clock advanced by the owner (usually once per world tick).
+ * Each {@link Timer} is an intrusive list node, so schedule, re-arm and cancel are O(1) and
+ * allocation-free; advancing visits only the buckets whose slice of time has elapsed.
+ * Deadlines further out than one rotation simply stay in their bucket until their turn.
+ *
+ * Not thread-safe: schedule, cancel and advance must all run on the owning thread.
+ */
+public final class HashedTimingWheel<T extends HashedTimingWheel.Timer> {
+
+    private final Timer[] buckets;
+    private final int mask;
+    private final long tickMillis;
+
+    /** Current wheel time in milliseconds (sum of all advance() calls). */
+    private long nowMillis;
+    /** Next wheel tick whose bucket has not been visited yet. */
+    private long nextTick;
+
+    /**
+     * @param bucketCount Number of buckets (rounded up to a power of two)
+     * @param tickMillis  Time slice covered by one bucket
+     */
+    public HashedTimingWheel(final int bucketCount, final long tickMillis) {
+        final int size = Integer.highestOneBit(Math.max(2, bucketCount) - 1) << 1;
+        this.buckets = new Timer[size];
+        this.mask = size - 1;
+        this.tickMillis = Math.max(1L, tickMillis);
+    }
+
+    public long nowMillis() {
+        return this.nowMillis;
+    }
+
+    /**
+     * Arm (or re-arm) a timer to fire delayMillis from now. Re-arming moves the node, O(1).
+     */
+    public void schedule(@Nonnull final T timer, final long delayMillis) {
+        final Timer node = timer;
+        if (node.bucket >= 0) {
+            this.unlink(node);
+        }
+        final long deadline = this.nowMillis + Math.max(0L, delayMillis);
+        // Never place a timer behind the cursor; it fires on the next visited tick at the earliest
+        final long deadlineTick = Math.max(this.nextTick, (deadline + this.tickMillis - 1) / this.tickMillis);
+        node.armedAtMillis = this.nowMillis;
+        node.deadlineTick = deadlineTick;
+        this.link(node, (int) (deadlineTick & this.mask));
+    }
+
+    /**
+     * Disarm a timer. No-op if it is not armed.
+     */
+    public void cancel(@Nonnull final T timer) {
+        final Timer node = timer;
+        if (node.bucket >= 0) {
+            this.unlink(node);
+        }
+    }
+
+    /**
+     * Advance the wheel clock and fire every timer whose deadline has passed.
+     * The callback may re-arm the timer it was handed.
+     */
+    @SuppressWarnings("unchecked")
+    public void advance(final long elapsedMillis, @Nonnull final Consumer<T> onExpire) {
+        if (elapsedMillis <= 0) {
+            return;
+        }
+        this.nowMillis += elapsedMillis;
+        final long currentTick = this.nowMillis / this.tickMillis;
+        // After a long stall one full rotation visits every bucket; skip the redundant laps
+        long tick = Math.max(this.nextTick, currentTick - this.mask);
+        for (; tick <= currentTick; tick++) {
+            final int index = (int) (tick & this.mask);
+            Timer node = this.buckets[index];
+            while (node != null) {
+                final Timer next = node.next;
+                if (node.deadlineTick <= currentTick) {
+                    this.unlink(node);
+                    onExpire.accept((T) node);
+                }
+                node = next;
+            }
+            this.nextTick = tick + 1;
+        }
+    }
+
+    private void link(@Nonnull final Timer timer, final int index) {
+        final Timer head = this.buckets[index];
+        timer.prev = null;
+        timer.next = head;
+        if (head != null) {
+            head.prev = timer;
+        }
+        this.buckets[index] = timer;
+        timer.bucket = index;
+    }
+
+    private void unlink(@Nonnull final Timer timer) {
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            this.buckets[timer.bucket] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.bucket = -1;
+    }
+
+    /**
+     * Intrusive wheel node. Subclass to carry the payload the expiry callback needs.
+     */
+    public static class Timer {
+        private Timer prev;
+        private Timer next;
+        private int bucket = -1;
+        private long deadlineTick;
+        private long armedAtMillis;
+
+        public boolean isArmed() {
+            return this.bucket >= 0;
+        }
+
+        /**
+         * Wheel time at which this timer was last (re-)armed.
+         */
+        public long getArmedAtMillis() {
+            return this.armedAtMillis;
+        }
+    }
+}
@@ -67,6 +67,21 @@ public final class ItemExpNotifications {
             @Nonnull final ItemStack weapon,
             final int newLevel,
             @Nonnull final ItemExpService service
+    ) {
+        sendLevelUpNotificationWithIcon(playerRef, weapon, newLevel, service.getPendingEmbues(weapon), service);
+    }
+
+    /**
+     * Level up notification for an item whose new level is still pending (not yet written to metadata).
+     *
+     * @param pendingEmbues Embues available once the item is checkpointed (stored + levels crossed)
+     */
+    public static void sendLevelUpNotificationWithIcon(
+            @Nonnull final PlayerRef playerRef,
+            @Nonnull final ItemStack weapon,
+            final int newLevel,
+            final int pendingEmbues,
+            @Nonnull final ItemExpService service
     ) {
         final PacketHandler packetHandler = playerRef.getPacketHandler();
         if (packetHandler == null) {
@@ -81,7 +96,6 @@ public final class ItemExpNotifications {
         ).color(COLOR_LEVEL_UP);
         
         // Secondary message: Embue availability or XP progress
-        final int pendingEmbues = service.getPendingEmbues(weapon);
         final Message secondaryMessage;
         
         if (pendingEmbues > 0) {
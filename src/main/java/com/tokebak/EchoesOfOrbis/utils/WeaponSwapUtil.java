@@ -161,8 +161,11 @@ public final class WeaponSwapUtil {
         }
     }
 
+    /**
+     * Fill SignatureEnergy to max immediately (level-up bonus when no item swap is involved).
+     */
     @SuppressWarnings("unchecked")
-    private static void maximizeSignatureEnergy(
+    public static void maximizeSignatureEnergy(
             @Nonnull final Ref<EntityStore> entityRef,
             @Nonnull final Store<EntityStore> store
     ) {
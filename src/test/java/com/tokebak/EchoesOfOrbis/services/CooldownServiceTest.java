@@ -0,0 +1,104 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class CooldownServiceTest {
+
+    /** 64 buckets of 250 ms. */
+    private static final long ROTATION_MS = 64 * 250;
+
+    private static final long KEY = 42L;
+    private static final long OTHER_KEY = (3L << 32) | 7L;
+
+    @Test
+    void cooldownEndsExactlyAtItsDeadline() {
+        final CooldownService.WorldCooldowns cooldowns = new CooldownService.WorldCooldowns(1_000L);
+        cooldowns.start(KEY, 1_000L, 1_500L);
+
+        assertTrue(cooldowns.isActive(KEY, 1_000L));
+        assertTrue(cooldowns.isActive(KEY, 2_499L));
+        assertFalse(cooldowns.isActive(KEY, 2_500L));
+        assertEquals(0, cooldowns.size());
+    }
+
+    @Test
+    void cooldownLongerThanOneRotationSurvivesEachLap() {
+        final long start = 1_234L;
+        final long duration = 3 * ROTATION_MS + 100L;
+        final CooldownService.WorldCooldowns cooldowns = new CooldownService.WorldCooldowns(start);
+        cooldowns.start(KEY, start, duration);
+
+        // Sweep every bucket several times over before the deadline
+        for (long now = start; now < start + duration; now += 50L) {
+            assertTrue(cooldowns.isActive(KEY, now), "expired early at " + now);
+        }
+        assertFalse(cooldowns.isActive(KEY, start + duration));
+        // The entry itself goes once the sweep reaches the bucket holding the deadline
+        assertFalse(cooldowns.isActive(KEY, start + duration + 250L));
+        assertEquals(0, cooldowns.size());
+    }
+
+    @Test
+    void restartingExtendsTheCooldown() {
+        final CooldownService.WorldCooldowns cooldowns = new CooldownService.WorldCooldowns(0L);
+        cooldowns.start(KEY, 0L, 1_000L);
+        cooldowns.start(KEY, 500L, ROTATION_MS);
+
+        // The first deadline's bucket is swept, but the restarted cooldown is kept
+        assertTrue(cooldowns.isActive(KEY, 1_500L));
+        assertTrue(cooldowns.isActive(KEY, 500L + ROTATION_MS - 1));
+        assertFalse(cooldowns.isActive(KEY, 500L + ROTATION_MS));
+        assertEquals(0, cooldowns.size());
+    }
+
+    @Test
+    void restartingShortensTheCooldown() {
+        final CooldownService.WorldCooldowns cooldowns = new CooldownService.WorldCooldowns(0L);
+        cooldowns.start(KEY, 0L, 2 * ROTATION_MS);
+        cooldowns.start(KEY, 100L, 400L);
+
+        assertTrue(cooldowns.isActive(KEY, 499L));
+        assertFalse(cooldowns.isActive(KEY, 500L));
+        assertEquals(0, cooldowns.size());
+    }
+
+    @Test
+    void keysExpireIndependently() {
+        final CooldownService.WorldCooldowns cooldowns = new CooldownService.WorldCooldowns(0L);
+        cooldowns.start(KEY, 0L, 300L);
+        cooldowns.start(OTHER_KEY, 0L, 3_000L);
+
+        assertFalse(cooldowns.isActive(KEY, 1_000L));
+        assertTrue(cooldowns.isActive(OTHER_KEY, 1_000L));
+        assertEquals(1, cooldowns.size());
+    }
+
+    @Test
+    void longIdleSweepsEveryEndedCooldown() {
+        final CooldownService.WorldCooldowns cooldowns = new CooldownService.WorldCooldowns(0L);
+        for (long key = 0; key < 1_000; key++) {
+            cooldowns.start(key, 0L, 100L + key * 97L);
+        }
+        cooldowns.start(OTHER_KEY, 0L, 20 * ROTATION_MS);
+
+        final long later = 10 * ROTATION_MS;
+        assertTrue(cooldowns.isActive(OTHER_KEY, later));
+        assertEquals(1, cooldowns.size());
+        assertFalse(cooldowns.isActive(OTHER_KEY, 20 * ROTATION_MS));
+        assertEquals(0, cooldowns.size());
+    }
+
+    @Test
+    void zeroDurationIsNeverActive() {
+        final CooldownService.WorldCooldowns cooldowns = new CooldownService.WorldCooldowns(250L);
+        cooldowns.start(KEY, 250L, 0L);
+
+        assertFalse(cooldowns.isActive(KEY, 250L));
+        assertFalse(cooldowns.isActive(KEY, 10_000L));
+        assertEquals(0, cooldowns.size());
+    }
+}
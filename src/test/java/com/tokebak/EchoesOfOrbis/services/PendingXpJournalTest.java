@@ -0,0 +1,143 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PendingXpJournalTest {
+
+    private static final UUID PLAYER = new UUID(0x1234L, 0x5678L);
+
+    @TempDir
+    Path dataDir;
+
+    @Test
+    void pendingXpSurvivesRestart() {
+        PendingXpJournal journal = this.open();
+        journal.append(PLAYER, 1L, 10.0);
+        journal.append(PLAYER, 1L, 2.5);
+        journal.append(PLAYER, 2L, 4.0);
+        journal.close();
+
+        journal = this.open();
+        final Map<Long, Double> owed = journal.getOwed(PLAYER);
+        journal.close();
+        assertNotNull(owed);
+        assertEquals(2, owed.size());
+        assertEquals(12.5, owed.get(1L), 1e-9);
+        assertEquals(4.0, owed.get(2L), 1e-9);
+    }
+
+    @Test
+    void takenXpIsNotOwedAfterRestart() {
+        PendingXpJournal journal = this.open();
+        journal.append(PLAYER, 1L, 10.0);
+        journal.append(PLAYER, 2L, 3.0);
+        journal.append(PLAYER, 1L, -10.0);
+        journal.close();
+
+        journal = this.open();
+        final Map<Long, Double> owed = journal.getOwed(PLAYER);
+        journal.close();
+        assertNotNull(owed);
+        assertEquals(Map.of(2L, 3.0), owed);
+    }
+
+    @Test
+    void emptySnapshotDoesNotReplayStaleRecords() {
+        // Generation 1 (file 0): three live items
+        PendingXpJournal journal = this.open();
+        journal.append(PLAYER, 1L, 10.0);
+        journal.append(PLAYER, 2L, 10.0);
+        journal.append(PLAYER, 3L, 10.0);
+        journal.close();
+
+        // Everything taken: compacts into an empty generation 2 (file 1)
+        journal = this.open();
+        journal.append(PLAYER, 1L, -10.0);
+        journal.append(PLAYER, 2L, -10.0);
+        journal.append(PLAYER, 3L, -10.0);
+        journal.close();
+
+        // Again: generation 3 reuses file 0, whose old records are still past the empty snapshot
+        journal = this.open();
+        assertNull(journal.getOwed(PLAYER));
+        journal.append(PLAYER, 9L, 5.0);
+        journal.append(PLAYER, 9L, -5.0);
+        journal.close();
+
+        // One new record overwrites only the first stale one
+        journal = this.open();
+        assertNull(journal.getOwed(PLAYER));
+        journal.append(PLAYER, 42L, 1.0);
+        journal.close();
+
+        journal = this.open();
+        final Map<Long, Double> owed = journal.getOwed(PLAYER);
+        journal.close();
+        assertEquals(Map.of(42L, 1.0), owed);
+    }
+
+    @Test
+    void stagedXpIsOwedBeforeItIsWritten() {
+        final PendingXpJournal journal = this.open();
+        journal.append(PLAYER, 1L, 7.0);
+        journal.append(PLAYER, 1L, 1.0);
+        journal.append(PLAYER, 2L, 2.0);
+        journal.append(PLAYER, 2L, -2.0);
+        final Map<Long, Double> owed = journal.getOwed(PLAYER);
+        journal.close();
+        assertEquals(Map.of(1L, 8.0), owed);
+    }
+
+    @Test
+    void fullFileCompactsWithoutLosingOrDoublingXp() {
+        // More records than one file holds, so a batch hits the end of the mapping
+        PendingXpJournal journal = this.open();
+        for (int i = 0; i < 200_000; i++) {
+            journal.append(PLAYER, 1L + (i % 3), 1.0);
+        }
+        final Map<Long, Double> before = journal.getOwed(PLAYER);
+        journal.close();
+
+        journal = this.open();
+        final Map<Long, Double> after = journal.getOwed(PLAYER);
+        journal.close();
+        final Map<Long, Double> expected = Map.of(1L, 66_667.0, 2L, 66_667.0, 3L, 66_666.0);
+        assertEquals(expected, before);
+        assertEquals(expected, after);
+    }
+
+    @Test
+    void onlyStaleXpExpires() {
+        PendingXpJournal journal = this.open();
+        journal.append(PLAYER, 1L, 10.0);
+        journal.close();
+
+        final long now = System.currentTimeMillis();
+        journal = this.open();
+        journal.append(PLAYER, 2L, 3.0);
+        assertEquals(0, journal.expireStale(PLAYER, now + PendingXpJournal.MAX_PENDING_AGE_MS / 2));
+        // Item 2's gain is still staged, so it is recent however late the check runs
+        assertEquals(1, journal.expireStale(PLAYER, now + PendingXpJournal.MAX_PENDING_AGE_MS + 60_000));
+        assertEquals(Map.of(2L, 3.0), journal.getOwed(PLAYER));
+        journal.close();
+
+        journal = this.open();
+        final Map<Long, Double> owed = journal.getOwed(PLAYER);
+        journal.close();
+        assertEquals(Map.of(2L, 3.0), owed);
+    }
+
+    private PendingXpJournal open() {
+        final PendingXpJournal journal = PendingXpJournal.open(this.dataDir);
+        assertNotNull(journal);
+        return journal;
+    }
+}
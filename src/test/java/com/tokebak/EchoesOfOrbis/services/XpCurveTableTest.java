@@ -0,0 +1,83 @@
+package com.tokebak.EchoesOfOrbis.services;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class XpCurveTableTest {
+
+    @Test
+    void levelChangesExactlyAtEachThreshold() {
+        assertMatchesLinearScan(XpCurveTable.forPowerCurve(250.0, 1.25, 9999));
+        assertMatchesLinearScan(XpCurveTable.forPowerCurve(100.0, 2.5, 500));
+        assertMatchesLinearScan(XpCurveTable.compile(XpCurve.exponential(100.0, 1.1), 9999));
+        assertMatchesLinearScan(XpCurveTable.compile(XpCurve.polynomial(new double[]{0.0, 40.0, 3.0}), 300));
+    }
+
+    @Test
+    void thresholdsInsideOneBucketAreAllStepped() {
+        // Many levels 1 XP apart land in the same bucket; the lookup must step over all of them
+        final XpCurveTable table = XpCurveTable.compile(XpCurve.piecewise(new double[]{1000, 1001, 1002, 1003, 1004}), 6);
+        assertEquals(1, table.levelForXp(999.999));
+        assertEquals(2, table.levelForXp(1000.0));
+        assertEquals(3, table.levelForXp(1001.5));
+        assertEquals(6, table.levelForXp(1004.0));
+        assertMatchesLinearScan(table);
+    }
+
+    @Test
+    void xpBelowFirstThresholdIsLevelOne() {
+        final XpCurveTable table = XpCurveTable.forPowerCurve(250.0, 1.25, 100);
+        assertEquals(1, table.levelForXp(0.0));
+        assertEquals(1, table.levelForXp(-5.0));
+        assertEquals(1, table.levelForXp(Double.NaN));
+        assertEquals(1, table.levelForXp(Math.nextDown(250.0)));
+        assertEquals(2, table.levelForXp(250.0));
+    }
+
+    @Test
+    void levelIsClampedAtMaxLevel() {
+        final XpCurveTable table = XpCurveTable.forPowerCurve(250.0, 1.25, 20);
+        assertEquals(20, table.getMaxLevel());
+        assertEquals(20, table.levelForXp(table.getXpForLevel(20)));
+        assertEquals(20, table.levelForXp(1e12));
+        assertEquals(20, table.levelForXp(Double.POSITIVE_INFINITY));
+    }
+
+    @Test
+    void steepCurveIsCappedAtMaxThreshold() {
+        final XpCurveTable table = XpCurveTable.compile(XpCurve.exponential(100.0, 2.0), 9999);
+        assertTrue(table.getMaxLevel() < 9999);
+        assertTrue(table.getXpForLevel(table.getMaxLevel()) <= XpCurveTable.MAX_THRESHOLD_XP);
+        assertEquals(table.getMaxLevel(), table.levelForXp(XpCurveTable.MAX_THRESHOLD_XP));
+        assertMatchesLinearScan(table);
+    }
+
+    @Test
+    void flatCurveFallsBackToLinearLookup() {
+        final XpCurveTable table = XpCurveTable.forPowerCurve(0.0, 1.25, 10);
+        assertEquals(10, table.levelForXp(0.0));
+        assertEquals(10, table.levelForXp(5.0));
+    }
+
+    /**
+     * Compare the bucketed lookup with a plain scan at, just below and just above every threshold.
+     */
+    private static void assertMatchesLinearScan(final XpCurveTable table) {
+        for (int level = 2; level <= table.getMaxLevel(); level++) {
+            final double threshold = table.getXpForLevel(level);
+            for (final double xp : new double[]{Math.nextDown(threshold), threshold, Math.nextUp(threshold)}) {
+                assertEquals(linearLevel(table, xp), table.levelForXp(xp), "xp=" + xp);
+            }
+        }
+    }
+
+    private static int linearLevel(final XpCurveTable table, final double xp) {
+        int level = 1;
+        while (level < table.getMaxLevel() && table.getXpForLevel(level + 1) <= xp) {
+            level++;
+        }
+        return level;
+    }
+}
@@ -0,0 +1,110 @@
+package com.tokebak.EchoesOfOrbis.services.effects;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class WeaponEffectsServiceTest {
+
+    private static final int TRIALS = 60_000;
+
+    /** Ten sparse ordinals, including the highest ones, so positions differ from ordinals. */
+    private static final int[] ORDINALS = {0, 3, 4, 9, 12, 17, 20, 26, 31, 33};
+
+    @Test
+    void sampleReturnsDistinctMembersOfTheMask() {
+        final long mask = maskOf(ORDINALS);
+        for (int count = 0; count <= ORDINALS.length + 2; count++) {
+            final WeaponEffectType[] picked = WeaponEffectsService.sample(mask, count);
+            assertEquals(Math.min(count, ORDINALS.length), picked.length);
+            long seen = 0L;
+            for (final WeaponEffectType type : picked) {
+                final long bit = 1L << type.ordinal();
+                assertNotEquals(0L, mask & bit, type + " is not in the mask");
+                assertEquals(0L, seen & bit, type + " was picked twice");
+                seen |= bit;
+            }
+        }
+    }
+
+    @Test
+    void sampleOfEmptyMaskIsEmpty() {
+        assertEquals(0, WeaponEffectsService.sample(0L, 3).length);
+        assertEquals(0, WeaponEffectsService.sample(maskOf(ORDINALS), -1).length);
+    }
+
+    @Test
+    void everyMemberIsPickedEquallyOften() {
+        final long mask = maskOf(ORDINALS);
+        final long[] picks = new long[ORDINALS.length];
+        for (int trial = 0; trial < TRIALS; trial++) {
+            for (final WeaponEffectType type : WeaponEffectsService.sample(mask, 3)) {
+                picks[indexOf(type)]++;
+            }
+        }
+        // 9 degrees of freedom; 40 is far past the 0.001 critical value (27.9)
+        assertTrue(chiSquare(picks, TRIALS * 3.0 / ORDINALS.length) < 40.0);
+    }
+
+    @Test
+    void everySubsetIsPickedEquallyOften() {
+        final long mask = maskOf(ORDINALS);
+        final long[] picks = new long[1 << ORDINALS.length];
+        for (int trial = 0; trial < TRIALS; trial++) {
+            int subset = 0;
+            for (final WeaponEffectType type : WeaponEffectsService.sample(mask, 3)) {
+                subset |= 1 << indexOf(type);
+            }
+            picks[subset]++;
+        }
+        // C(10, 3) = 120 subsets, 119 degrees of freedom (0.001 critical value is about 170)
+        final long[] observed = new long[120];
+        int cell = 0;
+        for (int subset = 0; subset < picks.length; subset++) {
+            if (Integer.bitCount(subset) == 3) {
+                observed[cell++] = picks[subset];
+            } else {
+                assertEquals(0L, picks[subset]);
+            }
+        }
+        assertTrue(chiSquare(observed, TRIALS / 120.0) < 200.0);
+    }
+
+    @Test
+    void firstPickIsUniformlyOrdered() {
+        final long mask = maskOf(ORDINALS);
+        final long[] first = new long[ORDINALS.length];
+        for (int trial = 0; trial < TRIALS; trial++) {
+            first[indexOf(WeaponEffectsService.sample(mask, 3)[0])]++;
+        }
+        assertTrue(chiSquare(first, (double) TRIALS / ORDINALS.length) < 40.0);
+    }
+
+    private static long maskOf(final int[] ordinals) {
+        long mask = 0L;
+        for (final int ordinal : ordinals) {
+            mask |= 1L << ordinal;
+        }
+        return mask;
+    }
+
+    private static int indexOf(final WeaponEffectType type) {
+        for (int i = 0; i < ORDINALS.length; i++) {
+            if (ORDINALS[i] == type.ordinal()) {
+                return i;
+            }
+        }
+        throw new AssertionError(type + " is not in the mask");
+    }
+
+    private static double chiSquare(final long[] observed, final double expected) {
+        double sum = 0.0;
+        for (final long count : observed) {
+            final double diff = count - expected;
+            sum += diff * diff / expected;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,124 @@
+package com.tokebak.EchoesOfOrbis.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class HashedTimingWheelTest {
+
+    /** 8 buckets of 10 ms: one rotation is 80 ms. */
+    private final HashedTimingWheel<NamedTimer> wheel = new HashedTimingWheel<>(8, 10L);
+    private final List<String> fired = new ArrayList<>();
+
+    @Test
+    void firesWithinOneTickAfterDeadline() {
+        final NamedTimer timer = new NamedTimer("a");
+        this.wheel.schedule(timer, 25L);
+
+        final long firedAt = this.stepUntilFired(1L, 200L);
+
+        assertTrue(firedAt >= 25L && firedAt < 35L, "fired at " + firedAt);
+        assertFalse(timer.isArmed());
+    }
+
+    @Test
+    void deadlinePastOneRotationWaitsForItsLap() {
+        final NamedTimer timer = new NamedTimer("a");
+        this.wheel.schedule(timer, 1000L);
+
+        // Steps of one tick pass the timer's bucket twelve times before the deadline
+        final long firedAt = this.stepUntilFired(10L, 2000L);
+
+        assertEquals(1000L, firedAt);
+    }
+
+    @Test
+    void reschedulingMovesTheDeadline() {
+        final NamedTimer timer = new NamedTimer("a");
+        this.wheel.schedule(timer, 20L);
+        this.advance(15L);
+        this.wheel.schedule(timer, 100L);
+        assertEquals(15L, timer.getArmedAtMillis());
+
+        this.advance(50L);
+        assertTrue(this.fired.isEmpty());
+        assertTrue(timer.isArmed());
+
+        // Deadline 115 ms rounds up to the 120 ms tick
+        this.advance(50L);
+        assertTrue(this.fired.isEmpty());
+        this.advance(5L);
+        assertEquals(List.of("a"), this.fired);
+    }
+
+    @Test
+    void cancelledTimerNeverFires() {
+        final NamedTimer timer = new NamedTimer("a");
+        this.wheel.schedule(timer, 20L);
+        this.wheel.cancel(timer);
+
+        this.advance(500L);
+
+        assertTrue(this.fired.isEmpty());
+        assertFalse(timer.isArmed());
+    }
+
+    @Test
+    void largeJumpFiresEveryDueTimerOnce() {
+        final NamedTimer near = new NamedTimer("near");
+        final NamedTimer farSameBucket = new NamedTimer("far");
+        final NamedTimer notDue = new NamedTimer("later");
+        this.wheel.schedule(near, 10L);
+        this.wheel.schedule(farSameBucket, 10L + 80L * 5);
+        this.wheel.schedule(notDue, 10_000L);
+
+        this.advance(5_000L);
+
+        assertEquals(2, this.fired.size());
+        assertTrue(this.fired.containsAll(List.of("near", "far")));
+        assertTrue(notDue.isArmed());
+
+        this.advance(5_000L);
+        assertEquals(3, this.fired.size());
+    }
+
+    @Test
+    void callbackCanRearmItsTimer() {
+        final NamedTimer timer = new NamedTimer("a");
+        this.wheel.schedule(timer, 30L);
+        int count = 0;
+        for (int step = 0; step < 30; step++) {
+            this.wheel.advance(10L, expired -> this.wheel.schedule(expired, 30L));
+            if (timer.getArmedAtMillis() == this.wheel.nowMillis()) {
+                count++;
+            }
+        }
+        // 300 ms at one expiry per 30 ms
+        assertEquals(10, count);
+        assertTrue(timer.isArmed());
+    }
+
+    private void advance(final long elapsedMillis) {
+        this.wheel.advance(elapsedMillis, timer -> this.fired.add(timer.name));
+    }
+
+    private long stepUntilFired(final long stepMillis, final long limitMillis) {
+        while (this.fired.isEmpty() && this.wheel.nowMillis() < limitMillis) {
+            this.advance(stepMillis);
+        }
+        assertEquals(1, this.fired.size());
+        return this.wheel.nowMillis();
+    }
+
+    private static final class NamedTimer extends HashedTimingWheel.Timer {
+        private final String name;
+
+        private NamedTimer(final String name) {
+            this.name = name;
+        }
+    }
+}